@@ -19,6 +19,8 @@ class GenerateLibs extends DefaultTask {
 
     private final boolean isLocal = System.properties.containsKey("local")
     private final boolean withFreeType = false;//System.properties.containsKey("withFreeType")
+    private final boolean withLargeIndices = System.properties.containsKey("withLargeIndices")
+    private final boolean withThreadLocalContext = System.properties.containsKey("withThreadLocalContext")
 
     private final String sourceDir = project.file('src/main/java')
     private final String classpath = project.file('build/classes/java/main')
@@ -32,6 +34,8 @@ class GenerateLibs extends DefaultTask {
         println "Build environments: $buildEnvs"
         println "Local mode: $isLocal"
         println "With FreeType: $withFreeType"
+        println "With Large Indices: $withLargeIndices"
+        println "With Thread-Local Context: $withThreadLocalContext"
         println '====================================='
 
         // Generate h/cpp files for JNI
@@ -49,6 +53,9 @@ class GenerateLibs extends DefaultTask {
             spec.into(jniDir)
         }
 
+        // Binding specific configuration of Dear ImGui
+        new File(jniDir, 'imconfig.h').append('\n#include "jni_imconfig.h"\n')
+
         // Generate platform dependant ant configs and header files
         def buildConfig = new BuildConfig('imgui-java', tmpFolder, libsFolder, jniDir)
         def buildTargets = [] as BuildTarget[]
@@ -109,6 +116,16 @@ class GenerateLibs extends DefaultTask {
             buildTargets += mac64
         }
 
+        // 32-bit ImDrawIdx to render meshes with more than 64K vertices without splitting them
+        if (withLargeIndices) {
+            buildTargets.each { BuildTarget target -> target.cppFlags += ' -DImDrawIdx=ImU32' }
+        }
+
+        // Current context is stored per thread, so different contexts could build their frames concurrently
+        if (withThreadLocalContext) {
+            buildTargets.each { BuildTarget target -> target.cppFlags += ' -DIMGUI_JAVA_THREAD_LOCAL_CONTEXT' }
+        }
+
         new AntScriptGenerator().generate(buildConfig, buildTargets)
 
         if (!withFreeType) {
@@ -0,0 +1,49 @@
+package imgui.benchmark;
+
+import imgui.ImGui;
+import imgui.software.ImGuiHeadlessPlatform;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base state for benchmarks which need a Dear ImGui context. Frames are driven by the {@link ImGuiHeadlessPlatform},
+ * so no window or GL context is required.
+ * <p>
+ * Binding doesn't load the native library by itself, so it's loaded from the "java.library.path" here.
+ * Name of the library could be changed with the "imgui.library.name" property.
+ */
+public abstract class AbstractImGuiBenchmark {
+    private static final String LIB_NAME_DEFAULT = System.getProperty("os.arch").contains("64") ? "imgui-java64" : "imgui-java";
+
+    static {
+        System.loadLibrary(System.getProperty("imgui.library.name", LIB_NAME_DEFAULT));
+    }
+
+    protected final ImGuiHeadlessPlatform platform = new ImGuiHeadlessPlatform();
+
+    @Setup
+    public void setupContext() {
+        ImGui.createContext();
+        ImGui.getIO().setIniFilename(null);
+        ImGui.getIO().getFonts().build();
+        platform.init();
+        setupBenchmark();
+    }
+
+    /**
+     * Called after the context is created, to prepare the state of the benchmark.
+     */
+    protected void setupBenchmark() {
+    }
+
+    @TearDown
+    public void tearDownContext() {
+        platform.dispose();
+        ImGui.destroyContext();
+    }
+
+    protected void newFrame() {
+        platform.newFrame();
+        ImGui.newFrame();
+    }
+}
@@ -0,0 +1,88 @@
+package imgui.benchmark;
+
+import imgui.ImDrawData;
+import imgui.ImGui;
+import imgui.ImVec4;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the extraction of the {@link ImDrawData} in the way renderers do it.
+ * Draw data is produced once by the {@link SyntheticUi} and stays valid for the whole trial, since no new frame is started.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DrawDataBenchmark extends AbstractImGuiBenchmark {
+    @Param({"10", "100", "1000"})
+    public int rowsCount;
+
+    private ImDrawData drawData;
+    private final ImVec4 clipRect = new ImVec4();
+    private ByteBuffer vtxBuffer;
+    private ByteBuffer idxBuffer;
+    private ByteBuffer cmdBuffer;
+
+    @Override
+    protected void setupBenchmark() {
+        newFrame();
+        new SyntheticUi(rowsCount).build();
+        ImGui.render();
+
+        drawData = ImGui.getDrawData();
+        vtxBuffer = ByteBuffer.allocateDirect(drawData.getTotalVtxCount() * ImDrawData.SIZEOF_IM_DRAW_VERT).order(ByteOrder.nativeOrder());
+        idxBuffer = ByteBuffer.allocateDirect(drawData.getTotalIdxCount() * ImDrawData.getSizeOfImDrawIdx()).order(ByteOrder.nativeOrder());
+        cmdBuffer = ByteBuffer.allocateDirect(drawData.getTotalCmdCount() * ImDrawData.SIZEOF_CMD_DATA).order(ByteOrder.nativeOrder());
+    }
+
+    @Benchmark
+    public void cmdListBufferData(final Blackhole bh) {
+        for (int cmdListIdx = 0; cmdListIdx < drawData.getCmdListsCount(); cmdListIdx++) {
+            bh.consume(drawData.getCmdListVtxBufferData(cmdListIdx));
+            bh.consume(drawData.getCmdListIdxBufferData(cmdListIdx));
+        }
+    }
+
+    @Benchmark
+    public void cmdListBufferView(final Blackhole bh) {
+        for (int cmdListIdx = 0; cmdListIdx < drawData.getCmdListsCount(); cmdListIdx++) {
+            bh.consume(drawData.getCmdListVtxBufferView(cmdListIdx));
+            bh.consume(drawData.getCmdListIdxBufferView(cmdListIdx));
+        }
+    }
+
+    @Benchmark
+    public void mergedBufferData() {
+        drawData.getVtxBufferData(vtxBuffer);
+        drawData.getIdxBufferData(idxBuffer);
+    }
+
+    @Benchmark
+    public void perCommandGetters(final Blackhole bh) {
+        for (int cmdListIdx = 0; cmdListIdx < drawData.getCmdListsCount(); cmdListIdx++) {
+            for (int cmdBufferIdx = 0; cmdBufferIdx < drawData.getCmdListCmdBufferSize(cmdListIdx); cmdBufferIdx++) {
+                drawData.getCmdListCmdBufferClipRect(cmdListIdx, cmdBufferIdx, clipRect);
+                bh.consume(drawData.getCmdListCmdBufferTextureId(cmdListIdx, cmdBufferIdx));
+                bh.consume(drawData.getCmdListCmdBufferElemCount(cmdListIdx, cmdBufferIdx));
+                bh.consume(drawData.getCmdListCmdBufferIdxOffset(cmdListIdx, cmdBufferIdx));
+                bh.consume(drawData.getCmdListCmdBufferVtxOffset(cmdListIdx, cmdBufferIdx));
+            }
+        }
+        bh.consume(clipRect);
+    }
+
+    @Benchmark
+    public int cmdBufferData() {
+        return drawData.getCmdBufferData(cmdBuffer);
+    }
+}
@@ -0,0 +1,151 @@
+package imgui.benchmark;
+
+import imgui.ImDrawDataSnapshot;
+import imgui.ImGui;
+import imgui.stream.ImDrawDataDecoder;
+import imgui.stream.ImDrawDataEncoder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding of draw data with the {@link ImDrawDataEncoder} and its decoding with the {@link ImDrawDataDecoder}.
+ * Two frames of the {@link SyntheticUi} which differ only by one drag value are encoded one after another, like a mostly static UI.
+ * Size of frames is reported with the "bytesPerFrame" and "rawBytesPerFrame" counters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DrawDataStreamBenchmark extends AbstractImGuiBenchmark {
+    @Param({"10", "100", "1000"})
+    public int rowsCount;
+
+    @Param({"true", "false"})
+    public boolean compression;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FrameSize {
+        public long bytesPerFrame;
+        public long rawBytesPerFrame;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerFrame = 0;
+            rawBytesPerFrame = 0;
+        }
+    }
+
+    private final ImDrawDataSnapshot[] frames = {new ImDrawDataSnapshot(), new ImDrawDataSnapshot()};
+    private final ImDrawDataEncoder encoder = new ImDrawDataEncoder();
+    private final ImDrawDataDecoder decoder = new ImDrawDataDecoder();
+    private final Pipe pipe = new Pipe();
+    private int frameIdx = 0;
+
+    @Override
+    protected void setupBenchmark() {
+        final SyntheticUi ui = new SyntheticUi(rowsCount);
+        for (int i = 0; i < frames.length; i++) {
+            ui.setDragValue(0, i);
+            newFrame();
+            ui.build();
+            ImGui.render();
+            frames[i].copyFrom(ImGui.getDrawData());
+        }
+        encoder.setCompression(compression);
+    }
+
+    @TearDown
+    public void tearDownStream() {
+        for (ImDrawDataSnapshot frame : frames) {
+            frame.destroy();
+        }
+        decoder.destroy();
+    }
+
+    @Benchmark
+    public ByteBuffer encode(final FrameSize frameSize) {
+        final ByteBuffer frame = encoder.encode(nextFrame());
+        frameSize.bytesPerFrame += encoder.getLastFrameSize();
+        frameSize.rawBytesPerFrame += encoder.getLastRawPayloadSize();
+        return frame;
+    }
+
+    @Benchmark
+    public void encodeDecode(final FrameSize frameSize) throws IOException {
+        encoder.encode(nextFrame(), pipe);
+        frameSize.bytesPerFrame += encoder.getLastFrameSize();
+        frameSize.rawBytesPerFrame += encoder.getLastRawPayloadSize();
+        decoder.decode(pipe.input());
+    }
+
+    private imgui.ImDrawData nextFrame() {
+        frameIdx = (frameIdx + 1) % frames.length;
+        return frames[frameIdx].getDrawData();
+    }
+
+    /**
+     * In-memory pipe: written frame is read back by the decoder, so both sides work with streams like with a socket.
+     */
+    private static final class Pipe extends OutputStream {
+        private byte[] data = new byte[64 * 1024];
+        private int size = 0;
+        private int readPos = 0;
+
+        private final InputStream input = new InputStream() {
+            @Override
+            public int read() {
+                return readPos < size ? data[readPos++] & 0xFF : -1;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) {
+                if (readPos >= size) {
+                    return -1;
+                }
+                final int count = Math.min(len, size - readPos);
+                System.arraycopy(data, readPos, b, off, count);
+                readPos += count;
+                return count;
+            }
+        };
+
+        @Override
+        public void write(final int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            if (readPos == size) {
+                readPos = 0;
+                size = 0;
+            }
+            if (data.length < size + len) {
+                final byte[] newData = new byte[(size + len) * 2];
+                System.arraycopy(data, 0, newData, 0, size);
+                data = newData;
+            }
+            System.arraycopy(b, off, data, size, len);
+            size += len;
+        }
+
+        InputStream input() {
+            return input;
+        }
+    }
+}
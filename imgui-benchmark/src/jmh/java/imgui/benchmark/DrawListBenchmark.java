@@ -0,0 +1,144 @@
+package imgui.benchmark;
+
+import imgui.ImDrawList;
+import imgui.ImDrawListWriter;
+import imgui.ImGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a single {@link ImDrawList} primitive submission.
+ * Every invocation submits {@value #PRIMITIVES_PER_FRAME} primitives into the background draw list inside one frame,
+ * one by one or with batched methods.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DrawListBenchmark extends AbstractImGuiBenchmark {
+    private static final int PRIMITIVES_PER_FRAME = 1000;
+    private static final int COLOR = 0xFF00FFFF;
+
+    private final ImDrawListWriter writer = new ImDrawListWriter();
+    private final FloatBuffer rects = ByteBuffer.allocateDirect(PRIMITIVES_PER_FRAME * 4 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    private final FloatBuffer lines = ByteBuffer.allocateDirect(PRIMITIVES_PER_FRAME * 4 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    private final FloatBuffer circles = ByteBuffer.allocateDirect(PRIMITIVES_PER_FRAME * 3 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    private final IntBuffer colors = ByteBuffer.allocateDirect(PRIMITIVES_PER_FRAME * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+
+    @Override
+    protected void setupBenchmark() {
+        for (int i = 0; i < PRIMITIVES_PER_FRAME; i++) {
+            rects.put(i).put(i).put(i + 10).put(i + 10);
+            lines.put(i).put(0).put(i + 10).put(100);
+            circles.put(i).put(i).put(5);
+            colors.put(COLOR);
+        }
+        rects.flip();
+        lines.flip();
+        circles.flip();
+        colors.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRIMITIVES_PER_FRAME)
+    public void addRectFilled() {
+        final ImDrawList drawList = beginFrame();
+        for (int i = 0; i < PRIMITIVES_PER_FRAME; i++) {
+            drawList.addRectFilled(i, i, i + 10, i + 10, COLOR);
+        }
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRIMITIVES_PER_FRAME)
+    public void addLine() {
+        final ImDrawList drawList = beginFrame();
+        for (int i = 0; i < PRIMITIVES_PER_FRAME; i++) {
+            drawList.addLine(i, 0, i + 10, 100, COLOR);
+        }
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRIMITIVES_PER_FRAME)
+    public void addCircleFilled() {
+        final ImDrawList drawList = beginFrame();
+        for (int i = 0; i < PRIMITIVES_PER_FRAME; i++) {
+            drawList.addCircleFilled(i, i, 5, COLOR);
+        }
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRIMITIVES_PER_FRAME)
+    public void addText() {
+        final ImDrawList drawList = beginFrame();
+        for (int i = 0; i < PRIMITIVES_PER_FRAME; i++) {
+            drawList.addText(i, i, COLOR, "Text");
+        }
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRIMITIVES_PER_FRAME)
+    public void addRectsFilled() {
+        final ImDrawList drawList = beginFrame();
+        drawList.addRectsFilled(rects, colors, PRIMITIVES_PER_FRAME);
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRIMITIVES_PER_FRAME)
+    public void addLines() {
+        final ImDrawList drawList = beginFrame();
+        drawList.addLines(lines, colors, PRIMITIVES_PER_FRAME, 1);
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRIMITIVES_PER_FRAME)
+    public void addCirclesFilled() {
+        final ImDrawList drawList = beginFrame();
+        drawList.addCirclesFilled(circles, colors, PRIMITIVES_PER_FRAME, 0);
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRIMITIVES_PER_FRAME)
+    public void primRect() {
+        final ImDrawList drawList = beginFrame();
+        drawList.primReserve(PRIMITIVES_PER_FRAME * 6, PRIMITIVES_PER_FRAME * 4);
+        for (int i = 0; i < PRIMITIVES_PER_FRAME; i++) {
+            drawList.primRect(i, i, i + 10, i + 10, COLOR);
+        }
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRIMITIVES_PER_FRAME)
+    public void primRectWriter() {
+        final ImDrawList drawList = beginFrame();
+        writer.reserve(drawList, PRIMITIVES_PER_FRAME * 6, PRIMITIVES_PER_FRAME * 4);
+        int idx = writer.getVtxBaseIdx();
+        for (int i = 0; i < PRIMITIVES_PER_FRAME; i++, idx += 4) {
+            writer.putVtx(i, i, 0, 0, COLOR).putVtx(i + 10, i, 0, 0, COLOR).putVtx(i + 10, i + 10, 0, 0, COLOR).putVtx(i, i + 10, 0, 0, COLOR);
+            writer.putIdx(idx).putIdx(idx + 1).putIdx(idx + 2).putIdx(idx).putIdx(idx + 2).putIdx(idx + 3);
+        }
+        ImGui.endFrame();
+    }
+
+    private ImDrawList beginFrame() {
+        newFrame();
+        return ImGui.getBackgroundDrawList();
+    }
+}
@@ -0,0 +1,37 @@
+package imgui.benchmark;
+
+import imgui.ImGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full frame cycle: newFrame, the {@link SyntheticUi} of the configurable size and render.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FrameBenchmark extends AbstractImGuiBenchmark {
+    @Param({"10", "100", "1000"})
+    public int rowsCount;
+
+    private SyntheticUi ui;
+
+    @Override
+    protected void setupBenchmark() {
+        ui = new SyntheticUi(rowsCount);
+    }
+
+    @Benchmark
+    public void frame() {
+        newFrame();
+        ui.build();
+        ImGui.render();
+    }
+}
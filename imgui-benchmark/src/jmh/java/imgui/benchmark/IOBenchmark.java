@@ -0,0 +1,67 @@
+package imgui.benchmark;
+
+import imgui.ImGui;
+import imgui.ImGuiIO;
+import imgui.ImGuiIOInput;
+import imgui.ImGuiIOOutput;
+import imgui.flag.ImGuiMouseButton;
+import imgui.flag.ImGuiNavInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares feeding of the {@link ImGuiIO} per-frame state with a separate native call for every field
+ * and with the packed {@link ImGuiIOInput}/{@link ImGuiIOOutput}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IOBenchmark extends AbstractImGuiBenchmark {
+    private final ImGuiIOInput input = new ImGuiIOInput();
+    private final ImGuiIOOutput output = new ImGuiIOOutput();
+    private final float[] navInputs = new float[ImGuiNavInput.COUNT];
+
+    @Benchmark
+    public void perField(final Blackhole blackhole) {
+        final ImGuiIO io = ImGui.getIO();
+        io.setDisplaySize(1280, 720);
+        io.setDisplayFramebufferScale(1, 1);
+        io.setDeltaTime(1.0f / 60.0f);
+        for (int i = 0; i < ImGuiMouseButton.COUNT; i++) {
+            io.setMouseDown(i, false);
+        }
+        io.setNavInputs(navInputs);
+
+        blackhole.consume(io.getWantCaptureMouse());
+        blackhole.consume(io.getWantCaptureKeyboard());
+        blackhole.consume(io.getWantTextInput());
+        blackhole.consume(io.getWantSetMousePos());
+        blackhole.consume(io.getFramerate());
+    }
+
+    @Benchmark
+    public void packed(final Blackhole blackhole) {
+        input.setDisplaySize(1280, 720);
+        input.setDisplayFramebufferScale(1, 1);
+        input.setDeltaTime(1.0f / 60.0f);
+        for (int i = 0; i < ImGuiMouseButton.COUNT; i++) {
+            input.setMouseDown(i, false);
+        }
+        input.clearNavInputs();
+        input.commit();
+
+        output.update();
+        blackhole.consume(output.getWantCaptureMouse());
+        blackhole.consume(output.getWantCaptureKeyboard());
+        blackhole.consume(output.getWantTextInput());
+        blackhole.consume(output.getWantSetMousePos());
+        blackhole.consume(output.getFramerate());
+    }
+}
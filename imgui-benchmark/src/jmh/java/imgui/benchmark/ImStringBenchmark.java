@@ -0,0 +1,63 @@
+package imgui.benchmark;
+
+import imgui.type.ImString;
+import imgui.type.ImStringEdits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversions between {@link String} and the {@link ImString} buffer. No native calls are involved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ImStringBenchmark {
+    @Param({"16", "256", "4096"})
+    public int length;
+
+    private ImString str;
+    private String value;
+
+    @Setup
+    public void setup() {
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        value = sb.toString();
+        str = new ImString(value, length);
+    }
+
+    /**
+     * Buffer is changed before every call, as after the InputText edit, so the decoding is measured instead of the cached value.
+     */
+    @Benchmark
+    public String get() {
+        ImStringEdits.editFirstChar(str);
+        return str.get();
+    }
+
+    @Benchmark
+    public String getCached() {
+        return str.get();
+    }
+
+    @Benchmark
+    public void set() {
+        str.set(value);
+    }
+
+    @Benchmark
+    public String setAndGet() {
+        str.set(value);
+        return str.get();
+    }
+}
@@ -0,0 +1,55 @@
+package imgui.benchmark;
+
+import imgui.ImGui;
+import imgui.plot.ImLinePlot;
+import imgui.plot.ImPlotSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a frame with the {@link ImLinePlot} showing all samples of several series with the given decimation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlotBenchmark extends AbstractImGuiBenchmark {
+    private static final int SERIES_COUNT = 4;
+
+    @Param({"100000", "1000000"})
+    public int samplesCount;
+
+    @Param({"0", "1"})
+    public int decimation;
+
+    private final ImLinePlot plot = new ImLinePlot();
+
+    @Override
+    protected void setupBenchmark() {
+        for (int s = 0; s < SERIES_COUNT; s++) {
+            final ImPlotSeries series = new ImPlotSeries(samplesCount);
+            for (int i = 0; i < samplesCount; i++) {
+                series.append((float) Math.sin(i * 0.001 + s) + (i % 97 == 0 ? 0.5f : 0));
+            }
+            plot.addSeries("Series " + s, series, 0xFF00FFFF);
+        }
+        plot.setDecimation(decimation);
+        plot.setViewWidth(samplesCount);
+    }
+
+    @Benchmark
+    public void drawPlot() {
+        newFrame();
+        ImGui.setNextWindowSize(1200, 400);
+        ImGui.begin("Plot");
+        plot.draw("##plot", 1000, 300);
+        ImGui.end();
+        ImGui.endFrame();
+    }
+}
@@ -0,0 +1,71 @@
+package imgui.benchmark;
+
+import imgui.ImDrawList;
+import imgui.ImGui;
+import imgui.ImVec2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares submission of a long polyline, like a waveform, from the {@link ImVec2} array, interleaved float array and direct buffer.
+ * Points count is chosen to fit 16-bit indices with anti-aliased lines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolylineBenchmark extends AbstractImGuiBenchmark {
+    private static final int POINTS_COUNT = 10_000;
+    private static final int COLOR = 0xFF00FFFF;
+
+    private final ImVec2[] objects = new ImVec2[POINTS_COUNT];
+    private final float[] array = new float[POINTS_COUNT * 2];
+    private final FloatBuffer buffer = ByteBuffer.allocateDirect(POINTS_COUNT * 2 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+
+    @Override
+    protected void setupBenchmark() {
+        for (int i = 0; i < POINTS_COUNT; i++) {
+            final float x = i * 0.1f;
+            final float y = 300 + (float) Math.sin(i * 0.05) * 200;
+            objects[i] = new ImVec2(x, y);
+            array[i * 2] = x;
+            array[i * 2 + 1] = y;
+            buffer.put(i * 2, x);
+            buffer.put(i * 2 + 1, y);
+        }
+    }
+
+    @Benchmark
+    public void vec2Array() {
+        final ImDrawList drawList = beginFrame();
+        drawList.addPolyline(objects, POINTS_COUNT, COLOR, false, 1);
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    public void floatArray() {
+        final ImDrawList drawList = beginFrame();
+        drawList.addPolyline(array, POINTS_COUNT, COLOR, false, 1);
+        ImGui.endFrame();
+    }
+
+    @Benchmark
+    public void directBuffer() {
+        final ImDrawList drawList = beginFrame();
+        drawList.addPolyline(buffer, POINTS_COUNT, COLOR, false, 1);
+        ImGui.endFrame();
+    }
+
+    private ImDrawList beginFrame() {
+        newFrame();
+        return ImGui.getBackgroundDrawList();
+    }
+}
@@ -0,0 +1,61 @@
+package imgui.benchmark;
+
+import imgui.ImGui;
+import imgui.type.ImString;
+
+/**
+ * UI of the configurable size built from the most common widgets. Every row contains a text, a button, a checkbox, a drag and an input text.
+ */
+final class SyntheticUi {
+    private final int rowsCount;
+    private final String[] texts;
+    private final String[] buttonLabels;
+    private final String[] checkboxLabels;
+    private final String[] dragLabels;
+    private final String[] inputLabels;
+    private final boolean[] checkboxValues;
+    private final float[][] dragValues;
+    private final ImString[] inputValues;
+
+    SyntheticUi(final int rowsCount) {
+        this.rowsCount = rowsCount;
+        this.texts = new String[rowsCount];
+        this.buttonLabels = new String[rowsCount];
+        this.checkboxLabels = new String[rowsCount];
+        this.dragLabels = new String[rowsCount];
+        this.inputLabels = new String[rowsCount];
+        this.checkboxValues = new boolean[rowsCount];
+        this.dragValues = new float[rowsCount][1];
+        this.inputValues = new ImString[rowsCount];
+
+        for (int i = 0; i < rowsCount; i++) {
+            texts[i] = "Row " + i;
+            buttonLabels[i] = "Button##" + i;
+            checkboxLabels[i] = "Checkbox##" + i;
+            dragLabels[i] = "Drag##" + i;
+            inputLabels[i] = "Input##" + i;
+            inputValues[i] = new ImString("Value " + i, 64);
+        }
+    }
+
+    void setDragValue(final int row, final float value) {
+        dragValues[row][0] = value;
+    }
+
+    void build() {
+        ImGui.setNextWindowSize(800, 600);
+        ImGui.begin("Synthetic UI");
+        for (int i = 0; i < rowsCount; i++) {
+            ImGui.text(texts[i]);
+            ImGui.sameLine();
+            ImGui.button(buttonLabels[i]);
+            ImGui.sameLine();
+            if (ImGui.checkbox(checkboxLabels[i], checkboxValues[i])) {
+                checkboxValues[i] = !checkboxValues[i];
+            }
+            ImGui.dragFloat(dragLabels[i], dragValues[i]);
+            ImGui.inputText(inputLabels[i], inputValues[i]);
+        }
+        ImGui.end();
+    }
+}
@@ -0,0 +1,93 @@
+package imgui.benchmark;
+
+import imgui.ImGui;
+import imgui.type.ImString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a single widget call, including the JNI overhead.
+ * Every invocation submits {@value #WIDGETS_PER_FRAME} widgets inside one frame, so the cost of the frame itself is shared between them.
+ * Use the {@link #emptyFrame()} result to subtract the cost of the frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WidgetBenchmark extends AbstractImGuiBenchmark {
+    private static final int WIDGETS_PER_FRAME = 100;
+
+    private final String[] labels = new String[WIDGETS_PER_FRAME];
+    private final float[][] floatValues = new float[WIDGETS_PER_FRAME][1];
+    private final ImString[] stringValues = new ImString[WIDGETS_PER_FRAME];
+
+    public WidgetBenchmark() {
+        for (int i = 0; i < WIDGETS_PER_FRAME; i++) {
+            labels[i] = "Widget##" + i;
+            stringValues[i] = new ImString("Value " + i, 64);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WIDGETS_PER_FRAME)
+    public void emptyFrame() {
+        beginFrame();
+        endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WIDGETS_PER_FRAME)
+    public void text() {
+        beginFrame();
+        for (int i = 0; i < WIDGETS_PER_FRAME; i++) {
+            ImGui.text(labels[i]);
+        }
+        endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WIDGETS_PER_FRAME)
+    public void button() {
+        beginFrame();
+        for (int i = 0; i < WIDGETS_PER_FRAME; i++) {
+            ImGui.button(labels[i]);
+        }
+        endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WIDGETS_PER_FRAME)
+    public void inputText() {
+        beginFrame();
+        for (int i = 0; i < WIDGETS_PER_FRAME; i++) {
+            ImGui.inputText(labels[i], stringValues[i]);
+        }
+        endFrame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WIDGETS_PER_FRAME)
+    public void dragFloat() {
+        beginFrame();
+        for (int i = 0; i < WIDGETS_PER_FRAME; i++) {
+            ImGui.dragFloat(labels[i], floatValues[i]);
+        }
+        endFrame();
+    }
+
+    private void beginFrame() {
+        newFrame();
+        ImGui.begin("Widgets");
+    }
+
+    private void endFrame() {
+        ImGui.end();
+        ImGui.endFrame();
+    }
+}
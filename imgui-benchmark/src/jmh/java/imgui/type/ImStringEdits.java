@@ -0,0 +1,19 @@
+package imgui.type;
+
+/**
+ * Benchmark helper, which changes the {@link ImString} buffer in the same way as the native InputText does:
+ * bytes are modified in place and the string is marked as dirty, so the next {@link ImString#get()} decodes the buffer.
+ */
+public final class ImStringEdits {
+    private ImStringEdits() {
+    }
+
+    /**
+     * Replaces the first character of the string with another ASCII letter.
+     */
+    public static void editFirstChar(final ImString str) {
+        final byte[] data = str.getData();
+        data[0] = (byte) (data[0] == 'a' ? 'b' : 'a');
+        str.inputData.isDirty = true;
+    }
+}
@@ -4,6 +4,7 @@ import imgui.binding.ImGuiStruct;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 
 /**
  * All draw data to render Dear ImGui frame
@@ -14,17 +15,44 @@ import java.nio.ByteOrder;
  * Those are used to get the data needed to do a rendering.
  */
 public final class ImDrawData extends ImGuiStruct {
+    /**
+     * Size of the ImDrawIdx type in the default build of the native library (16-bit indices).
+     * Natives built with the "withLargeIndices" property use 32-bit indices, see {@link #getSizeOfImDrawIdx()}.
+     */
     public static final int SIZEOF_IM_DRAW_IDX = 2;
     public static final int SIZEOF_IM_DRAW_VERT = 20;
 
+    /**
+     * Size in bytes of a single command record written by {@link #getCmdBufferData(ByteBuffer)}.
+     * Every record consists of nine 4-byte values stored in the native byte order.
+     */
+    public static final int SIZEOF_CMD_DATA = 36;
+    /**
+     * Offsets of the command record fields. Clip rectangle is stored as four floats (x1, y1, x2, y2), the rest of fields are ints.
+     */
+    public static final int CMD_DATA_CLIP_RECT_OFFSET = 0;
+    public static final int CMD_DATA_TEXTURE_ID_OFFSET = 16;
+    public static final int CMD_DATA_ELEM_COUNT_OFFSET = 20;
+    public static final int CMD_DATA_IDX_OFFSET_OFFSET = 24;
+    public static final int CMD_DATA_VTX_OFFSET_OFFSET = 28;
+    public static final int CMD_DATA_CMD_LIST_IDX_OFFSET = 32;
+
     private static final int RESIZE_FACTOR = 5_000;
 
     private static ByteBuffer dataBuffer = ByteBuffer.allocateDirect(25_000).order(ByteOrder.nativeOrder());
 
     private static final ImGuiViewport OWNER_VIEWPORT = new ImGuiViewport(0);
 
+    // Set for the draw data of a snapshot, which keeps owners of the copied frame
+    private final ImDrawDataSnapshot snapshot;
+
     public ImDrawData(final long ptr) {
+        this(ptr, null);
+    }
+
+    ImDrawData(final long ptr, final ImDrawDataSnapshot snapshot) {
         super(ptr);
+        this.snapshot = snapshot;
     }
 
     /*JNI
@@ -34,7 +62,112 @@ public final class ImDrawData extends ImGuiStruct {
         #include "jni_binding_struct.h"
 
         #define IM_DRAW_DATA ((ImDrawData*)STRUCT_PTR)
+
+        // Amount of 4-byte values in a single command record. Should be in sync with ImDrawData.SIZEOF_CMD_DATA.
+        #define CMD_DATA_STRIDE 9
+
+        static int PackCmdBufferData(ImDrawData* drawData, int32_t* dst) {
+            int cmdIdx = 0;
+            for (int n = 0; n < drawData->CmdListsCount; n++) {
+                const ImDrawList* cmdList = drawData->CmdLists[n];
+                for (int i = 0; i < cmdList->CmdBuffer.Size; i++) {
+                    const ImDrawCmd* cmd = &cmdList->CmdBuffer.Data[i];
+                    int32_t* record = dst + cmdIdx * CMD_DATA_STRIDE;
+                    memcpy(record, &cmd->ClipRect, sizeof(float) * 4);
+                    record[4] = (int32_t)(intptr_t)cmd->TextureId;
+                    record[5] = (int32_t)cmd->ElemCount;
+                    record[6] = (int32_t)cmd->IdxOffset;
+                    record[7] = (int32_t)cmd->VtxOffset;
+                    record[8] = n;
+                    cmdIdx++;
+                }
+            }
+            return cmdIdx;
+        }
+
+        static inline uint64_t HashMix(uint64_t h, uint64_t v) {
+            h ^= v;
+            h *= 0x9E3779B97F4A7C15ULL;
+            return h ^ (h >> 29);
+        }
+
+        static uint64_t HashBytes(uint64_t h, const void* data, size_t size) {
+            const unsigned char* p = (const unsigned char*)data;
+            for (; size >= 8; p += 8, size -= 8) {
+                uint64_t v;
+                memcpy(&v, p, 8);
+                h = HashMix(h, v);
+            }
+            if (size > 0) {
+                uint64_t v = 0;
+                memcpy(&v, p, size);
+                h = HashMix(h, v);
+            }
+            return h;
+        }
+
+        // Hash of everything which affects the rendering of the command list: commands, vertices and indices
+        static uint64_t HashCmdList(const ImDrawList* cmdList) {
+            uint64_t h = HashMix(0xCBF29CE484222325ULL, ((uint64_t)cmdList->VtxBuffer.Size << 32) | (uint32_t)cmdList->IdxBuffer.Size);
+            h = HashMix(h, (uint64_t)cmdList->CmdBuffer.Size);
+            for (int i = 0; i < cmdList->CmdBuffer.Size; i++) {
+                const ImDrawCmd* cmd = &cmdList->CmdBuffer.Data[i];
+                h = HashBytes(h, &cmd->ClipRect, sizeof(ImVec4));
+                h = HashMix(h, (uint64_t)(intptr_t)cmd->TextureId);
+                h = HashMix(h, ((uint64_t)cmd->VtxOffset << 32) | (uint32_t)cmd->IdxOffset);
+                h = HashMix(h, ((uint64_t)cmd->ElemCount << 32) ^ (uint64_t)(intptr_t)cmd->UserCallback);
+            }
+            h = HashBytes(h, cmdList->VtxBuffer.Data, (size_t)cmdList->VtxBuffer.Size * sizeof(ImDrawVert));
+            h = HashBytes(h, cmdList->IdxBuffer.Data, (size_t)cmdList->IdxBuffer.Size * sizeof(ImDrawIdx));
+            return h;
+        }
+
+        static char emptyBufferData;
+
+        static jobject NewDirectBufferView(JNIEnv* env, void* data, jlong capacity) {
+            return env->NewDirectByteBuffer(data != NULL ? data : &emptyBufferData, data != NULL ? capacity : 0);
+        }
+     */
+
+    /**
+     * Size of the ImDrawIdx type used by the loaded native library: 2 by default, or 4 when natives are built with the "withLargeIndices" property.
+     * Renderers should use it instead of the {@link #SIZEOF_IM_DRAW_IDX} to support both builds.
+     */
+    public static int getSizeOfImDrawIdx() {
+        return NativeSizes.IM_DRAW_IDX;
+    }
+
+    /**
+     * For internal usage. Checks that sizes of native types are the same as the binding expects.
      */
+    static void checkNativeSizes() {
+        if (NativeSizes.IM_DRAW_VERT != SIZEOF_IM_DRAW_VERT) {
+            throw new IllegalStateException("Size of ImDrawVert in the native library is " + NativeSizes.IM_DRAW_VERT + ", expected " + SIZEOF_IM_DRAW_VERT);
+        }
+        if (NativeSizes.IM_DRAW_IDX != 2 && NativeSizes.IM_DRAW_IDX != 4) {
+            throw new IllegalStateException("Unsupported size of ImDrawIdx in the native library: " + NativeSizes.IM_DRAW_IDX);
+        }
+    }
+
+    // Sizes are read on the first use, so the class itself doesn't require the native library
+    private static final class NativeSizes {
+        static final int IM_DRAW_IDX;
+        static final int IM_DRAW_VERT;
+
+        static {
+            ImGui.init();
+            IM_DRAW_IDX = nGetSizeOfImDrawIdx();
+            IM_DRAW_VERT = nGetSizeOfImDrawVert();
+        }
+    }
+
+    private static native int nGetSizeOfImDrawIdx(); /*
+        return sizeof(ImDrawIdx);
+    */
+
+    private static native int nGetSizeOfImDrawVert(); /*
+        return sizeof(ImDrawVert);
+    */
 
     ///////// Start of Render Methods | Binding
 
@@ -91,7 +224,7 @@ public final class ImDrawData extends ImGuiStruct {
     */
 
     public ByteBuffer getCmdListIdxBufferData(final int cmdListIdx) {
-        final int idxBufferCapacity = getCmdListIdxBufferSize(cmdListIdx) * SIZEOF_IM_DRAW_IDX;
+        final int idxBufferCapacity = getCmdListIdxBufferSize(cmdListIdx) * getSizeOfImDrawIdx();
         if (dataBuffer.capacity() < idxBufferCapacity) {
             dataBuffer.clear();
             dataBuffer = ByteBuffer.allocateDirect(idxBufferCapacity + RESIZE_FACTOR).order(ByteOrder.nativeOrder());
@@ -109,6 +242,21 @@ public final class ImDrawData extends ImGuiStruct {
         memcpy(idxBuffer, IM_DRAW_DATA->CmdLists[cmdListIdx]->IdxBuffer.Data, idxBufferCapacity);
     */
 
+    /**
+     * Index buffer of the command list, returned as a view over the native memory. No data is copied on the Java side.
+     * <p>
+     * BINDING NOTICE: Returned buffer is backed by the memory owned by Dear ImGui.
+     * It's valid only after Render() is called and until the next NewFrame() call. Do not write to it and do not keep it between frames.
+     */
+    public ByteBuffer getCmdListIdxBufferView(final int cmdListIdx) {
+        return nGetCmdListIdxBufferView(cmdListIdx).order(ByteOrder.nativeOrder());
+    }
+
+    private native ByteBuffer nGetCmdListIdxBufferView(int cmdListIdx); /*
+        const ImVector<ImDrawIdx>& idxBuffer = IM_DRAW_DATA->CmdLists[cmdListIdx]->IdxBuffer;
+        return NewDirectBufferView(env, idxBuffer.Data, (jlong)idxBuffer.Size * sizeof(ImDrawIdx));
+    */
+
     /**
      * Vertex buffer.
      */
@@ -135,6 +283,164 @@ public final class ImDrawData extends ImGuiStruct {
         memcpy(vtxBuffer, IM_DRAW_DATA->CmdLists[cmdListIdx]->VtxBuffer.Data, vtxBufferCapacity);
     */
 
+    /**
+     * Vertex buffer of the command list, returned as a view over the native memory. No data is copied on the Java side.
+     * <p>
+     * BINDING NOTICE: Returned buffer is backed by the memory owned by Dear ImGui.
+     * It's valid only after Render() is called and until the next NewFrame() call. Do not write to it and do not keep it between frames.
+     */
+    public ByteBuffer getCmdListVtxBufferView(final int cmdListIdx) {
+        return nGetCmdListVtxBufferView(cmdListIdx).order(ByteOrder.nativeOrder());
+    }
+
+    private native ByteBuffer nGetCmdListVtxBufferView(int cmdListIdx); /*
+        const ImVector<ImDrawVert>& vtxBuffer = IM_DRAW_DATA->CmdLists[cmdListIdx]->VtxBuffer;
+        return NewDirectBufferView(env, vtxBuffer.Data, (jlong)vtxBuffer.Size * sizeof(ImDrawVert));
+    */
+
+    /**
+     * Copies index buffers of all command lists into provided buffer one after another with one native call.
+     * Index buffer of the command list N starts right after the index buffer of the command list N-1.
+     * <p>
+     * BINDING NOTICE: Buffer should be direct and its capacity should be at least {@code getTotalIdxCount() * getSizeOfImDrawIdx()} bytes.
+     * Buffer could be a memory mapped GPU buffer, so the data will be uploaded without any intermediate copies.
+     *
+     * @param dst direct buffer to write indices into
+     */
+    public void getIdxBufferData(final ByteBuffer dst) {
+        final int idxBufferCapacity = getTotalIdxCount() * getSizeOfImDrawIdx();
+        checkMergedBufferCapacity(dst, idxBufferCapacity);
+        nGetIdxBufferData(dst);
+        dst.position(0);
+        dst.limit(idxBufferCapacity);
+    }
+
+    private native void nGetIdxBufferData(ByteBuffer dst); /*
+        for (int n = 0; n < IM_DRAW_DATA->CmdListsCount; n++) {
+            const ImVector<ImDrawIdx>& idxBuffer = IM_DRAW_DATA->CmdLists[n]->IdxBuffer;
+            memcpy(dst, idxBuffer.Data, idxBuffer.Size * sizeof(ImDrawIdx));
+            dst += idxBuffer.Size * sizeof(ImDrawIdx);
+        }
+    */
+
+    /**
+     * Copies vertex buffers of all command lists into provided buffer one after another with one native call.
+     * Vertex buffer of the command list N starts right after the vertex buffer of the command list N-1.
+     * <p>
+     * BINDING NOTICE: Buffer should be direct and its capacity should be at least {@code getTotalVtxCount() * SIZEOF_IM_DRAW_VERT} bytes.
+     * Buffer could be a memory mapped GPU buffer, so the data will be uploaded without any intermediate copies.
+     *
+     * @param dst direct buffer to write vertices into
+     */
+    public void getVtxBufferData(final ByteBuffer dst) {
+        final int vtxBufferCapacity = getTotalVtxCount() * SIZEOF_IM_DRAW_VERT;
+        checkMergedBufferCapacity(dst, vtxBufferCapacity);
+        nGetVtxBufferData(dst);
+        dst.position(0);
+        dst.limit(vtxBufferCapacity);
+    }
+
+    private native void nGetVtxBufferData(ByteBuffer dst); /*
+        for (int n = 0; n < IM_DRAW_DATA->CmdListsCount; n++) {
+            const ImVector<ImDrawVert>& vtxBuffer = IM_DRAW_DATA->CmdLists[n]->VtxBuffer;
+            memcpy(dst, vtxBuffer.Data, vtxBuffer.Size * sizeof(ImDrawVert));
+            dst += vtxBuffer.Size * sizeof(ImDrawVert);
+        }
+    */
+
+    private void checkMergedBufferCapacity(final ByteBuffer dst, final int requiredCapacity) {
+        if (!dst.isDirect()) {
+            throw new IllegalArgumentException("Buffer to write draw data into should be direct");
+        }
+        if (dst.capacity() < requiredCapacity) {
+            throw new IllegalArgumentException("Buffer capacity is too small to write draw data: " + dst.capacity() + " < " + requiredCapacity);
+        }
+    }
+
+    /**
+     * Sum of all ImDrawList's CmdBuffer.Size. Use it to calculate the capacity of the buffer for {@link #getCmdBufferData(ByteBuffer)}.
+     */
+    public native int getTotalCmdCount(); /*
+        int count = 0;
+        for (int n = 0; n < IM_DRAW_DATA->CmdListsCount; n++) {
+            count += IM_DRAW_DATA->CmdLists[n]->CmdBuffer.Size;
+        }
+        return count;
+    */
+
+    /**
+     * Packs every command of every command list into provided direct buffer with one native call.
+     * Records are written one after another from the beginning of the buffer, each of them takes {@link #SIZEOF_CMD_DATA} bytes.
+     * See "CMD_DATA_*_OFFSET" constants to get the layout of the record.
+     * <p>
+     * BINDING NOTICE: Buffer should be direct and have the native byte order.
+     * Its capacity should be at least {@code getTotalCmdCount() * SIZEOF_CMD_DATA} bytes.
+     *
+     * @param dst direct buffer to write commands data into
+     * @return amount of written commands
+     */
+    public int getCmdBufferData(final ByteBuffer dst) {
+        checkCmdBufferDataCapacity(dst.isDirect(), dst.capacity());
+        final int cmdCount = nGetCmdBufferData(dst);
+        dst.position(0);
+        dst.limit(cmdCount * SIZEOF_CMD_DATA);
+        return cmdCount;
+    }
+
+    /**
+     * Same as {@link #getCmdBufferData(ByteBuffer)}, but every record takes {@code SIZEOF_CMD_DATA / 4} elements of the buffer.
+     * Clip rectangle values could be read with {@link Float#intBitsToFloat(int)}.
+     *
+     * @param dst direct buffer to write commands data into
+     * @return amount of written commands
+     */
+    public int getCmdBufferData(final IntBuffer dst) {
+        checkCmdBufferDataCapacity(dst.isDirect(), dst.capacity() * Integer.BYTES);
+        final int cmdCount = nGetCmdBufferData(dst);
+        dst.position(0);
+        dst.limit(cmdCount * SIZEOF_CMD_DATA / Integer.BYTES);
+        return cmdCount;
+    }
+
+    private void checkCmdBufferDataCapacity(final boolean isDirect, final int capacity) {
+        if (!isDirect) {
+            throw new IllegalArgumentException("Buffer to write commands data should be direct");
+        }
+        final int requiredCapacity = getTotalCmdCount() * SIZEOF_CMD_DATA;
+        if (capacity < requiredCapacity) {
+            throw new IllegalArgumentException("Buffer capacity is too small to write commands data: " + capacity + " < " + requiredCapacity);
+        }
+    }
+
+    private native int nGetCmdBufferData(ByteBuffer dst); /*
+        return PackCmdBufferData(IM_DRAW_DATA, (int32_t*)dst);
+    */
+
+    private native int nGetCmdBufferData(IntBuffer dst); /*
+        return PackCmdBufferData(IM_DRAW_DATA, (int32_t*)dst);
+    */
+
+    /**
+     * Writes 64-bit hashes of command lists into provided array with one native call. Hash of the command list N is written into the element N.
+     * Hash covers commands, vertices and indices of the list, so equal hashes in two frames mean that the list is drawn the same way.
+     * Hashing only reads the native memory once, so it's much cheaper than uploading the list, see {@link ImDrawDataChangeTracker}.
+     *
+     * @param dst array to write hashes into, its length should be at least {@link #getCmdListsCount()}
+     */
+    public void getCmdListsHashes(final long[] dst) {
+        final int cmdListsCount = getCmdListsCount();
+        if (dst.length < cmdListsCount) {
+            throw new IllegalArgumentException("Array is too small to write hashes of command lists: " + dst.length + " < " + cmdListsCount);
+        }
+        nGetCmdListsHashes(dst);
+    }
+
+    private native void nGetCmdListsHashes(long[] dst); /*
+        for (int n = 0; n < IM_DRAW_DATA->CmdListsCount; n++) {
+            dst[n] = (jlong)HashCmdList(IM_DRAW_DATA->CmdLists[n]);
+        }
+    */
+
     ///////// End of Render Methods
 
     /**
@@ -243,6 +549,30 @@ public final class ImDrawData extends ImGuiStruct {
         return (intptr_t)IM_DRAW_DATA->OwnerViewport;
     */
 
+    /**
+     * ID of the viewport carrying the ImDrawData instance, or 0 if there is no owner viewport.
+     * Unlike the {@link #getOwnerViewport()}, it's kept by copies of the {@link ImDrawDataSnapshot}.
+     * <p>
+     * BINDING NOTICE: IDs of viewports are unique only inside their context, e.g. main viewports of all contexts have the same ID.
+     * Use it together with the {@link #getOwnerContext()} to tell viewports of different contexts apart.
+     */
+    public int getOwnerViewportId() {
+        return snapshot != null ? snapshot.getOwnerViewportId() : nGetOwnerViewportId();
+    }
+
+    private native int nGetOwnerViewportId(); /*
+        return IM_DRAW_DATA->OwnerViewport != NULL ? IM_DRAW_DATA->OwnerViewport->ID : 0;
+    */
+
+    /**
+     * Context which built the draw data. For copies of the {@link ImDrawDataSnapshot} it's the context which was current during the copy,
+     * or null for frames restored with {@link ImDrawDataSnapshot#setFrame}. For other draw data it's the current context,
+     * since draw data is valid only until the next frame of its context.
+     */
+    public ImGuiContext getOwnerContext() {
+        return snapshot != null ? snapshot.getOwnerContext() : ImGui.getCurrentContext();
+    }
+
     // Functions
 
     /**
@@ -0,0 +1,153 @@
+package imgui;
+
+/**
+ * Detects changes of the draw data between frames. Every frame provide the draw data to {@link #update(ImDrawData)},
+ * then check which command lists have changed since the previous update with {@link #isCmdListChanged(int)}.
+ * <p>
+ * Command lists are compared by hashes calculated natively, see {@link ImDrawData#getCmdListsHashes(long[])}.
+ * A renderer could keep GPU buffers per command list and upload only changed ones, while an application could skip
+ * the rendering and the buffers swap at all, when nothing has changed:
+ * <pre>
+ * ImGui.render();
+ * if (changeTracker.update(ImGui.getDrawData())) {
+ *     glClear(GL_COLOR_BUFFER_BIT);
+ *     imGuiGl3.renderDrawData(ImGui.getDrawData());
+ *     glfwSwapBuffers(window);
+ * } else {
+ *     // The window already shows the same frame
+ *     glfwWaitEventsTimeout(1.0 / 60);
+ * }
+ * </pre>
+ * Keep in mind that a skipped swap doesn't wait for v-sync, so the application should wait for events by itself.
+ * <p>
+ * One tracker should be used for one stream of frames, e.g. one per viewport.
+ */
+public final class ImDrawDataChangeTracker {
+    private long[] hashes = new long[16];
+    private long[] prevHashes = new long[16];
+    private boolean[] changed = new boolean[16];
+    private int cmdListsCount = 0;
+    private int changedCmdListsCount = 0;
+    private boolean hasChanges = false;
+    private boolean hasPrevFrame = false;
+
+    private float displayPosX;
+    private float displayPosY;
+    private float displaySizeX;
+    private float displaySizeY;
+    private float framebufferScaleX;
+    private float framebufferScaleY;
+
+    /**
+     * Compares provided draw data with the draw data of the previous update.
+     * The first update after the creation or the {@link #reset()} reports every command list as changed.
+     *
+     * @return true if the frame differs from the previous one: any command list has changed, lists were added or removed,
+     * or the display position, size or framebuffer scale are different
+     */
+    public boolean update(final ImDrawData drawData) {
+        final int newCmdListsCount = drawData.getCmdListsCount();
+        ensureCapacity(newCmdListsCount);
+
+        final long[] tmp = prevHashes;
+        prevHashes = hashes;
+        hashes = tmp;
+        drawData.getCmdListsHashes(hashes);
+
+        changedCmdListsCount = 0;
+        for (int n = 0; n < newCmdListsCount; n++) {
+            changed[n] = !hasPrevFrame || n >= cmdListsCount || hashes[n] != prevHashes[n];
+            if (changed[n]) {
+                changedCmdListsCount++;
+            }
+        }
+
+        final float newDisplayPosX = drawData.getDisplayPosX();
+        final float newDisplayPosY = drawData.getDisplayPosY();
+        final float newDisplaySizeX = drawData.getDisplaySizeX();
+        final float newDisplaySizeY = drawData.getDisplaySizeY();
+        final float newFramebufferScaleX = drawData.getFramebufferScaleX();
+        final float newFramebufferScaleY = drawData.getFramebufferScaleY();
+
+        hasChanges = !hasPrevFrame
+            || changedCmdListsCount != 0
+            || newCmdListsCount != cmdListsCount
+            || newDisplayPosX != displayPosX
+            || newDisplayPosY != displayPosY
+            || newDisplaySizeX != displaySizeX
+            || newDisplaySizeY != displaySizeY
+            || newFramebufferScaleX != framebufferScaleX
+            || newFramebufferScaleY != framebufferScaleY;
+
+        cmdListsCount = newCmdListsCount;
+        displayPosX = newDisplayPosX;
+        displayPosY = newDisplayPosY;
+        displaySizeX = newDisplaySizeX;
+        displaySizeY = newDisplaySizeY;
+        framebufferScaleX = newFramebufferScaleX;
+        framebufferScaleY = newFramebufferScaleY;
+        hasPrevFrame = true;
+
+        return hasChanges;
+    }
+
+    /**
+     * @return the result of the last {@link #update(ImDrawData)} call
+     */
+    public boolean hasChanges() {
+        return hasChanges;
+    }
+
+    /**
+     * @return true if the command list has changed in the last update or didn't exist in the previous frame
+     */
+    public boolean isCmdListChanged(final int cmdListIdx) {
+        if (cmdListIdx < 0 || cmdListIdx >= cmdListsCount) {
+            throw new IndexOutOfBoundsException("Command list index " + cmdListIdx + " is out of bounds [0, " + cmdListsCount + ")");
+        }
+        return changed[cmdListIdx];
+    }
+
+    /**
+     * @return amount of command lists changed in the last update
+     */
+    public int getChangedCmdListsCount() {
+        return changedCmdListsCount;
+    }
+
+    /**
+     * @return amount of command lists in the last update
+     */
+    public int getCmdListsCount() {
+        return cmdListsCount;
+    }
+
+    /**
+     * @return hash of the command list calculated in the last update
+     */
+    public long getCmdListHash(final int cmdListIdx) {
+        if (cmdListIdx < 0 || cmdListIdx >= cmdListsCount) {
+            throw new IndexOutOfBoundsException("Command list index " + cmdListIdx + " is out of bounds [0, " + cmdListsCount + ")");
+        }
+        return hashes[cmdListIdx];
+    }
+
+    /**
+     * Forgets the previous frame, so the next update reports every command list as changed.
+     * Should be called when the rendered content was lost, e.g. GPU buffers were recreated.
+     */
+    public void reset() {
+        hasPrevFrame = false;
+    }
+
+    private void ensureCapacity(final int cmdListsCount) {
+        if (hashes.length < cmdListsCount) {
+            final int newCapacity = Math.max(cmdListsCount, hashes.length * 2);
+            final long[] newHashes = new long[newCapacity];
+            System.arraycopy(hashes, 0, newHashes, 0, hashes.length);
+            hashes = newHashes;
+            prevHashes = new long[newCapacity];
+            changed = new boolean[newCapacity];
+        }
+    }
+}
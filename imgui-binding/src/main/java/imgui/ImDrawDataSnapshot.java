@@ -0,0 +1,145 @@
+package imgui;
+
+import imgui.binding.ImGuiStructDestroyable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Deep copy of the {@link ImDrawData}: command lists, their commands, vertex and index buffers.
+ * <p>
+ * Draw data returned by {@link ImGui#getDrawData()} is valid only after Render() and until the next NewFrame() call.
+ * Snapshot keeps the copy until the next {@link #copyFrom(ImDrawData)}, so the frame could be rendered on another thread,
+ * while the next frame is being built. See {@link ImDrawDataTripleBuffer} for a ready to use handoff between threads.
+ * <p>
+ * Memory of the snapshot is reused between copies and grows only when the copied frame is bigger than previous ones.
+ * <p>
+ * BINDING NOTICE: Snapshot SHOULD be destroyed with the {@link #destroy()} method.
+ * Owner viewport could be destroyed before the copy is rendered, so the copied draw data keeps only its ID and the context which built the frame,
+ * see {@link ImDrawData#getOwnerViewportId()} and {@link ImDrawData#getOwnerContext()}. {@link ImDrawData#getOwnerViewport()} of the copy has no viewport.
+ */
+public final class ImDrawDataSnapshot extends ImGuiStructDestroyable {
+    private ImDrawData drawData;
+    private ImGuiContext ownerContext;
+
+    public ImDrawDataSnapshot() {
+        super();
+    }
+
+    /*JNI
+        #include <stdint.h>
+        #include <imgui.h>
+        #include "jni_binding_struct.h"
+        #include "jni_draw_data_snapshot.h"
+
+        #define DRAW_DATA_SNAPSHOT ((Jni::DrawDataSnapshot*)STRUCT_PTR)
+     */
+
+    @Override
+    protected long create() {
+        return nCreate();
+    }
+
+    private native long nCreate(); /*
+        return (intptr_t)(new Jni::DrawDataSnapshot());
+    */
+
+    @Override
+    public void destroy() {
+        nDestroy();
+        ptr = 0;
+        drawData = null;
+        ownerContext = null;
+    }
+
+    private native void nDestroy(); /*
+        delete DRAW_DATA_SNAPSHOT;
+    */
+
+    /**
+     * Copies provided draw data into the snapshot. Previous content of the snapshot is replaced.
+     * Should be called after Render() and before the next NewFrame() of the context which owns the draw data, with that context being current.
+     */
+    public void copyFrom(final ImDrawData src) {
+        nCopyFrom(src.ptr);
+        ownerContext = ImGui.getCurrentContext();
+    }
+
+    private native void nCopyFrom(long srcPtr); /*
+        Jni::DrawDataSnapshotCopy(DRAW_DATA_SNAPSHOT, (ImDrawData*)srcPtr);
+    */
+
+    /**
+     * Removes all command lists from the snapshot. Allocated memory is kept.
+     */
+    public native void clear(); /*
+        Jni::DrawDataSnapshotClear(DRAW_DATA_SNAPSHOT);
+    */
+
+    /**
+     * Replaces content of the command list with provided data. Used to restore draw data received from another process, see {@link imgui.stream.ImDrawDataDecoder}.
+     * Command list is created if the snapshot has less lists. Changes become visible with the {@link #setFrame} call.
+     * <p>
+     * BINDING NOTICE: Buffer should be direct. Offsets are in bytes from the beginning of the buffer, its position is ignored.
+     *
+     * @param data direct buffer with commands, vertices and indices
+     * @param cmdOffset offset of command records of the {@link ImDrawData#getCmdBufferData(ByteBuffer)} format
+     * @param vtxOffset offset of vertices, {@link ImDrawData#SIZEOF_IM_DRAW_VERT} bytes each
+     * @param idxOffset offset of indices, "idxSize" bytes each
+     * @param idxSize size of a single index: 2 or 4, indices are converted if it differs from the {@link ImDrawData#getSizeOfImDrawIdx()}
+     */
+    public void setCmdList(final int cmdListIdx, final ByteBuffer data,
+                           final int cmdOffset, final int cmdCount,
+                           final int vtxOffset, final int vtxCount,
+                           final int idxOffset, final int idxCount, final int idxSize) {
+        if (!data.isDirect()) {
+            throw new IllegalArgumentException("Buffer with command list data should be direct");
+        }
+        if (idxSize != 2 && idxSize != 4) {
+            throw new IllegalArgumentException("Unsupported index size: " + idxSize);
+        }
+        nSetCmdList(cmdListIdx, data, cmdOffset, cmdCount, vtxOffset, vtxCount, idxOffset, idxCount, idxSize);
+    }
+
+    private native void nSetCmdList(int cmdListIdx, ByteBuffer data, int cmdOffset, int cmdCount, int vtxOffset, int vtxCount, int idxOffset, int idxCount, int idxSize); /*
+        Jni::DrawDataSnapshotSetCmdList(DRAW_DATA_SNAPSHOT, cmdListIdx, data + cmdOffset, cmdCount, data + vtxOffset, vtxCount, data + idxOffset, idxCount, idxSize);
+    */
+
+    /**
+     * Makes first "cmdListsCount" command lists of the snapshot its draw data. Should be called after the command lists are set with {@link #setCmdList}.
+     * Draw data of the snapshot set this way has no owner viewport and no owner context.
+     */
+    public void setFrame(final int cmdListsCount, final float displayPosX, final float displayPosY, final float displaySizeX, final float displaySizeY,
+                         final float framebufferScaleX, final float framebufferScaleY) {
+        nSetFrame(cmdListsCount, displayPosX, displayPosY, displaySizeX, displaySizeY, framebufferScaleX, framebufferScaleY);
+        ownerContext = null;
+    }
+
+    private native void nSetFrame(int cmdListsCount, float displayPosX, float displayPosY, float displaySizeX, float displaySizeY,
+                                  float framebufferScaleX, float framebufferScaleY); /*
+        Jni::DrawDataSnapshotSetFrame(DRAW_DATA_SNAPSHOT, cmdListsCount,
+            ImVec2(displayPosX, displayPosY), ImVec2(displaySizeX, displaySizeY), ImVec2(framebufferScaleX, framebufferScaleY));
+    */
+
+    /**
+     * Copied draw data. Could be passed to any renderer as a regular {@link ImDrawData}, e.g. into the ImGuiGLES30.renderDrawData method.
+     * Returned instance is the same for the whole life of the snapshot.
+     */
+    public ImDrawData getDrawData() {
+        if (drawData == null) {
+            drawData = new ImDrawData(nGetDrawData(), this);
+        }
+        return drawData;
+    }
+
+    private native long nGetDrawData(); /*
+        return (intptr_t)&DRAW_DATA_SNAPSHOT->DrawData;
+    */
+
+    ImGuiContext getOwnerContext() {
+        return ownerContext;
+    }
+
+    native int getOwnerViewportId(); /*
+        return DRAW_DATA_SNAPSHOT->OwnerViewportId;
+    */
+}
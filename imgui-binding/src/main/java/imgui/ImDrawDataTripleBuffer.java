@@ -0,0 +1,79 @@
+package imgui;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free handoff of frames from the UI thread to the render thread, built on three {@link ImDrawDataSnapshot}.
+ * <p>
+ * UI thread builds a frame and publishes it with {@link #publish(ImDrawData)}. Render thread takes the latest published frame
+ * with {@link #acquire()} and renders it. Threads never wait for each other: UI thread always has a free snapshot to write into,
+ * render thread keeps rendering the last frame until a new one is published. Frames published faster than rendered are dropped.
+ * <pre>
+ * // UI thread
+ * ImGui.newFrame();
+ * ...
+ * ImGui.render();
+ * tripleBuffer.publish(ImGui.getDrawData());
+ *
+ * // Render thread
+ * final ImDrawData drawData = tripleBuffer.acquire();
+ * if (drawData != null) {
+ *     imGuiGl3.renderDrawData(drawData);
+ * }
+ * </pre>
+ * Only one thread should publish frames and only one thread should acquire them.
+ * <p>
+ * BINDING NOTICE: Buffer SHOULD be destroyed with the {@link #destroy()} method, when both threads are stopped.
+ */
+public final class ImDrawDataTripleBuffer {
+    private static final int IDX_MASK = 0b11;
+    private static final int FRESH_BIT = 0b100;
+
+    private final ImDrawDataSnapshot[] snapshots = {new ImDrawDataSnapshot(), new ImDrawDataSnapshot(), new ImDrawDataSnapshot()};
+
+    // Index of the snapshot in the middle, with the FRESH_BIT set when it contains a frame not taken by the render thread yet
+    private final AtomicInteger middle = new AtomicInteger(2);
+
+    // Owned by the publishing thread
+    private int writeIdx = 0;
+
+    // Owned by the acquiring thread
+    private int readIdx = 1;
+    private boolean hasFrame = false;
+
+    /**
+     * Copies provided draw data into a free snapshot and makes it available for the render thread.
+     * Should be called by the UI thread after Render().
+     */
+    public void publish(final ImDrawData drawData) {
+        snapshots[writeIdx].copyFrom(drawData);
+        writeIdx = middle.getAndSet(writeIdx | FRESH_BIT) & IDX_MASK;
+    }
+
+    /**
+     * Returns draw data of the latest published frame. If there is no new frame since the previous call, the same frame is returned again.
+     * Returned data is valid until the next call of the method. Should be called by the render thread.
+     *
+     * @return draw data to render or null if no frame was published yet
+     */
+    public ImDrawData acquire() {
+        if ((middle.get() & FRESH_BIT) != 0) {
+            readIdx = middle.getAndSet(readIdx) & IDX_MASK;
+            hasFrame = true;
+        }
+        return hasFrame ? snapshots[readIdx].getDrawData() : null;
+    }
+
+    /**
+     * @return true if there is a published frame which wasn't acquired yet
+     */
+    public boolean hasNewFrame() {
+        return (middle.get() & FRESH_BIT) != 0;
+    }
+
+    public void destroy() {
+        for (ImDrawDataSnapshot snapshot : snapshots) {
+            snapshot.destroy();
+        }
+    }
+}
@@ -2,6 +2,11 @@ package imgui;
 
 import imgui.binding.ImGuiStruct;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
 /**
  * Draw command list
  * This is the low-level list of polygons that ImGui:: functions are filling. At the end of the frame,
@@ -25,6 +30,31 @@ public final class ImDrawList extends ImGuiStruct {
         #include "jni_binding_struct.h"
 
         #define IM_DRAW_LIST ((ImDrawList*)STRUCT_PTR)
+
+        // Copy of the ImVec2[] points. Small amount of points is kept on the stack, large one is allocated on the heap.
+        struct PointsCopy
+        {
+            ImVec2 Stack[256];
+            ImVec2* Data;
+            int Size;
+
+            PointsCopy(JNIEnv* env, jobjectArray points, int numPoints) {
+                const int length = env->GetArrayLength(points);
+                Size = numPoints < length ? numPoints : length;
+                Data = Size <= IM_ARRAYSIZE(Stack) ? Stack : (ImVec2*)IM_ALLOC((size_t)Size * sizeof(ImVec2));
+                for (int i = 0; i < Size; i++) {
+                    jobject jImVec2 = env->GetObjectArrayElement(points, i);
+                    Jni::ImVec2Cpy(env, jImVec2, &Data[i]);
+                    env->DeleteLocalRef(jImVec2);
+                }
+            }
+
+            ~PointsCopy() {
+                if (Data != Stack) {
+                    IM_FREE(Data);
+                }
+            }
+        };
      */
 
     /**
@@ -253,30 +283,378 @@ public final class ImDrawList extends ImGuiStruct {
     */
 
     public native void addPolyline(ImVec2[] points, int numPoints, int col, boolean closed, float thickness); /*
-        int points_num = env->GetArrayLength(points);
-        ImVec2 _points[points_num];
-        for (int i = 0; i < points_num; i++) {
-            jobject jImVec2 = env->GetObjectArrayElement(points, i);
-            ImVec2 dst;
-            Jni::ImVec2Cpy(env, jImVec2, &dst);
-            _points[i] = dst;
+        PointsCopy _points(env, points, numPoints);
+        IM_DRAW_LIST->AddPolyline(_points.Data, _points.Size, col, closed, thickness);
+    */
+
+    /**
+     * Adds a polyline with points stored as interleaved coordinates: [x0, y0, x1, y1, ...].
+     * The array is passed to the native side as a whole, points are not copied one by one.
+     */
+    public void addPolyline(final float[] points, final int numPoints, final int col, final boolean closed, final float thickness) {
+        addPolyline(points, 0, numPoints, col, closed, thickness);
+    }
+
+    /**
+     * @param offset index of the x coordinate of the first point in the array
+     */
+    public void addPolyline(final float[] points, final int offset, final int numPoints, final int col, final boolean closed, final float thickness) {
+        checkPoints(points.length, offset, numPoints);
+        nAddPolyline(points, offset, numPoints, col, closed, thickness);
+    }
+
+    private native void nAddPolyline(float[] points, int offset, int numPoints, int col, boolean closed, float thickness); /*
+        IM_DRAW_LIST->AddPolyline((const ImVec2*)(points + offset), numPoints, col, closed, thickness);
+    */
+
+    /**
+     * Adds a polyline with points stored as interleaved coordinates, starting from the buffer position. Buffer position is not changed.
+     * Direct buffers should have the native byte order.
+     */
+    public void addPolyline(final FloatBuffer points, final int numPoints, final int col, final boolean closed, final float thickness) {
+        checkPoints(points.remaining(), 0, numPoints);
+        if (points.isDirect()) {
+            checkOrder(points);
+            nAddPolyline(points, points.position(), numPoints, col, closed, thickness);
+        } else if (points.hasArray()) {
+            addPolyline(points.array(), points.arrayOffset() + points.position(), numPoints, col, closed, thickness);
+        } else {
+            addPolyline(toArray(points, numPoints), 0, numPoints, col, closed, thickness);
         }
-        IM_DRAW_LIST->AddPolyline(_points, numPoints, col, closed, thickness);
+    }
+
+    private native void nAddPolyline(FloatBuffer points, int offset, int numPoints, int col, boolean closed, float thickness); /*
+        IM_DRAW_LIST->AddPolyline((const ImVec2*)(points + offset), numPoints, col, closed, thickness);
+    */
+
+    /**
+     * Adds a polyline with points stored as interleaved float coordinates in the native memory.
+     * <p>
+     * BINDING NOTICE: Address is not checked, it should point to at least "numPoints * 2" floats.
+     */
+    public native void addPolyline(long pointsAddress, int numPoints, int col, boolean closed, float thickness); /*
+        IM_DRAW_LIST->AddPolyline((const ImVec2*)(intptr_t)pointsAddress, numPoints, col, closed, thickness);
     */
 
     // Note: Anti-aliased filling requires points to be in clockwise order.
     public native void addConvexPolyFilled(ImVec2[] points, int numPoints, int col); /*
-        int points_num = env->GetArrayLength(points);
-        ImVec2 _points[points_num];
-        for (int i = 0; i < points_num; i++) {
-            jobject jImVec2 = env->GetObjectArrayElement(points, i);
-            ImVec2 dst;
-            Jni::ImVec2Cpy(env, jImVec2, &dst);
-            _points[i] = dst;
+        PointsCopy _points(env, points, numPoints);
+        IM_DRAW_LIST->AddConvexPolyFilled(_points.Data, _points.Size, col);
+    */
+
+    /**
+     * Adds a filled convex polygon with points stored as interleaved coordinates: [x0, y0, x1, y1, ...].
+     * Note: Anti-aliased filling requires points to be in clockwise order.
+     */
+    public void addConvexPolyFilled(final float[] points, final int numPoints, final int col) {
+        addConvexPolyFilled(points, 0, numPoints, col);
+    }
+
+    /**
+     * @param offset index of the x coordinate of the first point in the array
+     */
+    public void addConvexPolyFilled(final float[] points, final int offset, final int numPoints, final int col) {
+        checkPoints(points.length, offset, numPoints);
+        nAddConvexPolyFilled(points, offset, numPoints, col);
+    }
+
+    private native void nAddConvexPolyFilled(float[] points, int offset, int numPoints, int col); /*
+        IM_DRAW_LIST->AddConvexPolyFilled((const ImVec2*)(points + offset), numPoints, col);
+    */
+
+    /**
+     * Adds a filled convex polygon with points stored as interleaved coordinates, starting from the buffer position. Buffer position is not changed.
+     * Direct buffers should have the native byte order.
+     */
+    public void addConvexPolyFilled(final FloatBuffer points, final int numPoints, final int col) {
+        checkPoints(points.remaining(), 0, numPoints);
+        if (points.isDirect()) {
+            checkOrder(points);
+            nAddConvexPolyFilled(points, points.position(), numPoints, col);
+        } else if (points.hasArray()) {
+            addConvexPolyFilled(points.array(), points.arrayOffset() + points.position(), numPoints, col);
+        } else {
+            addConvexPolyFilled(toArray(points, numPoints), 0, numPoints, col);
         }
-        IM_DRAW_LIST->AddConvexPolyFilled(_points, numPoints, col);
+    }
+
+    private native void nAddConvexPolyFilled(FloatBuffer points, int offset, int numPoints, int col); /*
+        IM_DRAW_LIST->AddConvexPolyFilled((const ImVec2*)(points + offset), numPoints, col);
+    */
+
+    /**
+     * Adds a filled convex polygon with points stored as interleaved float coordinates in the native memory.
+     * <p>
+     * BINDING NOTICE: Address is not checked, it should point to at least "numPoints * 2" floats.
+     */
+    public native void addConvexPolyFilled(long pointsAddress, int numPoints, int col); /*
+        IM_DRAW_LIST->AddConvexPolyFilled((const ImVec2*)(intptr_t)pointsAddress, numPoints, col);
+    */
+
+    // Advanced: Primitives allocations
+    // - We render triangles (three vertices)
+    // - All primitives needs to be reserved via PrimReserve() beforehand.
+    // - See ImDrawListWriter to write reserved vertices and indices from Java without a native call per vertex.
+
+    public native void primReserve(int idxCount, int vtxCount); /*
+        IM_DRAW_LIST->PrimReserve(idxCount, vtxCount);
+    */
+
+    /**
+     * Axis aligned rectangle (composed of two triangles)
+     */
+    public native void primRect(float aX, float aY, float bX, float bY, int col); /*
+        IM_DRAW_LIST->PrimRect(ImVec2(aX, aY), ImVec2(bX, bY), col);
+    */
+
+    public native void primRectUV(float aX, float aY, float bX, float bY, float uvAX, float uvAY, float uvBX, float uvBY, int col); /*
+        IM_DRAW_LIST->PrimRectUV(ImVec2(aX, aY), ImVec2(bX, bY), ImVec2(uvAX, uvAY), ImVec2(uvBX, uvBY), col);
     */
 
+    public native void primQuadUV(float aX, float aY, float bX, float bY, float cX, float cY, float dX, float dY, float uvAX, float uvAY, float uvBX, float uvBY, float uvCX, float uvCY, float uvDX, float uvDY, int col); /*
+        IM_DRAW_LIST->PrimQuadUV(ImVec2(aX, aY), ImVec2(bX, bY), ImVec2(cX, cY), ImVec2(dX, dY), ImVec2(uvAX, uvAY), ImVec2(uvBX, uvBY), ImVec2(uvCX, uvCY), ImVec2(uvDX, uvDY), col);
+    */
+
+    public native void primWriteVtx(float posX, float posY, float uvX, float uvY, int col); /*
+        IM_DRAW_LIST->PrimWriteVtx(ImVec2(posX, posY), ImVec2(uvX, uvY), col);
+    */
+
+    public native void primWriteIdx(int idx); /*
+        IM_DRAW_LIST->PrimWriteIdx((ImDrawIdx)idx);
+    */
+
+    /**
+     * Write vertex with unique index
+     */
+    public native void primVtx(float posX, float posY, float uvX, float uvY, int col); /*
+        IM_DRAW_LIST->PrimVtx(ImVec2(posX, posY), ImVec2(uvX, uvY), col);
+    */
+
+    /**
+     * Index of the next written vertex, relative to the VtxOffset of the current draw command.
+     */
+    public native int getVtxCurrentIdx(); /*
+        return (int)IM_DRAW_LIST->_VtxCurrentIdx;
+    */
+
+    /**
+     * This is useful if you need to forcefully create a new draw call (to allow for dependent rendering / blending). Otherwise primitives are merged into the same draw-call as much as possible
+     */
+    public native void addDrawCmd(); /*
+        IM_DRAW_LIST->AddDrawCmd();
+    */
+
+    // Batched primitives
+    // - Every method adds "count" primitives with one native call. Data is read from direct buffers with the native byte order,
+    //   starting from their positions. Positions of buffers are not changed.
+    // - Colors are read from the "colors" buffer, one per primitive, or the same "col" is used for all primitives.
+    // - Unlike single primitives, batched ones which are entirely outside of the current clip rect are skipped.
+    //   Texts are measured with the current font for that only when they start above or to the left of the clip rect.
+
+    /**
+     * Adds filled rectangles. Every rectangle is 4 floats in the "rects" buffer: [minX, minY, maxX, maxY].
+     */
+    public void addRectsFilled(final FloatBuffer rects, final IntBuffer colors, final int count) {
+        addRectsFilled(rects, colors, count, 0);
+    }
+
+    public void addRectsFilled(final FloatBuffer rects, final IntBuffer colors, final int count, final float rounding) {
+        checkBatch(rects, 4, count);
+        checkBatch(colors, count);
+        nAddRectsFilled(rects, rects.position(), colors, colors.position(), 0, count, rounding);
+    }
+
+    public void addRectsFilled(final FloatBuffer rects, final int col, final int count) {
+        addRectsFilled(rects, col, count, 0);
+    }
+
+    public void addRectsFilled(final FloatBuffer rects, final int col, final int count, final float rounding) {
+        checkBatch(rects, 4, count);
+        nAddRectsFilled(rects, rects.position(), null, 0, col, count, rounding);
+    }
+
+    private native void nAddRectsFilled(FloatBuffer rects, int rectsOffset, IntBuffer colors, int colorsOffset, int col, int count, float rounding); /*
+        ImDrawList* drawList = IM_DRAW_LIST;
+        const ImVec2 clipMin = drawList->GetClipRectMin();
+        const ImVec2 clipMax = drawList->GetClipRectMax();
+        const float* r = rects + rectsOffset;
+        const int* c = colors != NULL ? colors + colorsOffset : NULL;
+        for (int i = 0; i < count; i++, r += 4) {
+            if (r[2] < clipMin.x || r[3] < clipMin.y || r[0] > clipMax.x || r[1] > clipMax.y) {
+                continue;
+            }
+            drawList->AddRectFilled(ImVec2(r[0], r[1]), ImVec2(r[2], r[3]), (ImU32)(c != NULL ? c[i] : col), rounding);
+        }
+    */
+
+    /**
+     * Adds lines. Every line is 4 floats in the "lines" buffer: [p1X, p1Y, p2X, p2Y].
+     */
+    public void addLines(final FloatBuffer lines, final IntBuffer colors, final int count, final float thickness) {
+        checkBatch(lines, 4, count);
+        checkBatch(colors, count);
+        nAddLines(lines, lines.position(), colors, colors.position(), 0, count, thickness);
+    }
+
+    public void addLines(final FloatBuffer lines, final int col, final int count, final float thickness) {
+        checkBatch(lines, 4, count);
+        nAddLines(lines, lines.position(), null, 0, col, count, thickness);
+    }
+
+    private native void nAddLines(FloatBuffer lines, int linesOffset, IntBuffer colors, int colorsOffset, int col, int count, float thickness); /*
+        ImDrawList* drawList = IM_DRAW_LIST;
+        const ImVec2 clipMin = drawList->GetClipRectMin();
+        const ImVec2 clipMax = drawList->GetClipRectMax();
+        const float* l = lines + linesOffset;
+        const int* c = colors != NULL ? colors + colorsOffset : NULL;
+        for (int i = 0; i < count; i++, l += 4) {
+            const bool leftOfClip = l[0] + thickness < clipMin.x && l[2] + thickness < clipMin.x;
+            const bool aboveClip = l[1] + thickness < clipMin.y && l[3] + thickness < clipMin.y;
+            const bool rightOfClip = l[0] - thickness > clipMax.x && l[2] - thickness > clipMax.x;
+            const bool belowClip = l[1] - thickness > clipMax.y && l[3] - thickness > clipMax.y;
+            if (leftOfClip || aboveClip || rightOfClip || belowClip) {
+                continue;
+            }
+            drawList->AddLine(ImVec2(l[0], l[1]), ImVec2(l[2], l[3]), (ImU32)(c != NULL ? c[i] : col), thickness);
+        }
+    */
+
+    /**
+     * Adds circles. Every circle is 3 floats in the "circles" buffer: [centreX, centreY, radius].
+     */
+    public void addCircles(final FloatBuffer circles, final IntBuffer colors, final int count, final int numSegments, final float thickness) {
+        checkBatch(circles, 3, count);
+        checkBatch(colors, count);
+        nAddCircles(circles, circles.position(), colors, colors.position(), 0, count, numSegments, thickness, false);
+    }
+
+    public void addCircles(final FloatBuffer circles, final int col, final int count, final int numSegments, final float thickness) {
+        checkBatch(circles, 3, count);
+        nAddCircles(circles, circles.position(), null, 0, col, count, numSegments, thickness, false);
+    }
+
+    /**
+     * Adds filled circles. Every circle is 3 floats in the "circles" buffer: [centreX, centreY, radius].
+     */
+    public void addCirclesFilled(final FloatBuffer circles, final IntBuffer colors, final int count, final int numSegments) {
+        checkBatch(circles, 3, count);
+        checkBatch(colors, count);
+        nAddCircles(circles, circles.position(), colors, colors.position(), 0, count, numSegments, 0, true);
+    }
+
+    public void addCirclesFilled(final FloatBuffer circles, final int col, final int count, final int numSegments) {
+        checkBatch(circles, 3, count);
+        nAddCircles(circles, circles.position(), null, 0, col, count, numSegments, 0, true);
+    }
+
+    private native void nAddCircles(FloatBuffer circles, int circlesOffset, IntBuffer colors, int colorsOffset, int col, int count, int numSegments, float thickness, boolean filled); /*
+        ImDrawList* drawList = IM_DRAW_LIST;
+        const ImVec2 clipMin = drawList->GetClipRectMin();
+        const ImVec2 clipMax = drawList->GetClipRectMax();
+        const float* p = circles + circlesOffset;
+        const int* c = colors != NULL ? colors + colorsOffset : NULL;
+        for (int i = 0; i < count; i++, p += 3) {
+            const float extent = p[2] + thickness;
+            if (p[0] + extent < clipMin.x || p[1] + extent < clipMin.y || p[0] - extent > clipMax.x || p[1] - extent > clipMax.y) {
+                continue;
+            }
+            const ImU32 circleCol = (ImU32)(c != NULL ? c[i] : col);
+            if (filled) {
+                drawList->AddCircleFilled(ImVec2(p[0], p[1]), p[2], circleCol, numSegments);
+            } else {
+                drawList->AddCircle(ImVec2(p[0], p[1]), p[2], circleCol, numSegments, thickness);
+            }
+        }
+    */
+
+    /**
+     * Adds texts with the current font. Every text has a position of 2 floats in the "positions" buffer: [posX, posY].
+     * Texts are stored one after another as UTF-8 in the "text" buffer. Text with index "i" is in the range
+     * [textOffsets[i], textOffsets[i + 1]) relative to the "text" buffer position, so the "textOffsets" has "count + 1" values.
+     * Texts with the range out of the "text" buffer are skipped.
+     */
+    public void addTexts(final FloatBuffer positions, final IntBuffer colors, final ByteBuffer text, final IntBuffer textOffsets, final int count) {
+        checkBatch(positions, 2, count);
+        checkBatch(colors, count);
+        checkTexts(text, textOffsets, count);
+        nAddTexts(positions, positions.position(), colors, colors.position(), 0, text, text.position(), text.remaining(), textOffsets, textOffsets.position(), count);
+    }
+
+    public void addTexts(final FloatBuffer positions, final int col, final ByteBuffer text, final IntBuffer textOffsets, final int count) {
+        checkBatch(positions, 2, count);
+        checkTexts(text, textOffsets, count);
+        nAddTexts(positions, positions.position(), null, 0, col, text, text.position(), text.remaining(), textOffsets, textOffsets.position(), count);
+    }
+
+    private native void nAddTexts(FloatBuffer positions, int positionsOffset, IntBuffer colors, int colorsOffset, int col, ByteBuffer text, int textOffset, int textLength, IntBuffer textOffsets, int textOffsetsOffset, int count); /*
+        ImDrawList* drawList = IM_DRAW_LIST;
+        const ImVec2 clipMin = drawList->GetClipRectMin();
+        const ImVec2 clipMax = drawList->GetClipRectMax();
+        const float* p = positions + positionsOffset;
+        const int* c = colors != NULL ? colors + colorsOffset : NULL;
+        const char* t = (const char*)text + textOffset;
+        const int* o = textOffsets + textOffsetsOffset;
+        for (int i = 0; i < count; i++, p += 2) {
+            const int begin = o[i];
+            const int end = o[i + 1];
+            if (begin < 0 || end < begin || end > textLength || p[0] > clipMax.x || p[1] > clipMax.y) {
+                continue;
+            }
+            // Text grows to the right and down from its position, so its size is needed only when it starts before the clip rect
+            if (p[0] < clipMin.x || p[1] < clipMin.y) {
+                const ImVec2 size = ImGui::GetFont()->CalcTextSizeA(ImGui::GetFontSize(), FLT_MAX, 0.0f, t + begin, t + end);
+                if (p[0] + size.x < clipMin.x || p[1] + size.y < clipMin.y) {
+                    continue;
+                }
+            }
+            drawList->AddText(ImVec2(p[0], p[1]), (ImU32)(c != NULL ? c[i] : col), t + begin, t + end);
+        }
+    */
+
+    private static void checkBatch(final FloatBuffer buffer, final int stride, final int count) {
+        if (!buffer.isDirect() || buffer.order() != ByteOrder.nativeOrder()) {
+            throw new IllegalArgumentException("Buffer should be direct and have the native byte order");
+        }
+        if (count < 0 || (long) count * stride > buffer.remaining()) {
+            throw new IndexOutOfBoundsException("Primitives [0, " + count + ") are out of bounds [0, " + buffer.remaining() / stride + ")");
+        }
+    }
+
+    private static void checkBatch(final IntBuffer buffer, final int count) {
+        if (!buffer.isDirect() || buffer.order() != ByteOrder.nativeOrder()) {
+            throw new IllegalArgumentException("Buffer should be direct and have the native byte order");
+        }
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IndexOutOfBoundsException("Primitives [0, " + count + ") are out of bounds [0, " + buffer.remaining() + ")");
+        }
+    }
+
+    private static void checkTexts(final ByteBuffer text, final IntBuffer textOffsets, final int count) {
+        if (!text.isDirect()) {
+            throw new IllegalArgumentException("Text buffer should be direct");
+        }
+        checkBatch(textOffsets, count + 1);
+    }
+
+    private static void checkPoints(final int length, final int offset, final int numPoints) {
+        if (offset < 0 || numPoints < 0 || offset + (long) numPoints * 2 > length) {
+            throw new IndexOutOfBoundsException("Points [" + offset + ", " + (offset + (long) numPoints * 2) + ") are out of bounds [0, " + length + ")");
+        }
+    }
+
+    private static void checkOrder(final FloatBuffer buffer) {
+        if (buffer.order() != ByteOrder.nativeOrder()) {
+            throw new IllegalArgumentException("Direct buffer should have the native byte order");
+        }
+    }
+
+    // Read-only heap buffers don't expose their array, so points are copied
+    private static float[] toArray(final FloatBuffer buffer, final int numPoints) {
+        final float[] array = new float[numPoints * 2];
+        buffer.duplicate().get(array);
+        return array;
+    }
+
     public native void addBezierCurve(float p1X, float p1Y, float p2X, float p2Y, float p3X, float p3Y, float p4X, float p4Y, int col, float thickness); /*
         IM_DRAW_LIST->AddBezierCurve(ImVec2(p1X, p1Y), ImVec2(p2X, p2Y), ImVec2(p3X, p3Y), ImVec2(p4X, p4Y), col, thickness);
     */
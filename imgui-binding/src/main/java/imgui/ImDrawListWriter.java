@@ -0,0 +1,173 @@
+package imgui;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Writes vertices and indices directly into the buffers of the {@link ImDrawList}, like PrimReserve()/PrimWriteVtx()/PrimWriteIdx() do natively.
+ * One native call reserves the space, then the data is written through direct buffer views without any native calls per vertex:
+ * <pre>
+ * writer.reserve(drawList, 6, 4);
+ * final int idx = writer.getVtxBaseIdx();
+ * writer.putVtx(x0, y0, u0, v0, colTop).putVtx(x1, y0, u1, v0, colTop).putVtx(x1, y1, u1, v1, colBottom).putVtx(x0, y1, u0, v1, colBottom);
+ * writer.putIdx(idx).putIdx(idx + 1).putIdx(idx + 2).putIdx(idx).putIdx(idx + 2).putIdx(idx + 3);
+ * </pre>
+ * Reserved vertices use the texture of the current draw command. For solid colors use UV of the {@link ImGui#getFontTexUvWhitePixel(ImVec2)}.
+ * <p>
+ * BINDING NOTICE: All reserved vertices and indices SHOULD be written before the next call to the draw list.
+ * Buffer views are valid only until the next reservation, since the draw list could reallocate its memory.
+ * One writer could be reused for any amount of draw lists.
+ */
+public final class ImDrawListWriter {
+    // Layout of the writer state. Should be kept in sync with the native code.
+    private static final int VTX_DATA_OFFSET = 0;
+    private static final int IDX_DATA_OFFSET = 8;
+    private static final int VTX_CAPACITY_OFFSET = 16;
+    private static final int IDX_CAPACITY_OFFSET = 20;
+    private static final int VTX_WRITE_OFFSET = 24;
+    private static final int IDX_WRITE_OFFSET = 28;
+    private static final int VTX_BASE_IDX_OFFSET = 32;
+    private static final int SIZE = 40;
+
+    private final ByteBuffer state = ByteBuffer.allocateDirect(SIZE).order(ByteOrder.nativeOrder());
+
+    // Views over the whole capacity of the draw list buffers, recreated when the memory is reallocated
+    private ByteBuffer vtxView;
+    private ByteBuffer idxView;
+    private long vtxViewAddress;
+    private long idxViewAddress;
+    private int vtxViewCapacity;
+    private int idxViewCapacity;
+
+    public ImDrawListWriter() {
+        ImGui.init();
+    }
+
+    /*JNI
+        #include <stdint.h>
+        #include <imgui.h>
+
+        static char emptyViewData;
+
+        static jobject NewWriterView(JNIEnv* env, void* data, jlong capacity) {
+            return env->NewDirectByteBuffer(data != NULL ? data : &emptyViewData, data != NULL ? capacity : 0);
+        }
+
+        // Should be in sync with the layout of the ImDrawListWriter
+        struct DrawListWriterState
+        {
+            int64_t VtxData;
+            int64_t IdxData;
+            int32_t VtxCapacity;
+            int32_t IdxCapacity;
+            int32_t VtxWriteOffset;
+            int32_t IdxWriteOffset;
+            int32_t VtxBaseIdx;
+        };
+     */
+
+    /**
+     * Reserves vertices and indices at the end of the draw list. After the call, {@link #getVtxBuffer()} and {@link #getIdxBuffer()}
+     * have the position at the first reserved element and the limit after the last one.
+     */
+    public void reserve(final ImDrawList drawList, final int idxCount, final int vtxCount) {
+        if (idxCount < 0 || vtxCount < 0) {
+            throw new IllegalArgumentException("Amount of reserved elements should not be negative: " + idxCount + ", " + vtxCount);
+        }
+
+        nReserve(drawList.ptr, idxCount, vtxCount, state);
+
+        final long vtxAddress = state.getLong(VTX_DATA_OFFSET);
+        final long idxAddress = state.getLong(IDX_DATA_OFFSET);
+        final int vtxCapacity = state.getInt(VTX_CAPACITY_OFFSET);
+        final int idxCapacity = state.getInt(IDX_CAPACITY_OFFSET);
+        if (vtxView == null || vtxAddress != vtxViewAddress || vtxCapacity != vtxViewCapacity) {
+            vtxView = nGetVtxView(drawList.ptr).order(ByteOrder.nativeOrder());
+            vtxViewAddress = vtxAddress;
+            vtxViewCapacity = vtxCapacity;
+        }
+        if (idxView == null || idxAddress != idxViewAddress || idxCapacity != idxViewCapacity) {
+            idxView = nGetIdxView(drawList.ptr).order(ByteOrder.nativeOrder());
+            idxViewAddress = idxAddress;
+            idxViewCapacity = idxCapacity;
+        }
+
+        final int vtxWriteOffset = state.getInt(VTX_WRITE_OFFSET);
+        final int idxWriteOffset = state.getInt(IDX_WRITE_OFFSET);
+        vtxView.clear();
+        vtxView.position(vtxWriteOffset).limit(vtxWriteOffset + vtxCount * ImDrawData.SIZEOF_IM_DRAW_VERT);
+        idxView.clear();
+        idxView.position(idxWriteOffset).limit(idxWriteOffset + idxCount * ImDrawData.getSizeOfImDrawIdx());
+    }
+
+    // Reserved elements are counted as written right away, Java side fills them through the views
+    private static native void nReserve(long drawListPtr, int idxCount, int vtxCount, ByteBuffer state); /*
+        ImDrawList* drawList = (ImDrawList*)drawListPtr;
+        drawList->PrimReserve(idxCount, vtxCount);
+
+        DrawListWriterState* s = (DrawListWriterState*)state;
+        s->VtxData = (int64_t)(intptr_t)drawList->VtxBuffer.Data;
+        s->IdxData = (int64_t)(intptr_t)drawList->IdxBuffer.Data;
+        s->VtxCapacity = drawList->VtxBuffer.Capacity * (int)sizeof(ImDrawVert);
+        s->IdxCapacity = drawList->IdxBuffer.Capacity * (int)sizeof(ImDrawIdx);
+        s->VtxWriteOffset = (int32_t)((char*)drawList->_VtxWritePtr - (char*)drawList->VtxBuffer.Data);
+        s->IdxWriteOffset = (int32_t)((char*)drawList->_IdxWritePtr - (char*)drawList->IdxBuffer.Data);
+        s->VtxBaseIdx = (int32_t)drawList->_VtxCurrentIdx;
+
+        drawList->_VtxWritePtr += vtxCount;
+        drawList->_IdxWritePtr += idxCount;
+        drawList->_VtxCurrentIdx += vtxCount;
+    */
+
+    private static native ByteBuffer nGetVtxView(long drawListPtr); /*
+        ImDrawList* drawList = (ImDrawList*)drawListPtr;
+        return NewWriterView(env, drawList->VtxBuffer.Data, (jlong)drawList->VtxBuffer.Capacity * sizeof(ImDrawVert));
+    */
+
+    private static native ByteBuffer nGetIdxView(long drawListPtr); /*
+        ImDrawList* drawList = (ImDrawList*)drawListPtr;
+        return NewWriterView(env, drawList->IdxBuffer.Data, (jlong)drawList->IdxBuffer.Capacity * sizeof(ImDrawIdx));
+    */
+
+    /**
+     * Index of the first reserved vertex, which should be used in written indices.
+     */
+    public int getVtxBaseIdx() {
+        return state.getInt(VTX_BASE_IDX_OFFSET);
+    }
+
+    /**
+     * View over reserved vertices. Every vertex is {@link ImDrawData#SIZEOF_IM_DRAW_VERT} bytes: pos (2 floats), uv (2 floats), col (int).
+     * Could be used to write vertices in bulk, e.g. through {@link ByteBuffer#put(ByteBuffer)}.
+     */
+    public ByteBuffer getVtxBuffer() {
+        return vtxView;
+    }
+
+    /**
+     * View over reserved indices. Every index is {@link ImDrawData#getSizeOfImDrawIdx()} bytes.
+     */
+    public ByteBuffer getIdxBuffer() {
+        return idxView;
+    }
+
+    /**
+     * Writes the next reserved vertex.
+     */
+    public ImDrawListWriter putVtx(final float posX, final float posY, final float uvX, final float uvY, final int col) {
+        vtxView.putFloat(posX).putFloat(posY).putFloat(uvX).putFloat(uvY).putInt(col);
+        return this;
+    }
+
+    /**
+     * Writes the next reserved index.
+     */
+    public ImDrawListWriter putIdx(final int index) {
+        if (ImDrawData.getSizeOfImDrawIdx() == 2) {
+            idxView.putShort((short) index);
+        } else {
+            idxView.putInt(index);
+        }
+        return this;
+    }
+}
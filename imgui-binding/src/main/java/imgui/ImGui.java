@@ -2,9 +2,11 @@ package imgui;
 
 import imgui.flag.ImGuiInputTextFlags;
 import imgui.type.ImBoolean;
+import imgui.type.ImDirectString;
 import imgui.type.ImDouble;
 import imgui.type.ImFloat;
 import imgui.type.ImInt;
+import imgui.type.ImLabel;
 import imgui.type.ImLong;
 import imgui.type.ImShort;
 import imgui.type.ImString;
@@ -13,6 +15,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -24,19 +27,10 @@ public class ImGui {
     private static final String LIB_NAME_DEFAULT = System.getProperty("os.arch").contains("64") ? "imgui-java64" : "imgui-java";
     private static final String LIB_TMP_DIR_PREFIX = "imgui-java-natives_" + System.currentTimeMillis();
 
-    private static final ImGuiIO IMGUI_IO;
-    private static final ImDrawList WINDOW_DRAW_LIST;
-    private static final ImDrawList BACKGROUND_DRAW_LIST;
-    private static final ImDrawList FOREGROUND_DRAW_LIST;
-    private static final ImGuiStorage IMGUI_STORAGE;
-    private static final ImGuiViewport WINDOW_VIEWPORT;
-    private static final ImGuiViewport FIND_VIEWPORT;
+    private static final boolean THREAD_LOCAL_CONTEXT;
+    private static final ThreadLocal<ImGuiContext> THREAD_CURRENT_CONTEXT = new ThreadLocal<>();
 
-    private static ImDrawData drawData;
-    private static ImFont font;
-    private static ImGuiStyle style;
-    private static ImGuiViewport mainViewport;
-    private static ImGuiPlatformIO platformIO;
+    private static ImGuiContext currentContext;
 
     static {
         final String libPath = System.getProperty(LIB_PATH_PROP);
@@ -53,15 +47,9 @@ public class ImGui {
         //     System.loadLibrary(libName);
         // }
 
-        IMGUI_IO = new ImGuiIO();
-        WINDOW_DRAW_LIST = new ImDrawList(0);
-        BACKGROUND_DRAW_LIST = new ImDrawList(0);
-        FOREGROUND_DRAW_LIST = new ImDrawList(0);
-        IMGUI_STORAGE = new ImGuiStorage(0);
-        WINDOW_VIEWPORT = new ImGuiViewport(0);
-        FIND_VIEWPORT = new ImGuiViewport(0);
-
         nInitJni();
+        ImDrawData.checkNativeSizes();
+        THREAD_LOCAL_CONTEXT = nIsThreadLocalContext();
         ImFontAtlas.nInit();
         ImGuiPlatformIO.init();
         nInitInputTextData();
@@ -120,6 +108,8 @@ public class ImGui {
         #include "jni_common.h"
         #include "jni_callbacks.h"
         #include "jni_binding_struct.h"
+        #include "jni_item_list.h"
+        #include "jni_direct_string.h"
      */
 
     private static native void nInitJni(); /*
@@ -128,46 +118,154 @@ public class ImGui {
         Jni::InitBindingStruct(env);
     */
 
+    private static native boolean nIsThreadLocalContext(); /*
+        #ifdef IMGUI_JAVA_THREAD_LOCAL_CONTEXT
+        return true;
+        #else
+        return false;
+        #endif
+    */
+
     // Context creation and access
     // Each context create its own ImFontAtlas by default.
     // You may instance one yourself and pass it to CreateContext() to share a font atlas between imgui contexts.
     // None of those functions is reliant on the current context.
     //
-    // BINDING NOTICE: Getting of the current context is not implemented since it's a part of internal API which is not exposed here.
+    // BINDING NOTICE: Created context becomes current only if there was no current context before, same as in Dear ImGui.
+    // Java wrappers returned by methods like getIO() or getStyle() are kept per context, so switch the context before getting them.
+    // When native library is built with the thread-local context (see isThreadLocalContext()), current context is set per thread.
+
+    /**
+     * Creates a new context with its own font atlas.
+     */
+    public static ImGuiContext createContext() {
+        return createContext(null);
+    }
 
-    public static native void createContext(); /*
-        ImGui::CreateContext();
+    /**
+     * Creates a new context which uses provided font atlas. Atlas is not owned by the context, so it's not destroyed with it.
+     * Share one atlas between contexts to load and build fonts only once.
+     */
+    public static ImGuiContext createContext(ImFontAtlas sharedFontAtlas) {
+        final ImGuiContext ctx = new ImGuiContext(nCreateContext(sharedFontAtlas != null ? sharedFontAtlas.ptr : 0), sharedFontAtlas);
+        if (getCurrentContext() == null) {
+            putCurrentContext(ctx);
+        }
+        return ctx;
+    }
+
+    private static native long nCreateContext(long sharedFontAtlasPtr); /*
+        return (intptr_t)ImGui::CreateContext((ImFontAtlas*)sharedFontAtlasPtr);
     */
 
-    public static void createContext(ImFontAtlas sharedFontAtlas) {
-        nCreateContext(sharedFontAtlas.ptr);
+    /**
+     * Destroys the current context.
+     */
+    public static void destroyContext() {
+        final ImGuiContext ctx = getCurrentContext();
+        if (ctx != null) {
+            destroyContext(ctx);
+        }
+    }
+
+    /**
+     * Destroys provided context. If the context is current, there will be no current context after the call.
+     */
+    public static void destroyContext(ImGuiContext ctx) {
+        if (ctx.isDestroyed()) {
+            return;
+        }
+        nDestroyContext(ctx.ptr);
+        ctx.ptr = 0;
+        if (getCurrentContext() == ctx) {
+            putCurrentContext(null);
+        }
     }
 
-    private static native void nCreateContext(long sharedFontAtlasPtr); /*
-        ImGui::CreateContext((ImFontAtlas*)sharedFontAtlasPtr);
+    private static native void nDestroyContext(long ctxPtr); /*
+        ImGuiContext* ctx = (ImGuiContext*)ctxPtr;
+        ImGuiContext* prevCtx = ImGui::GetCurrentContext();
+        ImGui::SetCurrentContext(ctx);
+        Jni::DeleteClipboardCallbacks(env, ImGui::GetIO());
+        ImGui::SetCurrentContext(prevCtx == ctx ? NULL : prevCtx);
+        ImGui::DestroyContext(ctx);
     */
 
-    public static native void destroyContext(); /*
-        ImGui::DestroyContext();
+    /**
+     * @return current context or null if there is no current context
+     */
+    public static ImGuiContext getCurrentContext() {
+        return THREAD_LOCAL_CONTEXT ? THREAD_CURRENT_CONTEXT.get() : currentContext;
+    }
+
+    /**
+     * Makes provided context current. All following calls are applied to this context. Pass null to unset the current context.
+     */
+    public static void setCurrentContext(ImGuiContext ctx) {
+        if (ctx != null && ctx.isDestroyed()) {
+            throw new IllegalArgumentException("Context is destroyed");
+        }
+        nSetCurrentContext(ctx != null ? ctx.ptr : 0);
+        putCurrentContext(ctx);
+    }
+
+    private static native void nSetCurrentContext(long ctxPtr); /*
+        ImGui::SetCurrentContext((ImGuiContext*)ctxPtr);
     */
 
+    /**
+     * Returns true, when the native library is built with the thread-local current context ("-DwithThreadLocalContext" build flag).
+     * In that case every thread has its own current context, so different contexts could build their frames concurrently
+     * on different threads. One context still SHOULD NOT be used by several threads at the same time.
+     * Otherwise the current context is shared by all threads.
+     * <p>
+     * Static state of the binding, which is shared by all contexts:
+     * <ul>
+     *     <li>current context - kept per thread in this mode;</li>
+     *     <li>wrappers of draw lists, storage, viewports and the drag and drop payload - kept per context, see {@link ImGuiContext};</li>
+     *     <li>{@link imgui.type.ImLabel#intern(String)} cache - concurrent, could be used from any thread;</li>
+     *     <li>{@link ImDrawData} buffer of the command list data - used only by the render thread;</li>
+     *     <li>callbacks and input text data of the native side - initialized once, when the library is loaded.</li>
+     * </ul>
+     */
+    public static boolean isThreadLocalContext() {
+        return THREAD_LOCAL_CONTEXT;
+    }
+
+    private static void putCurrentContext(ImGuiContext ctx) {
+        if (THREAD_LOCAL_CONTEXT) {
+            THREAD_CURRENT_CONTEXT.set(ctx);
+        } else {
+            currentContext = ctx;
+        }
+    }
+
+    private static ImGuiContext requireContext() {
+        final ImGuiContext ctx = getCurrentContext();
+        if (ctx == null) {
+            throw new IllegalStateException("No current context. Did you call ImGui.createContext() or ImGui.setCurrentContext()?");
+        }
+        return ctx;
+    }
+
     // Main
 
     /**
      * Access the IO structure (mouse/keyboard/gamepad inputs, time, various configuration options/flags).
      */
     public static ImGuiIO getIO() {
-        return IMGUI_IO;
+        return requireContext().io;
     }
 
     /**
      * Access the Style structure (colors, sizes). Always use PushStyleCol(), PushStyleVar() to modify style mid-frame!
      */
     public static ImGuiStyle getStyle() {
-        if (style == null) {
-            style = new ImGuiStyle(nGetStyle());
+        final ImGuiContext ctx = requireContext();
+        if (ctx.style == null) {
+            ctx.style = new ImGuiStyle(nGetStyle());
         }
-        return style;
+        return ctx.style;
     }
 
     private static native long nGetStyle(); /*
@@ -202,10 +300,11 @@ public class ImGui {
      * Valid after Render() and until the next call to NewFrame(). this is what you have to render.
      */
     public static ImDrawData getDrawData() {
-        if (drawData == null) {
-            drawData = new ImDrawData(nGetDrawData());
+        final ImGuiContext ctx = requireContext();
+        if (ctx.drawData == null) {
+            ctx.drawData = new ImDrawData(nGetDrawData());
         }
-        return drawData;
+        return ctx.drawData;
     }
 
     private static native long nGetDrawData(); /*
@@ -394,6 +493,18 @@ public class ImGui {
         return ImGui::Begin(title, &pOpen[0], imGuiWindowFlags);
     */
 
+    public static boolean begin(ImLabel title) {
+        return nBegin(title.getData(), 0);
+    }
+
+    public static boolean begin(ImLabel title, int imGuiWindowFlags) {
+        return nBegin(title.getData(), imGuiWindowFlags);
+    }
+
+    private static native boolean nBegin(ByteBuffer title, int imGuiWindowFlags); /*
+        return ImGui::Begin((const char*)title, NULL, imGuiWindowFlags);
+    */
+
     public static native void end(); /*
         ImGui::End();
     */
@@ -483,8 +594,9 @@ public class ImGui {
      * Get draw list associated to the current window, to append your own drawing primitives
      */
     public static ImDrawList getWindowDrawList() {
-        WINDOW_DRAW_LIST.ptr = nGetWindowDrawList();
-        return WINDOW_DRAW_LIST;
+        final ImDrawList wrapper = requireContext().windowDrawList;
+        wrapper.ptr = nGetWindowDrawList();
+        return wrapper;
     }
 
     private static native long nGetWindowDrawList(); /*
@@ -502,8 +614,9 @@ public class ImGui {
      * Get viewport currently associated to the current window.
      */
     public static ImGuiViewport getWindowViewport() {
-        WINDOW_VIEWPORT.ptr = nGetWindowViewport();
-        return WINDOW_VIEWPORT;
+        final ImGuiViewport wrapper = requireContext().windowViewport;
+        wrapper.ptr = nGetWindowViewport();
+        return wrapper;
     }
 
     private static native long nGetWindowViewport(); /*
@@ -1021,10 +1134,11 @@ public class ImGui {
      * Get current font.
      */
     public static ImFont getFont() {
-        if (font == null) {
-            font = new ImFont(nGetFont());
+        final ImGuiContext ctx = requireContext();
+        if (ctx.font == null) {
+            ctx.font = new ImFont(nGetFont());
         }
-        return font;
+        return ctx.font;
     }
 
     private static native long nGetFont(); /*
@@ -1427,6 +1541,17 @@ public class ImGui {
         ImGui::PushID(intId);
     */
 
+    /**
+     * Push string into the ID stack (will hash string).
+     */
+    public static void pushID(ImLabel strId) {
+        nPushID(strId.getData());
+    }
+
+    private static native void nPushID(ByteBuffer strId); /*
+        ImGui::PushID((const char*)strId);
+    */
+
     /**
      * Pop from the ID stack.
      */
@@ -1526,6 +1651,60 @@ public class ImGui {
         ImGui::BulletText(text, NULL);
     */
 
+    // BINDING NOTICE: Overloads with ImLabel pass a pre-encoded text to the native side without any conversion.
+
+    public static void textUnformatted(ImLabel text) {
+        nTextUnformatted(text.getData());
+    }
+
+    private static native void nTextUnformatted(ByteBuffer text); /*
+        ImGui::TextUnformatted((const char*)text);
+    */
+
+    public static void text(ImLabel text) {
+        nTextUnformatted(text.getData());
+    }
+
+    public static void textColored(int col, ImLabel text) {
+        nTextColored(col, text.getData());
+    }
+
+    private static native void nTextColored(int col, ByteBuffer text); /*
+        ImGui::TextColored(ImColor(col), "%s", (const char*)text);
+    */
+
+    public static void textDisabled(ImLabel text) {
+        nTextDisabled(text.getData());
+    }
+
+    private static native void nTextDisabled(ByteBuffer text); /*
+        ImGui::TextDisabled("%s", (const char*)text);
+    */
+
+    public static void textWrapped(ImLabel text) {
+        nTextWrapped(text.getData());
+    }
+
+    private static native void nTextWrapped(ByteBuffer text); /*
+        ImGui::TextWrapped("%s", (const char*)text);
+    */
+
+    public static void labelText(ImLabel label, ImLabel text) {
+        nLabelText(label.getData(), text.getData());
+    }
+
+    private static native void nLabelText(ByteBuffer label, ByteBuffer text); /*
+        ImGui::LabelText((const char*)label, "%s", (const char*)text);
+    */
+
+    public static void bulletText(ImLabel text) {
+        nBulletText(text.getData());
+    }
+
+    private static native void nBulletText(ByteBuffer text); /*
+        ImGui::BulletText("%s", (const char*)text);
+    */
+
     // Widgets: Main
     // - Most widgets return true when the value has been changed or when pressed/selected
     // - You may also use one of the many IsItemXXX functions (e.g. IsItemActive, IsItemHovered, etc.) to query widget state.
@@ -1551,6 +1730,26 @@ public class ImGui {
         return ImGui::SmallButton(label);
     */
 
+    public static boolean button(ImLabel label) {
+        return nButton(label.getData(), 0, 0);
+    }
+
+    public static boolean button(ImLabel label, float width, float height) {
+        return nButton(label.getData(), width, height);
+    }
+
+    private static native boolean nButton(ByteBuffer label, float width, float height); /*
+        return ImGui::Button((const char*)label, ImVec2(width, height));
+    */
+
+    public static boolean smallButton(ImLabel label) {
+        return nSmallButton(label.getData());
+    }
+
+    private static native boolean nSmallButton(ByteBuffer label); /*
+        return ImGui::SmallButton((const char*)label);
+    */
+
     /**
      * Flexible button behavior without the visuals, frequently useful to build custom behaviors using the public api (along with IsItemActive, IsItemHovered, etc.)
      */
@@ -1647,6 +1846,14 @@ public class ImGui {
         return ImGui::Checkbox(label, &data[0]);
     */
 
+    public static boolean checkbox(ImLabel label, ImBoolean active) {
+        return nCheckbox(label.getData(), active.getData());
+    }
+
+    private static native boolean nCheckbox(ByteBuffer label, boolean[] data); /*
+        return ImGui::Checkbox((const char*)label, &data[0]);
+    */
+
     public static boolean checkboxFlags(String label, ImInt v, int flagsValue) {
         return nCheckboxFlags(label, v.getData(), flagsValue);
     }
@@ -1720,13 +1927,38 @@ public class ImGui {
     }
 
     private static native boolean nCombo(String label, int[] currentItem, String[] items, int itemsCount, int popupMaxHeightInItems); /*
-        const char* listbox_items[itemsCount];
+        ImVector<const char*> listbox_items;
+        listbox_items.resize(itemsCount);
         for(int i = 0; i < itemsCount; i++) {
             jstring string = (jstring)env->GetObjectArrayElement(items, i);
-            const char* rawString = env->GetStringUTFChars(string, 0);
-            listbox_items[i] = rawString;
+            listbox_items[i] = env->GetStringUTFChars(string, 0);
+            env->DeleteLocalRef(string);
         }
-        return ImGui::Combo(label, &currentItem[0], listbox_items, itemsCount, popupMaxHeightInItems);
+        bool result = ImGui::Combo(label, &currentItem[0], listbox_items.Data, itemsCount, popupMaxHeightInItems);
+        for(int i = 0; i < itemsCount; i++) {
+            jstring string = (jstring)env->GetObjectArrayElement(items, i);
+            env->ReleaseStringUTFChars(string, listbox_items[i]);
+            env->DeleteLocalRef(string);
+        }
+        return result;
+    */
+
+    /**
+     * BINDING NOTICE: Items are stored on the native side, so they are not converted on every call. Only visible items are submitted.
+     */
+    public static boolean combo(String label, ImInt currentItem, ImGuiItemList items) {
+        return nCombo(label, currentItem.getData(), items.ptr, -1);
+    }
+
+    /**
+     * BINDING NOTICE: Items are stored on the native side, so they are not converted on every call. Only visible items are submitted.
+     */
+    public static boolean combo(String label, ImInt currentItem, ImGuiItemList items, int popupMaxHeightInItems) {
+        return nCombo(label, currentItem.getData(), items.ptr, popupMaxHeightInItems);
+    }
+
+    private static native boolean nCombo(String label, int[] currentItem, long itemsPtr, int popupMaxHeightInItems); /*
+        return Jni::ItemListCombo(label, &currentItem[0], (Jni::ItemList*)itemsPtr, popupMaxHeightInItems);
     */
 
     /**
@@ -2920,6 +3152,69 @@ public class ImGui {
         return valueChanged;
     */
 
+    // Input with the text stored outside of the JVM heap, see ImDirectString.
+    // Text is edited in place and the memory is grown natively, without calls back to Java.
+
+    public static boolean inputText(String label, ImDirectString text) {
+        return preInputText(false, label, text, 0, 0, ImGuiInputTextFlags.None);
+    }
+
+    public static boolean inputText(String label, ImDirectString text, int imGuiInputTextFlags) {
+        return preInputText(false, label, text, 0, 0, imGuiInputTextFlags);
+    }
+
+    public static boolean inputTextMultiline(String label, ImDirectString text) {
+        return preInputText(true, label, text, 0, 0, ImGuiInputTextFlags.None);
+    }
+
+    public static boolean inputTextMultiline(String label, ImDirectString text, float width, float height) {
+        return preInputText(true, label, text, width, height, ImGuiInputTextFlags.None);
+    }
+
+    public static boolean inputTextMultiline(String label, ImDirectString text, int imGuiInputTextFlags) {
+        return preInputText(true, label, text, 0, 0, imGuiInputTextFlags);
+    }
+
+    public static boolean inputTextMultiline(String label, ImDirectString text, float width, float height, int imGuiInputTextFlags) {
+        return preInputText(true, label, text, width, height, imGuiInputTextFlags);
+    }
+
+    private static boolean preInputText(boolean multiline, String label, ImDirectString text, float width, float height, int flags) {
+        if (text.isDestroyed()) {
+            throw new IllegalStateException("String is destroyed");
+        }
+        if (text.isResizable()) {
+            flags |= ImGuiInputTextFlags.CallbackResize;
+        } else {
+            flags &= ~ImGuiInputTextFlags.CallbackResize;
+        }
+        return nInputTextDirect(multiline, label, text.ptr, width, height, flags);
+    }
+
+    private static native boolean nInputTextDirect(boolean multiline, String label, long textPtr, float width, float height, int flags); /*
+        Jni::DirectString* str = (Jni::DirectString*)textPtr;
+        Jni::DirectStringInput input = { str, -1 };
+
+        // CallbackAlways reports the length of the edited text, so the text is not scanned after every change
+        flags |= ImGuiInputTextFlags_CallbackAlways;
+
+        bool valueChanged;
+
+        if (multiline) {
+            valueChanged = ImGui::InputTextMultiline(label, str->Data, str->Capacity, ImVec2(width, height), flags, &Jni::DirectStringInputTextCallback, &input);
+        } else {
+            valueChanged = ImGui::InputText(label, str->Data, str->Capacity, flags, &Jni::DirectStringInputTextCallback, &input);
+        }
+
+        if (valueChanged) {
+            // Callbacks are not called only when the text is reverted by Escape, then the length is unknown
+            str->Length = input.TextLength >= 0 ? input.TextLength : (int32_t)strlen(str->Data);
+            str->Version++;
+        }
+
+        return valueChanged;
+    */
+
     public static boolean inputFloat(String label, ImFloat v) {
         return nInputFloat(label, v.getData(), 0, 0, "%.3f", ImGuiInputTextFlags.None);
     }
@@ -3536,6 +3831,14 @@ public class ImGui {
         return ImGui::TreeNode((void*)ptrId, label, NULL);
     */
 
+    public static boolean treeNode(ImLabel label) {
+        return nTreeNode(label.getData());
+    }
+
+    private static native boolean nTreeNode(ByteBuffer label); /*
+        return ImGui::TreeNode((const char*)label);
+    */
+
     public static native boolean treeNodeEx(String label); /*
         return ImGui::TreeNodeEx(label);
     */
@@ -3599,6 +3902,24 @@ public class ImGui {
         return ImGui::CollapsingHeader(label, imGuiTreeNodeFlags);
     */
 
+    /**
+     * If returning 'true' the header is open. doesn't indent nor push on ID stack. user doesn't have to call TreePop().
+     */
+    public static boolean collapsingHeader(ImLabel label) {
+        return nCollapsingHeader(label.getData(), 0);
+    }
+
+    /**
+     * If returning 'true' the header is open. doesn't indent nor push on ID stack. user doesn't have to call TreePop().
+     */
+    public static boolean collapsingHeader(ImLabel label, int imGuiTreeNodeFlags) {
+        return nCollapsingHeader(label.getData(), imGuiTreeNodeFlags);
+    }
+
+    private static native boolean nCollapsingHeader(ByteBuffer label, int imGuiTreeNodeFlags); /*
+        return ImGui::CollapsingHeader((const char*)label, imGuiTreeNodeFlags);
+    */
+
     /**
      * When 'pOpen' isn't NULL, display an additional small close button on upper right of the header
      */
@@ -3667,6 +3988,22 @@ public class ImGui {
         return ImGui::Selectable(label,  &selected[0], imGuiSelectableFlags, ImVec2(sizeX, sizeY));
     */
 
+    public static boolean selectable(ImLabel label) {
+        return nSelectable(label.getData(), false, 0);
+    }
+
+    public static boolean selectable(ImLabel label, boolean selected) {
+        return nSelectable(label.getData(), selected, 0);
+    }
+
+    public static boolean selectable(ImLabel label, boolean selected, int imGuiSelectableFlags) {
+        return nSelectable(label.getData(), selected, imGuiSelectableFlags);
+    }
+
+    private static native boolean nSelectable(ByteBuffer label, boolean selected, int imGuiSelectableFlags); /*
+        return ImGui::Selectable((const char*)label, selected, imGuiSelectableFlags);
+    */
+
     // Widgets: List Boxes
 
     public static void listBox(String label, ImInt currentItem, String[] items, int itemsCount) {
@@ -3678,15 +4015,43 @@ public class ImGui {
     }
 
     private static native boolean nListBox(String label, int[] currentItem, String[] items, int itemsCount, int heightInItems); /*
-        const char* listbox_items[itemsCount];
+        ImVector<const char*> listbox_items;
+        listbox_items.resize(itemsCount);
 
         for(int i = 0; i < itemsCount; i++) {
             jstring string = (jstring)env->GetObjectArrayElement(items, i);
-            const char *rawString = env->GetStringUTFChars(string, 0);
-            listbox_items[i] = rawString;
+            listbox_items[i] = env->GetStringUTFChars(string, 0);
+            env->DeleteLocalRef(string);
         }
 
-        return ImGui::ListBox(label, &currentItem[0], listbox_items, itemsCount, heightInItems);
+        bool result = ImGui::ListBox(label, &currentItem[0], listbox_items.Data, itemsCount, heightInItems);
+
+        for(int i = 0; i < itemsCount; i++) {
+            jstring string = (jstring)env->GetObjectArrayElement(items, i);
+            env->ReleaseStringUTFChars(string, listbox_items[i]);
+            env->DeleteLocalRef(string);
+        }
+
+        return result;
+    */
+
+    /**
+     * BINDING NOTICE: Items are stored on the native side, so they are not converted on every call. Only visible items are submitted.
+     */
+    public static boolean listBox(String label, ImInt currentItem, ImGuiItemList items) {
+        return nListBox(label, currentItem.getData(), items.ptr, -1);
+    }
+
+    /**
+     * BINDING NOTICE: Items are stored on the native side, so they are not converted on every call. Only visible items are submitted.
+     */
+    public static boolean listBox(String label, ImInt currentItem, ImGuiItemList items, int heightInItems) {
+        return nListBox(label, currentItem.getData(), items.ptr, heightInItems);
+    }
+
+    private static native boolean nListBox(String label, int[] currentItem, long itemsPtr, int heightInItems); /*
+        Jni::ItemList* list = (Jni::ItemList*)itemsPtr;
+        return ImGui::ListBox(label, &currentItem[0], Jni::ItemListGetter, list, list->Items.Size, heightInItems);
     */
 
     /**
@@ -3848,6 +4213,24 @@ public class ImGui {
         return ImGui::BeginMenu(label, enabled);
     */
 
+    /**
+     * Create a sub-menu entry. only call EndMenu() if this returns true!
+     */
+    public static boolean beginMenu(ImLabel label) {
+        return nBeginMenu(label.getData(), true);
+    }
+
+    /**
+     * Create a sub-menu entry. only call EndMenu() if this returns true!
+     */
+    public static boolean beginMenu(ImLabel label, boolean enabled) {
+        return nBeginMenu(label.getData(), enabled);
+    }
+
+    private static native boolean nBeginMenu(ByteBuffer label, boolean enabled); /*
+        return ImGui::BeginMenu((const char*)label, enabled);
+    */
+
     /**
      * Only call EndMenu() if BeginMenu() returns true!
      */
@@ -3904,6 +4287,24 @@ public class ImGui {
         return ImGui::MenuItem(label, shortcut, &pSelected[0], enabled);
     */
 
+    /**
+     * Return true when activated.
+     */
+    public static boolean menuItem(ImLabel label) {
+        return nMenuItem(label.getData(), false, true);
+    }
+
+    /**
+     * Return true when activated.
+     */
+    public static boolean menuItem(ImLabel label, boolean selected, boolean enabled) {
+        return nMenuItem(label.getData(), selected, enabled);
+    }
+
+    private static native boolean nMenuItem(ByteBuffer label, boolean selected, boolean enabled); /*
+        return ImGui::MenuItem((const char*)label, NULL, selected, enabled);
+    */
+
     // Tooltips
     // - Tooltip are windows following the mouse which do not take focus away.
 
@@ -4507,7 +4908,6 @@ public class ImGui {
     // - [BETA API] API may evolve!
     // - If you stop calling BeginDragDropSource() the payload is preserved however it won't have a preview tooltip (we currently display a fallback "..." tooltip as replacement)
 
-    private static WeakReference<Object> objectPayloadRef = null;
     private static final byte[] OBJECT_PAYLOAD_PLACEHOLDER_DATA = new byte[1];
 
     /**
@@ -4543,8 +4943,9 @@ public class ImGui {
      * Binding layer stores a reference to the object in a form of {@link WeakReference}.
      */
     public static boolean setDragDropPayloadObject(String type, Object payload, int imGuiCond) {
-        if (objectPayloadRef == null || objectPayloadRef.get() != payload) {
-            objectPayloadRef = new WeakReference<>(payload);
+        final ImGuiContext ctx = requireContext();
+        if (ctx.objectPayloadRef == null || ctx.objectPayloadRef.get() != payload) {
+            ctx.objectPayloadRef = new WeakReference<>(payload);
         }
         return setDragDropPayload(type, OBJECT_PAYLOAD_PLACEHOLDER_DATA, imGuiCond);
     }
@@ -4600,7 +5001,7 @@ public class ImGui {
      * Use in combination with {@link #setDragDropPayloadObject(String, Object)}.
      */
     public static Object acceptDragDropPayloadObject(String type, int imGuiDragDropFlags) {
-        return nAcceptDragDropPayloadObject(type, imGuiDragDropFlags) ? objectPayloadRef.get() : null;
+        return nAcceptDragDropPayloadObject(type, imGuiDragDropFlags) ? requireContext().objectPayloadRef.get() : null;
     }
 
     private static native boolean nAcceptDragDropPayloadObject(String type, int imGuiDragDropFlags); /*
@@ -4644,7 +5045,7 @@ public class ImGui {
      * Use in combination with {@link #setDragDropPayloadObject(String, Object)}.
      */
     public static Object getDragDropPayloadObject() {
-        return nGetDragDropPayloadObjectObject() ? objectPayloadRef.get() : null;
+        return nGetDragDropPayloadObjectObject() ? requireContext().objectPayloadRef.get() : null;
     }
 
     private static native boolean nGetDragDropPayloadObjectObject(); /*
@@ -4915,8 +5316,9 @@ public class ImGui {
      * This draw list will be the first rendering one. Useful to quickly draw shapes/text behind dear imgui contents.
      */
     public static ImDrawList getBackgroundDrawList() {
-        BACKGROUND_DRAW_LIST.ptr = nGetBackgroundDrawList();
-        return BACKGROUND_DRAW_LIST;
+        final ImDrawList wrapper = requireContext().backgroundDrawList;
+        wrapper.ptr = nGetBackgroundDrawList();
+        return wrapper;
     }
 
     private static native long nGetBackgroundDrawList(); /*
@@ -4928,8 +5330,9 @@ public class ImGui {
      * This draw list will be the first rendering one. Useful to quickly draw shapes/text behind dear imgui contents.
      */
     public static ImDrawList getForegroundDrawList() {
-        FOREGROUND_DRAW_LIST.ptr = nGetForegroundDrawList();
-        return FOREGROUND_DRAW_LIST;
+        final ImDrawList wrapper = requireContext().foregroundDrawList;
+        wrapper.ptr = nGetForegroundDrawList();
+        return wrapper;
     }
 
     private static native long nGetForegroundDrawList(); /*
@@ -4941,8 +5344,9 @@ public class ImGui {
      * This draw list will be the first rendering one. Useful to quickly draw shapes/text behind dear imgui contents.
      */
     public static ImDrawList getBackgroundDrawList(ImGuiViewport viewport) {
-        BACKGROUND_DRAW_LIST.ptr = nGetBackgroundDrawList(viewport.ptr);
-        return BACKGROUND_DRAW_LIST;
+        final ImDrawList wrapper = requireContext().backgroundDrawList;
+        wrapper.ptr = nGetBackgroundDrawList(viewport.ptr);
+        return wrapper;
     }
 
     private static native long nGetBackgroundDrawList(long viewportPtr); /*
@@ -4954,12 +5358,13 @@ public class ImGui {
      * This draw list will be the last rendered one. Useful to quickly draw shapes/text over dear imgui contents.
      */
     public static ImDrawList getForegroundDrawList(ImGuiViewport viewport) {
-        BACKGROUND_DRAW_LIST.ptr = nGetForegroundDrawList(viewport.ptr);
-        return BACKGROUND_DRAW_LIST;
+        final ImDrawList wrapper = requireContext().foregroundDrawList;
+        wrapper.ptr = nGetForegroundDrawList(viewport.ptr);
+        return wrapper;
     }
 
     private static native long nGetForegroundDrawList(long viewportPtr); /*
-        return (intptr_t)ImGui::GetBackgroundDrawList((ImGuiViewport*)viewportPtr);
+        return (intptr_t)ImGui::GetForegroundDrawList((ImGuiViewport*)viewportPtr);
     */
 
     // TODO GetDrawListSharedData
@@ -4983,8 +5388,9 @@ public class ImGui {
     */
 
     public static ImGuiStorage getStateStorage() {
-        IMGUI_STORAGE.ptr = nGetStateStorage();
-        return IMGUI_STORAGE;
+        final ImGuiStorage wrapper = requireContext().stateStorage;
+        wrapper.ptr = nGetStateStorage();
+        return wrapper;
     }
 
     private static native long nGetStateStorage(); /*
@@ -5431,10 +5837,11 @@ public class ImGui {
      * Platform/renderer functions, for back-end to setup + viewports list.
      */
     public static ImGuiPlatformIO getPlatformIO() {
-        if (platformIO == null) {
-            platformIO = new ImGuiPlatformIO(nGetPlatformIO());
+        final ImGuiContext ctx = requireContext();
+        if (ctx.platformIO == null) {
+            ctx.platformIO = new ImGuiPlatformIO(nGetPlatformIO());
         }
-        return platformIO;
+        return ctx.platformIO;
     }
 
     private static native long nGetPlatformIO(); /*
@@ -5445,10 +5852,11 @@ public class ImGui {
      * Main viewport. Same as GetPlatformIO().MainViewport == GetPlatformIO().Viewports[0].
      */
     public static ImGuiViewport getMainViewport() {
-        if (mainViewport == null) {
-            mainViewport = new ImGuiViewport(nGetMainViewport());
+        final ImGuiContext ctx = requireContext();
+        if (ctx.mainViewport == null) {
+            ctx.mainViewport = new ImGuiViewport(nGetMainViewport());
         }
-        return mainViewport;
+        return ctx.mainViewport;
     }
 
     private static native long nGetMainViewport(); /*
@@ -5483,8 +5891,9 @@ public class ImGui {
      * This is a helper for back-ends.
      */
     public static ImGuiViewport findViewportByID(int imGuiID) {
-        FIND_VIEWPORT.ptr = nFindViewportByID(imGuiID);
-        return FIND_VIEWPORT;
+        final ImGuiViewport wrapper = requireContext().findViewport;
+        wrapper.ptr = nFindViewportByID(imGuiID);
+        return wrapper;
     }
 
     private static native long nFindViewportByID(int imGuiID); /*
@@ -5495,8 +5904,9 @@ public class ImGui {
      * This is a helper for back-ends. The type platform_handle is decided by the back-end (e.g. HWND, MyWindow*, GLFWwindow* etc.)
      */
     public static ImGuiViewport findViewportByPlatformHandle(long platformHandle) {
-        FIND_VIEWPORT.ptr = nFindViewportByPlatformHandle(platformHandle);
-        return FIND_VIEWPORT;
+        final ImGuiViewport wrapper = requireContext().findViewport;
+        wrapper.ptr = nFindViewportByPlatformHandle(platformHandle);
+        return wrapper;
     }
 
     private static native long nFindViewportByPlatformHandle(long platformHandle); /*
@@ -0,0 +1,733 @@
+package imgui;
+
+import imgui.type.ImLabel;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Buffer to record a sequence of Dear ImGui calls on the Java side and to replay all of them with one native call.
+ * <p>
+ * Every call to the {@link ImGui} is a separate JNI transition. For big read-only views, like tables with thousands of rows,
+ * those transitions cost more than the UI itself. Record such views into the command buffer and call {@link #execute()} instead:
+ * <pre>
+ * commandBuffer.reset();
+ * for (Row row : rows) {
+ *     commandBuffer.text(row.name);
+ *     commandBuffer.nextColumn();
+ * }
+ * commandBuffer.execute();
+ * </pre>
+ * Recorded commands are kept until the {@link #reset()} call, so the same sequence could be replayed in every frame without re-recording.
+ * <p>
+ * Interactive widgets return a handle of the result, which could be read with {@link #getResult(int)} after the execution.
+ * <p>
+ * BINDING NOTICE: Strings are encoded into the buffer as UTF-8 during the recording, so there is no conversion on the native side.
+ */
+public final class ImGuiCommandBuffer {
+    private static final int DEFAULT_CAPACITY = 16 * 1024;
+
+    // Command opcodes. Should be kept in sync with the native replay code.
+    private static final int CMD_TEXT = 1;
+    private static final int CMD_TEXT_COLORED = 2;
+    private static final int CMD_TEXT_DISABLED = 3;
+    private static final int CMD_BULLET_TEXT = 4;
+    private static final int CMD_LABEL_TEXT = 5;
+    private static final int CMD_SEPARATOR = 6;
+    private static final int CMD_SAME_LINE = 7;
+    private static final int CMD_NEW_LINE = 8;
+    private static final int CMD_SPACING = 9;
+    private static final int CMD_DUMMY = 10;
+    private static final int CMD_INDENT = 11;
+    private static final int CMD_UNINDENT = 12;
+    private static final int CMD_BEGIN_GROUP = 13;
+    private static final int CMD_END_GROUP = 14;
+    private static final int CMD_COLUMNS = 15;
+    private static final int CMD_NEXT_COLUMN = 16;
+    private static final int CMD_PUSH_STYLE_COLOR = 17;
+    private static final int CMD_POP_STYLE_COLOR = 18;
+    private static final int CMD_PUSH_STYLE_VAR = 19;
+    private static final int CMD_PUSH_STYLE_VAR_VEC2 = 20;
+    private static final int CMD_POP_STYLE_VAR = 21;
+    private static final int CMD_PUSH_ID = 22;
+    private static final int CMD_POP_ID = 23;
+    private static final int CMD_PUSH_ITEM_WIDTH = 24;
+    private static final int CMD_POP_ITEM_WIDTH = 25;
+    private static final int CMD_ADD_LINE = 26;
+    private static final int CMD_ADD_RECT = 27;
+    private static final int CMD_ADD_RECT_FILLED = 28;
+    private static final int CMD_ADD_CIRCLE_FILLED = 29;
+    private static final int CMD_ADD_TEXT = 30;
+    private static final int CMD_BUTTON = 31;
+    private static final int CMD_SMALL_BUTTON = 32;
+    private static final int CMD_SELECTABLE = 33;
+    private static final int CMD_CHECKBOX = 34;
+
+    private ByteBuffer data;
+
+    public ImGuiCommandBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial capacity of the buffer in bytes, buffer grows automatically
+     */
+    public ImGuiCommandBuffer(final int capacity) {
+        data = ByteBuffer.allocateDirect(Math.max(capacity, 64)).order(ByteOrder.nativeOrder());
+    }
+
+    /*JNI
+        #include <stdint.h>
+        #include <imgui.h>
+
+        // Should be in sync with ImGuiCommandBuffer constants
+        #define CMD_TEXT 1
+        #define CMD_TEXT_COLORED 2
+        #define CMD_TEXT_DISABLED 3
+        #define CMD_BULLET_TEXT 4
+        #define CMD_LABEL_TEXT 5
+        #define CMD_SEPARATOR 6
+        #define CMD_SAME_LINE 7
+        #define CMD_NEW_LINE 8
+        #define CMD_SPACING 9
+        #define CMD_DUMMY 10
+        #define CMD_INDENT 11
+        #define CMD_UNINDENT 12
+        #define CMD_BEGIN_GROUP 13
+        #define CMD_END_GROUP 14
+        #define CMD_COLUMNS 15
+        #define CMD_NEXT_COLUMN 16
+        #define CMD_PUSH_STYLE_COLOR 17
+        #define CMD_POP_STYLE_COLOR 18
+        #define CMD_PUSH_STYLE_VAR 19
+        #define CMD_PUSH_STYLE_VAR_VEC2 20
+        #define CMD_POP_STYLE_VAR 21
+        #define CMD_PUSH_ID 22
+        #define CMD_POP_ID 23
+        #define CMD_PUSH_ITEM_WIDTH 24
+        #define CMD_POP_ITEM_WIDTH 25
+        #define CMD_ADD_LINE 26
+        #define CMD_ADD_RECT 27
+        #define CMD_ADD_RECT_FILLED 28
+        #define CMD_ADD_CIRCLE_FILLED 29
+        #define CMD_ADD_TEXT 30
+        #define CMD_BUTTON 31
+        #define CMD_SMALL_BUTTON 32
+        #define CMD_SELECTABLE 33
+        #define CMD_CHECKBOX 34
+
+        #define READ_INT(p) (*(int32_t*)(p)); p += 4
+        #define READ_FLOAT(p) (*(float*)(p)); p += 4
+        #define READ_STR(p, len) ((const char*)(p)); p += ((len) + 4) & ~3
+     */
+
+    /**
+     * Removes all recorded commands.
+     */
+    public void reset() {
+        data.clear();
+    }
+
+    /**
+     * @return size of recorded commands in bytes
+     */
+    public int size() {
+        return data.position();
+    }
+
+    /**
+     * Replays all recorded commands with one native call. Should be called in the same place where the recorded calls would be done.
+     */
+    public void execute() {
+        // Recording is pure Java, the native library is needed only for the replay
+        ImGui.init();
+        nExecute(data, data.position());
+    }
+
+    private static native void nExecute(ByteBuffer data, int size); /*
+        unsigned char* p = data;
+        unsigned char* end = data + size;
+        while (p < end) {
+            const int cmd = READ_INT(p);
+            switch (cmd) {
+                case CMD_TEXT: {
+                    const int len = READ_INT(p);
+                    const char* text = READ_STR(p, len);
+                    ImGui::TextUnformatted(text, text + len);
+                    break;
+                }
+                case CMD_TEXT_COLORED: {
+                    const int col = READ_INT(p);
+                    const int len = READ_INT(p);
+                    const char* text = READ_STR(p, len);
+                    ImGui::PushStyleColor(ImGuiCol_Text, (ImU32)col);
+                    ImGui::TextUnformatted(text, text + len);
+                    ImGui::PopStyleColor();
+                    break;
+                }
+                case CMD_TEXT_DISABLED: {
+                    const int len = READ_INT(p);
+                    const char* text = READ_STR(p, len);
+                    ImGui::PushStyleColor(ImGuiCol_Text, ImGui::GetStyle().Colors[ImGuiCol_TextDisabled]);
+                    ImGui::TextUnformatted(text, text + len);
+                    ImGui::PopStyleColor();
+                    break;
+                }
+                case CMD_BULLET_TEXT: {
+                    const int len = READ_INT(p);
+                    const char* text = READ_STR(p, len);
+                    ImGui::BulletText("%s", text);
+                    break;
+                }
+                case CMD_LABEL_TEXT: {
+                    const int labelLen = READ_INT(p);
+                    const char* label = READ_STR(p, labelLen);
+                    const int textLen = READ_INT(p);
+                    const char* text = READ_STR(p, textLen);
+                    ImGui::LabelText(label, "%s", text);
+                    break;
+                }
+                case CMD_SEPARATOR:
+                    ImGui::Separator();
+                    break;
+                case CMD_SAME_LINE: {
+                    const float offsetFromStartX = READ_FLOAT(p);
+                    const float spacing = READ_FLOAT(p);
+                    ImGui::SameLine(offsetFromStartX, spacing);
+                    break;
+                }
+                case CMD_NEW_LINE:
+                    ImGui::NewLine();
+                    break;
+                case CMD_SPACING:
+                    ImGui::Spacing();
+                    break;
+                case CMD_DUMMY: {
+                    const float width = READ_FLOAT(p);
+                    const float height = READ_FLOAT(p);
+                    ImGui::Dummy(ImVec2(width, height));
+                    break;
+                }
+                case CMD_INDENT: {
+                    const float indentW = READ_FLOAT(p);
+                    ImGui::Indent(indentW);
+                    break;
+                }
+                case CMD_UNINDENT: {
+                    const float indentW = READ_FLOAT(p);
+                    ImGui::Unindent(indentW);
+                    break;
+                }
+                case CMD_BEGIN_GROUP:
+                    ImGui::BeginGroup();
+                    break;
+                case CMD_END_GROUP:
+                    ImGui::EndGroup();
+                    break;
+                case CMD_COLUMNS: {
+                    const int count = READ_INT(p);
+                    const int border = READ_INT(p);
+                    ImGui::Columns(count, NULL, border != 0);
+                    break;
+                }
+                case CMD_NEXT_COLUMN:
+                    ImGui::NextColumn();
+                    break;
+                case CMD_PUSH_STYLE_COLOR: {
+                    const int idx = READ_INT(p);
+                    const int col = READ_INT(p);
+                    ImGui::PushStyleColor(idx, (ImU32)col);
+                    break;
+                }
+                case CMD_POP_STYLE_COLOR: {
+                    const int count = READ_INT(p);
+                    ImGui::PopStyleColor(count);
+                    break;
+                }
+                case CMD_PUSH_STYLE_VAR: {
+                    const int idx = READ_INT(p);
+                    const float val = READ_FLOAT(p);
+                    ImGui::PushStyleVar(idx, val);
+                    break;
+                }
+                case CMD_PUSH_STYLE_VAR_VEC2: {
+                    const int idx = READ_INT(p);
+                    const float valX = READ_FLOAT(p);
+                    const float valY = READ_FLOAT(p);
+                    ImGui::PushStyleVar(idx, ImVec2(valX, valY));
+                    break;
+                }
+                case CMD_POP_STYLE_VAR: {
+                    const int count = READ_INT(p);
+                    ImGui::PopStyleVar(count);
+                    break;
+                }
+                case CMD_PUSH_ID: {
+                    const int id = READ_INT(p);
+                    ImGui::PushID(id);
+                    break;
+                }
+                case CMD_POP_ID:
+                    ImGui::PopID();
+                    break;
+                case CMD_PUSH_ITEM_WIDTH: {
+                    const float itemWidth = READ_FLOAT(p);
+                    ImGui::PushItemWidth(itemWidth);
+                    break;
+                }
+                case CMD_POP_ITEM_WIDTH:
+                    ImGui::PopItemWidth();
+                    break;
+                case CMD_ADD_LINE: {
+                    const float p1X = READ_FLOAT(p);
+                    const float p1Y = READ_FLOAT(p);
+                    const float p2X = READ_FLOAT(p);
+                    const float p2Y = READ_FLOAT(p);
+                    const int col = READ_INT(p);
+                    const float thickness = READ_FLOAT(p);
+                    ImGui::GetWindowDrawList()->AddLine(ImVec2(p1X, p1Y), ImVec2(p2X, p2Y), (ImU32)col, thickness);
+                    break;
+                }
+                case CMD_ADD_RECT: {
+                    const float pMinX = READ_FLOAT(p);
+                    const float pMinY = READ_FLOAT(p);
+                    const float pMaxX = READ_FLOAT(p);
+                    const float pMaxY = READ_FLOAT(p);
+                    const int col = READ_INT(p);
+                    const float rounding = READ_FLOAT(p);
+                    const float thickness = READ_FLOAT(p);
+                    ImGui::GetWindowDrawList()->AddRect(ImVec2(pMinX, pMinY), ImVec2(pMaxX, pMaxY), (ImU32)col, rounding, ImDrawCornerFlags_All, thickness);
+                    break;
+                }
+                case CMD_ADD_RECT_FILLED: {
+                    const float pMinX = READ_FLOAT(p);
+                    const float pMinY = READ_FLOAT(p);
+                    const float pMaxX = READ_FLOAT(p);
+                    const float pMaxY = READ_FLOAT(p);
+                    const int col = READ_INT(p);
+                    const float rounding = READ_FLOAT(p);
+                    ImGui::GetWindowDrawList()->AddRectFilled(ImVec2(pMinX, pMinY), ImVec2(pMaxX, pMaxY), (ImU32)col, rounding);
+                    break;
+                }
+                case CMD_ADD_CIRCLE_FILLED: {
+                    const float centreX = READ_FLOAT(p);
+                    const float centreY = READ_FLOAT(p);
+                    const float radius = READ_FLOAT(p);
+                    const int col = READ_INT(p);
+                    const int numSegments = READ_INT(p);
+                    ImGui::GetWindowDrawList()->AddCircleFilled(ImVec2(centreX, centreY), radius, (ImU32)col, numSegments);
+                    break;
+                }
+                case CMD_ADD_TEXT: {
+                    const float posX = READ_FLOAT(p);
+                    const float posY = READ_FLOAT(p);
+                    const int col = READ_INT(p);
+                    const int len = READ_INT(p);
+                    const char* text = READ_STR(p, len);
+                    ImGui::GetWindowDrawList()->AddText(ImVec2(posX, posY), (ImU32)col, text, text + len);
+                    break;
+                }
+                case CMD_BUTTON: {
+                    int32_t* result = (int32_t*)p;
+                    p += 4;
+                    const int len = READ_INT(p);
+                    const char* label = READ_STR(p, len);
+                    *result = ImGui::Button(label) ? 1 : 0;
+                    break;
+                }
+                case CMD_SMALL_BUTTON: {
+                    int32_t* result = (int32_t*)p;
+                    p += 4;
+                    const int len = READ_INT(p);
+                    const char* label = READ_STR(p, len);
+                    *result = ImGui::SmallButton(label) ? 1 : 0;
+                    break;
+                }
+                case CMD_SELECTABLE: {
+                    int32_t* result = (int32_t*)p;
+                    p += 4;
+                    const int selected = READ_INT(p);
+                    const int len = READ_INT(p);
+                    const char* label = READ_STR(p, len);
+                    *result = ImGui::Selectable(label, selected != 0) ? 1 : 0;
+                    break;
+                }
+                case CMD_CHECKBOX: {
+                    int32_t* result = (int32_t*)p;
+                    p += 4;
+                    int32_t* active = (int32_t*)p;
+                    p += 4;
+                    const int len = READ_INT(p);
+                    const char* label = READ_STR(p, len);
+                    bool value = *active != 0;
+                    *result = ImGui::Checkbox(label, &value) ? 1 : 0;
+                    *active = value ? 1 : 0;
+                    break;
+                }
+                default:
+                    IM_ASSERT(false && "Unknown command in ImGuiCommandBuffer");
+                    return;
+            }
+        }
+    */
+
+    /**
+     * For internal usage. Recorded commands in the range [0, {@link #size()}).
+     */
+    ByteBuffer getData() {
+        return data;
+    }
+
+    /**
+     * Returns the result of the interactive widget recorded with the provided handle. Should be called after the {@link #execute()}.
+     * It's true when the widget was pressed during the last execution.
+     */
+    public boolean getResult(final int handle) {
+        return data.getInt(handle) != 0;
+    }
+
+    /**
+     * Returns the current value of the checkbox recorded with the provided handle.
+     */
+    public boolean getCheckboxValue(final int handle) {
+        return data.getInt(handle + 4) != 0;
+    }
+
+    public void text(final String text) {
+        putCmd(CMD_TEXT);
+        putString(text);
+    }
+
+    public void text(final ImLabel text) {
+        putCmd(CMD_TEXT);
+        putLabel(text);
+    }
+
+    public void textColored(final int col, final String text) {
+        putCmd(CMD_TEXT_COLORED);
+        data.putInt(col);
+        putString(text);
+    }
+
+    public void textDisabled(final String text) {
+        putCmd(CMD_TEXT_DISABLED);
+        putString(text);
+    }
+
+    public void bulletText(final String text) {
+        putCmd(CMD_BULLET_TEXT);
+        putString(text);
+    }
+
+    public void labelText(final String label, final String text) {
+        putCmd(CMD_LABEL_TEXT);
+        putString(label);
+        putString(text);
+    }
+
+    public void separator() {
+        putCmd(CMD_SEPARATOR);
+    }
+
+    public void sameLine() {
+        sameLine(0.0f, -1.0f);
+    }
+
+    public void sameLine(final float offsetFromStartX, final float spacing) {
+        putCmd(CMD_SAME_LINE);
+        data.putFloat(offsetFromStartX);
+        data.putFloat(spacing);
+    }
+
+    public void newLine() {
+        putCmd(CMD_NEW_LINE);
+    }
+
+    public void spacing() {
+        putCmd(CMD_SPACING);
+    }
+
+    public void dummy(final float width, final float height) {
+        putCmd(CMD_DUMMY);
+        data.putFloat(width);
+        data.putFloat(height);
+    }
+
+    public void indent() {
+        indent(0.0f);
+    }
+
+    public void indent(final float indentW) {
+        putCmd(CMD_INDENT);
+        data.putFloat(indentW);
+    }
+
+    public void unindent() {
+        unindent(0.0f);
+    }
+
+    public void unindent(final float indentW) {
+        putCmd(CMD_UNINDENT);
+        data.putFloat(indentW);
+    }
+
+    public void beginGroup() {
+        putCmd(CMD_BEGIN_GROUP);
+    }
+
+    public void endGroup() {
+        putCmd(CMD_END_GROUP);
+    }
+
+    public void columns(final int count, final boolean border) {
+        putCmd(CMD_COLUMNS);
+        data.putInt(count);
+        data.putInt(border ? 1 : 0);
+    }
+
+    public void nextColumn() {
+        putCmd(CMD_NEXT_COLUMN);
+    }
+
+    public void pushStyleColor(final int imGuiCol, final int col) {
+        putCmd(CMD_PUSH_STYLE_COLOR);
+        data.putInt(imGuiCol);
+        data.putInt(col);
+    }
+
+    public void popStyleColor() {
+        popStyleColor(1);
+    }
+
+    public void popStyleColor(final int count) {
+        putCmd(CMD_POP_STYLE_COLOR);
+        data.putInt(count);
+    }
+
+    public void pushStyleVar(final int imGuiStyleVar, final float val) {
+        putCmd(CMD_PUSH_STYLE_VAR);
+        data.putInt(imGuiStyleVar);
+        data.putFloat(val);
+    }
+
+    public void pushStyleVar(final int imGuiStyleVar, final float valX, final float valY) {
+        putCmd(CMD_PUSH_STYLE_VAR_VEC2);
+        data.putInt(imGuiStyleVar);
+        data.putFloat(valX);
+        data.putFloat(valY);
+    }
+
+    public void popStyleVar() {
+        popStyleVar(1);
+    }
+
+    public void popStyleVar(final int count) {
+        putCmd(CMD_POP_STYLE_VAR);
+        data.putInt(count);
+    }
+
+    public void pushID(final int intId) {
+        putCmd(CMD_PUSH_ID);
+        data.putInt(intId);
+    }
+
+    public void popID() {
+        putCmd(CMD_POP_ID);
+    }
+
+    public void pushItemWidth(final float itemWidth) {
+        putCmd(CMD_PUSH_ITEM_WIDTH);
+        data.putFloat(itemWidth);
+    }
+
+    public void popItemWidth() {
+        putCmd(CMD_POP_ITEM_WIDTH);
+    }
+
+    /**
+     * Adds a line into the current window draw list.
+     */
+    public void addLine(final float p1X, final float p1Y, final float p2X, final float p2Y, final int col, final float thickness) {
+        putCmd(CMD_ADD_LINE);
+        data.putFloat(p1X);
+        data.putFloat(p1Y);
+        data.putFloat(p2X);
+        data.putFloat(p2Y);
+        data.putInt(col);
+        data.putFloat(thickness);
+    }
+
+    /**
+     * Adds a rectangle into the current window draw list.
+     */
+    public void addRect(final float pMinX, final float pMinY, final float pMaxX, final float pMaxY, final int col, final float rounding, final float thickness) {
+        putCmd(CMD_ADD_RECT);
+        data.putFloat(pMinX);
+        data.putFloat(pMinY);
+        data.putFloat(pMaxX);
+        data.putFloat(pMaxY);
+        data.putInt(col);
+        data.putFloat(rounding);
+        data.putFloat(thickness);
+    }
+
+    /**
+     * Adds a filled rectangle into the current window draw list.
+     */
+    public void addRectFilled(final float pMinX, final float pMinY, final float pMaxX, final float pMaxY, final int col, final float rounding) {
+        putCmd(CMD_ADD_RECT_FILLED);
+        data.putFloat(pMinX);
+        data.putFloat(pMinY);
+        data.putFloat(pMaxX);
+        data.putFloat(pMaxY);
+        data.putInt(col);
+        data.putFloat(rounding);
+    }
+
+    /**
+     * Adds a filled circle into the current window draw list.
+     */
+    public void addCircleFilled(final float centreX, final float centreY, final float radius, final int col, final int numSegments) {
+        putCmd(CMD_ADD_CIRCLE_FILLED);
+        data.putFloat(centreX);
+        data.putFloat(centreY);
+        data.putFloat(radius);
+        data.putInt(col);
+        data.putInt(numSegments);
+    }
+
+    /**
+     * Adds a text into the current window draw list.
+     */
+    public void addText(final float posX, final float posY, final int col, final String text) {
+        putCmd(CMD_ADD_TEXT);
+        data.putFloat(posX);
+        data.putFloat(posY);
+        data.putInt(col);
+        putString(text);
+    }
+
+    /**
+     * @return handle of the result, see {@link #getResult(int)}
+     */
+    public int button(final String label) {
+        putCmd(CMD_BUTTON);
+        final int handle = putResult(0);
+        putString(label);
+        return handle;
+    }
+
+    /**
+     * @return handle of the result, see {@link #getResult(int)}
+     */
+    public int smallButton(final String label) {
+        putCmd(CMD_SMALL_BUTTON);
+        final int handle = putResult(0);
+        putString(label);
+        return handle;
+    }
+
+    /**
+     * @return handle of the result, see {@link #getResult(int)}
+     */
+    public int selectable(final String label, final boolean selected) {
+        putCmd(CMD_SELECTABLE);
+        final int handle = putResult(0);
+        data.putInt(selected ? 1 : 0);
+        putString(label);
+        return handle;
+    }
+
+    /**
+     * Value of the checkbox is written into the buffer. So when commands are replayed without re-recording, checkbox keeps its state.
+     *
+     * @return handle of the result, see {@link #getResult(int)} and {@link #getCheckboxValue(int)}
+     */
+    public int checkbox(final String label, final boolean active) {
+        putCmd(CMD_CHECKBOX);
+        final int handle = putResult(0);
+        data.putInt(active ? 1 : 0);
+        putString(label);
+        return handle;
+    }
+
+    private void putCmd(final int cmd) {
+        // Enough for any command without strings
+        ensureCapacity(64);
+        data.putInt(cmd);
+    }
+
+    private int putResult(final int value) {
+        final int handle = data.position();
+        data.putInt(value);
+        return handle;
+    }
+
+    // String is written as: length in bytes, UTF-8 bytes, NUL-terminator and a padding to keep the alignment of 4 bytes.
+    private void putString(final String str) {
+        // UTF-8 takes at most 3 bytes per UTF-16 char
+        ensureCapacity(4 + str.length() * 3 + 4);
+
+        final int lengthPosition = data.position();
+        data.putInt(0);
+
+        final int strLength = str.length();
+        for (int i = 0; i < strLength; i++) {
+            final char c = str.charAt(i);
+            if (c < 0x80) {
+                data.put((byte) c);
+            } else if (c < 0x800) {
+                data.put((byte) (0xC0 | (c >> 6)));
+                data.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < strLength && Character.isLowSurrogate(str.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                data.put((byte) (0xF0 | (codePoint >> 18)));
+                data.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                data.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                data.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                data.put((byte) (0xE0 | (c >> 12)));
+                data.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                data.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+
+        data.putInt(lengthPosition, data.position() - lengthPosition - 4);
+        putTerminator();
+    }
+
+    private void putLabel(final ImLabel label) {
+        final ByteBuffer labelData = label.getData();
+        // Label data already contains the NUL-terminator
+        final int length = labelData.limit() - 1;
+        ensureCapacity(4 + length + 4);
+
+        data.putInt(length);
+        for (int i = 0; i < length; i++) {
+            data.put(labelData.get(i));
+        }
+        putTerminator();
+    }
+
+    private void putTerminator() {
+        do {
+            data.put((byte) 0);
+        } while ((data.position() & 3) != 0);
+    }
+
+    private void ensureCapacity(final int required) {
+        if (data.remaining() >= required) {
+            return;
+        }
+
+        int newCapacity = data.capacity() * 2;
+        while (newCapacity - data.position() < required) {
+            newCapacity *= 2;
+        }
+
+        final ByteBuffer newData = ByteBuffer.allocateDirect(newCapacity).order(ByteOrder.nativeOrder());
+        data.flip();
+        newData.put(data);
+        data = newData;
+    }
+}
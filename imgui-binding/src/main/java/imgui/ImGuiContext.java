@@ -0,0 +1,56 @@
+package imgui;
+
+import imgui.binding.ImGuiStruct;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Handle of the Dear ImGui context. Created with {@link ImGui#createContext()} and destroyed with {@link ImGui#destroyContext(ImGuiContext)}.
+ * <p>
+ * Every context has its own windows, style, input and draw data, so several independent UIs could live in one application.
+ * Use {@link ImGui#setCurrentContext(ImGuiContext)} to switch between them. Contexts could share the same font atlas,
+ * see {@link ImGui#createContext(ImFontAtlas)}, so fonts are loaded and built only once.
+ * <p>
+ * BINDING NOTICE: Context keeps Java wrappers of its structs (IO, style, draw data etc.), so objects returned by {@link ImGui} methods,
+ * like {@link ImGui#getIO()} or {@link ImGui#getStyle()}, belong to the context which was current at the moment of the call.
+ * With the thread-local context (see {@link ImGui#isThreadLocalContext()}) different contexts could be used on different threads at the same time.
+ */
+public final class ImGuiContext extends ImGuiStruct {
+    final ImGuiIO io;
+    final ImFontAtlas sharedFontAtlas;
+
+    final ImDrawList windowDrawList = new ImDrawList(0);
+    final ImDrawList backgroundDrawList = new ImDrawList(0);
+    final ImDrawList foregroundDrawList = new ImDrawList(0);
+    final ImGuiStorage stateStorage = new ImGuiStorage(0);
+    final ImGuiViewport windowViewport = new ImGuiViewport(0);
+    final ImGuiViewport findViewport = new ImGuiViewport(0);
+
+    ImGuiStyle style;
+    ImDrawData drawData;
+    ImFont font;
+    ImGuiViewport mainViewport;
+    ImGuiPlatformIO platformIO;
+
+    WeakReference<Object> objectPayloadRef;
+
+    ImGuiContext(final long ptr, final ImFontAtlas sharedFontAtlas) {
+        super(ptr);
+        this.io = new ImGuiIO(sharedFontAtlas);
+        this.sharedFontAtlas = sharedFontAtlas;
+    }
+
+    /**
+     * @return font atlas shared with other contexts, or null if the context owns its font atlas
+     */
+    public ImFontAtlas getSharedFontAtlas() {
+        return sharedFontAtlas;
+    }
+
+    /**
+     * @return true if the context was destroyed and the handle shouldn't be used anymore
+     */
+    public boolean isDestroyed() {
+        return ptr == 0;
+    }
+}
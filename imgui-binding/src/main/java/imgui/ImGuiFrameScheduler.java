@@ -0,0 +1,195 @@
+package imgui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Builds frames of several {@link ImGuiContext} at once, every context on its own worker thread of the {@link ForkJoinPool}.
+ * Built draw data is copied into the {@link ImDrawDataTripleBuffer} of the context right after Render(),
+ * and the single render thread, which owns the graphics context, takes the latest copies:
+ * <pre>
+ * scheduler.add(ctx1, builder1);
+ * scheduler.add(ctx2, builder2);
+ * // In the UI loop:
+ * scheduler.buildFrames();
+ * // In the render loop, could run at the same time:
+ * scheduler.renderFrames(new ImGuiFrameScheduler.FrameRenderer() {
+ *     public void render(ImGuiContext ctx, ImDrawData drawData) {
+ *         imGuiGl3.renderDrawData(drawData);
+ *     }
+ * });
+ * </pre>
+ * Building and rendering don't wait for each other: the next frames are built while the previous ones are rendered.
+ * <p>
+ * Frames are built in parallel only when the native library is built with the thread-local context, see {@link ImGui#isThreadLocalContext()}.
+ * Otherwise contexts are built one by one on the calling thread, so the same code works with any native library.
+ * In that case the current context is global for all threads, so {@link #renderFrames(FrameRenderer)} SHOULD NOT be called
+ * at the same time with the {@link #buildFrames()}: the renderer could run while the current context is switched by the building thread.
+ * <p>
+ * BINDING NOTICE: Scheduler SHOULD be destroyed with the {@link #destroy()} method, when building and rendering are stopped.
+ */
+public final class ImGuiFrameScheduler {
+    /**
+     * Builds one frame of the context. Called on a worker thread, with the context set as current.
+     * Implementation SHOULD start the frame with {@link ImGui#newFrame()} (after the platform back-end update) and submit the UI.
+     * Frame is finished with the {@link ImGui#render()} by the scheduler.
+     */
+    public interface FrameBuilder {
+        void buildFrame(ImGuiContext ctx);
+    }
+
+    /**
+     * Receives built frames on the render thread.
+     */
+    public interface FrameRenderer {
+        void render(ImGuiContext ctx, ImDrawData drawData);
+    }
+
+    private final ForkJoinPool pool;
+    // Iterated by the building and the rendering threads at the same time
+    private final List<Frame> frames = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a scheduler which uses the {@link ForkJoinPool#commonPool()}.
+     */
+    public ImGuiFrameScheduler() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ImGuiFrameScheduler(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Adds a context with its builder. Frames are rendered in the order of adding.
+     */
+    public void add(final ImGuiContext ctx, final FrameBuilder builder) {
+        for (Frame frame : frames) {
+            if (frame.ctx == ctx) {
+                throw new IllegalArgumentException("Context is already added to the scheduler");
+            }
+        }
+        frames.add(new Frame(ctx, builder));
+    }
+
+    /**
+     * Removes the context and frees copies of its frames. SHOULD NOT be called while frames are being built or rendered.
+     */
+    public void remove(final ImGuiContext ctx) {
+        for (Frame frame : frames) {
+            if (frame.ctx == ctx) {
+                frames.remove(frame);
+                frame.buffer.destroy();
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return frames.size();
+    }
+
+    /**
+     * Builds frames of all added contexts and waits for their completion.
+     * If any builder throws an exception, it's rethrown after all other frames are finished.
+     * <p>
+     * Current context of the calling thread is preserved.
+     */
+    public void buildFrames() {
+        if (!ImGui.isThreadLocalContext() || frames.size() == 1) {
+            buildFramesSerially();
+            return;
+        }
+
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(frames.size());
+        for (Frame frame : frames) {
+            tasks.add(pool.submit(frame));
+        }
+
+        RuntimeException exception = null;
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.join();
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private void buildFramesSerially() {
+        final ImGuiContext prevCtx = ImGui.getCurrentContext();
+        try {
+            for (Frame frame : frames) {
+                frame.build();
+            }
+        } finally {
+            ImGui.setCurrentContext(prevCtx);
+        }
+    }
+
+    /**
+     * Passes draw data of the latest built frames to the renderer. Should be called on the render thread,
+     * could be called at the same time with the {@link #buildFrames()} only with the thread-local context, see {@link ImGui#isThreadLocalContext()}.
+     * If the context has no new frame since the previous call,
+     * its previous frame is passed again. Contexts which have no built frame yet are skipped.
+     */
+    public void renderFrames(final FrameRenderer renderer) {
+        for (Frame frame : frames) {
+            final ImDrawData drawData = frame.buffer.acquire();
+            if (drawData != null) {
+                renderer.render(frame.ctx, drawData);
+            }
+        }
+    }
+
+    /**
+     * Removes all contexts and frees copies of their frames.
+     */
+    public void destroy() {
+        for (Frame frame : frames) {
+            frame.buffer.destroy();
+        }
+        frames.clear();
+    }
+
+    private static final class Frame implements Runnable {
+        final ImGuiContext ctx;
+        final FrameBuilder builder;
+        final ImDrawDataTripleBuffer buffer = new ImDrawDataTripleBuffer();
+
+        Frame(final ImGuiContext ctx, final FrameBuilder builder) {
+            this.ctx = ctx;
+            this.builder = builder;
+        }
+
+        // Could be executed inline by the ForkJoinTask.join() on the calling thread, so its current context is restored
+        @Override
+        public void run() {
+            final ImGuiContext prevCtx = ImGui.getCurrentContext();
+            try {
+                build();
+            } finally {
+                ImGui.setCurrentContext(prevCtx);
+            }
+        }
+
+        void build() {
+            ImGui.setCurrentContext(ctx);
+            builder.buildFrame(ctx);
+            ImGui.render();
+            // Draw data of the context is valid only until its next frame, so the render thread gets a copy
+            buffer.publish(ImGui.getDrawData());
+        }
+    }
+}
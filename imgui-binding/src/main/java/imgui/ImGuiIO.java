@@ -10,7 +10,8 @@ import imgui.callback.ImStrSupplier;
 public final class ImGuiIO {
     private ImFontAtlas imFontAtlas;
 
-    ImGuiIO() {
+    ImGuiIO(final ImFontAtlas imFontAtlas) {
+        this.imFontAtlas = imFontAtlas;
     }
 
     /*JNI
@@ -432,36 +433,59 @@ public final class ImGuiIO {
     // (default to use native Win32 clipIsMouseDraggingboard on Windows, otherwise uses a private clipboard. Override to access OS clipboard on other architectures)
 
     /*JNI
-        jobject _setClipboardTextCallback = NULL;
-        jobject _getClipboardTextCallback = NULL;
-
         void setClipboardTextStub(void* userData, const char* text) {
-            Jni::CallImStrConsumer(Jni::GetEnv(), _setClipboardTextCallback, text);
+            Jni::CallImStrConsumer(Jni::GetEnv(), ((Jni::ClipboardCallbacks*)userData)->SetTextCallback, text);
         }
 
-        const char* getClipboardTextStub(void* user_data) {
+        const char* getClipboardTextStub(void* userData) {
             JNIEnv* env = Jni::GetEnv();
-            jstring jstr = Jni::CallImStrSupplier(env, _getClipboardTextCallback);
+            jstring jstr = Jni::CallImStrSupplier(env, ((Jni::ClipboardCallbacks*)userData)->GetTextCallback);
             return env->GetStringUTFChars(jstr, 0);
         }
      */
 
+    /**
+     * Pass null to remove the callback and restore the clipboard handler used by Dear ImGui before.
+     */
     public native void setSetClipboardTextFn(ImStrConsumer setClipboardTextCallback); /*
-        if (_setClipboardTextCallback != NULL) {
-            env->DeleteGlobalRef(_setClipboardTextCallback);
+        ImGuiIO& io = ImGui::GetIO();
+        Jni::ClipboardCallbacks* callbacks = Jni::GetClipboardCallbacks(io);
+        if (io.SetClipboardTextFn != setClipboardTextStub) {
+            callbacks->DefaultSetTextFn = io.SetClipboardTextFn;
+        }
+        if (callbacks->SetTextCallback != NULL) {
+            env->DeleteGlobalRef(callbacks->SetTextCallback);
+            callbacks->SetTextCallback = NULL;
         }
 
-        _setClipboardTextCallback = env->NewGlobalRef(setClipboardTextCallback);
-        ImGui::GetIO().SetClipboardTextFn = setClipboardTextStub;
+        if (setClipboardTextCallback == NULL) {
+            io.SetClipboardTextFn = callbacks->DefaultSetTextFn;
+        } else {
+            callbacks->SetTextCallback = env->NewGlobalRef(setClipboardTextCallback);
+            io.SetClipboardTextFn = setClipboardTextStub;
+        }
     */
 
+    /**
+     * Pass null to remove the callback and restore the clipboard handler used by Dear ImGui before.
+     */
     public native void setGetClipboardTextFn(ImStrSupplier getClipboardTextCallback); /*
-        if (_getClipboardTextCallback != NULL) {
-            env->DeleteGlobalRef(_getClipboardTextCallback);
+        ImGuiIO& io = ImGui::GetIO();
+        Jni::ClipboardCallbacks* callbacks = Jni::GetClipboardCallbacks(io);
+        if (io.GetClipboardTextFn != getClipboardTextStub) {
+            callbacks->DefaultGetTextFn = io.GetClipboardTextFn;
+        }
+        if (callbacks->GetTextCallback != NULL) {
+            env->DeleteGlobalRef(callbacks->GetTextCallback);
+            callbacks->GetTextCallback = NULL;
         }
 
-        _getClipboardTextCallback = env->NewGlobalRef(getClipboardTextCallback);
-        ImGui::GetIO().GetClipboardTextFn = getClipboardTextStub;
+        if (getClipboardTextCallback == NULL) {
+            io.GetClipboardTextFn = callbacks->DefaultGetTextFn;
+        } else {
+            callbacks->GetTextCallback = env->NewGlobalRef(getClipboardTextCallback);
+            io.GetClipboardTextFn = getClipboardTextStub;
+        }
     */
 
     //------------------------------------------------------------------
@@ -0,0 +1,231 @@
+package imgui;
+
+import imgui.flag.ImGuiMouseButton;
+import imgui.flag.ImGuiNavInput;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Packed input section of the {@link ImGuiIO}. A backend sets values on the Java side and uploads all of them with one native call
+ * to {@link #commit()}, instead of calling a separate {@link ImGuiIO} setter for every field:
+ * <pre>
+ * input.setDisplaySize(width, height);
+ * input.setDisplayFramebufferScale(scaleX, scaleY);
+ * input.setDeltaTime(deltaTime);
+ * input.setMouseDown(ImGuiMouseButton.Left, isLeftDown);
+ * input.commit();
+ * ImGui.newFrame();
+ * </pre>
+ * Only values set since the previous commit are uploaded, the rest of the {@link ImGuiIO} is left untouched.
+ * Mouse buttons and navigation inputs are uploaded as a whole, so the state of all of them should be kept in the instance.
+ * <p>
+ * Values are committed into the IO of the current context. See {@link ImGuiIOOutput} for the reverse direction.
+ */
+public final class ImGuiIOInput {
+    // Bits of fields set since the last commit. Should be kept in sync with the native code.
+    private static final int DISPLAY_SIZE = 1;
+    private static final int FRAMEBUFFER_SCALE = 1 << 1;
+    private static final int DELTA_TIME = 1 << 2;
+    private static final int MOUSE_POS = 1 << 3;
+    private static final int MOUSE_DOWN = 1 << 4;
+    private static final int MOUSE_WHEEL = 1 << 5;
+    private static final int KEY_MODS = 1 << 6;
+    private static final int MOUSE_HOVERED_VIEWPORT = 1 << 7;
+    private static final int NAV_INPUTS = 1 << 8;
+
+    // Layout of the packed data, every field is a 4-byte value
+    private static final int DISPLAY_SIZE_OFFSET = 0;
+    private static final int FRAMEBUFFER_SCALE_OFFSET = 8;
+    private static final int DELTA_TIME_OFFSET = 16;
+    private static final int MOUSE_POS_OFFSET = 20;
+    private static final int MOUSE_DOWN_OFFSET = 28;
+    private static final int MOUSE_WHEEL_OFFSET = 32;
+    private static final int KEY_MODS_OFFSET = 40;
+    private static final int MOUSE_HOVERED_VIEWPORT_OFFSET = 44;
+    private static final int NAV_INPUTS_OFFSET = 48;
+    private static final int SIZE = NAV_INPUTS_OFFSET + ImGuiNavInput.COUNT * 4;
+
+    private final ByteBuffer data = ByteBuffer.allocateDirect(SIZE).order(ByteOrder.nativeOrder());
+    private int dirty = 0;
+
+    public ImGuiIOInput() {
+        ImGui.init();
+    }
+
+    /*JNI
+        #include <stdint.h>
+        #include <string.h>
+        #include <imgui.h>
+
+        // Should be in sync with the ImGuiIOInput constants
+        #define INPUT_DISPLAY_SIZE (1 << 0)
+        #define INPUT_FRAMEBUFFER_SCALE (1 << 1)
+        #define INPUT_DELTA_TIME (1 << 2)
+        #define INPUT_MOUSE_POS (1 << 3)
+        #define INPUT_MOUSE_DOWN (1 << 4)
+        #define INPUT_MOUSE_WHEEL (1 << 5)
+        #define INPUT_KEY_MODS (1 << 6)
+        #define INPUT_MOUSE_HOVERED_VIEWPORT (1 << 7)
+        #define INPUT_NAV_INPUTS (1 << 8)
+
+        // Should be in sync with the layout of the ImGuiIOInput
+        struct IOInputData
+        {
+            float DisplaySize[2];
+            float FramebufferScale[2];
+            float DeltaTime;
+            float MousePos[2];
+            int32_t MouseDown;
+            float MouseWheel[2];
+            int32_t KeyMods;
+            int32_t MouseHoveredViewport;
+            float NavInputs[ImGuiNavInput_COUNT];
+        };
+     */
+
+    /**
+     * Main display size, in pixels.
+     */
+    public void setDisplaySize(final float width, final float height) {
+        data.putFloat(DISPLAY_SIZE_OFFSET, width);
+        data.putFloat(DISPLAY_SIZE_OFFSET + 4, height);
+        dirty |= DISPLAY_SIZE;
+    }
+
+    /**
+     * For retina display or other situations where window coordinates are different from framebuffer coordinates.
+     */
+    public void setDisplayFramebufferScale(final float scaleX, final float scaleY) {
+        data.putFloat(FRAMEBUFFER_SCALE_OFFSET, scaleX);
+        data.putFloat(FRAMEBUFFER_SCALE_OFFSET + 4, scaleY);
+        dirty |= FRAMEBUFFER_SCALE;
+    }
+
+    /**
+     * Time elapsed since last frame, in seconds.
+     */
+    public void setDeltaTime(final float deltaTime) {
+        data.putFloat(DELTA_TIME_OFFSET, deltaTime);
+        dirty |= DELTA_TIME;
+    }
+
+    /**
+     * Mouse position, in pixels. Set to -Float.MAX_VALUE if mouse is unavailable (on another screen, etc.)
+     */
+    public void setMousePos(final float x, final float y) {
+        data.putFloat(MOUSE_POS_OFFSET, x);
+        data.putFloat(MOUSE_POS_OFFSET + 4, y);
+        dirty |= MOUSE_POS;
+    }
+
+    /**
+     * Mouse buttons: 0=left, 1=right, 2=middle + extras. All buttons are committed together.
+     */
+    public void setMouseDown(final int button, final boolean down) {
+        if (button < 0 || button >= ImGuiMouseButton.COUNT) {
+            throw new IllegalArgumentException("Mouse button is out of range: " + button);
+        }
+        final int mask = data.getInt(MOUSE_DOWN_OFFSET);
+        data.putInt(MOUSE_DOWN_OFFSET, down ? mask | (1 << button) : mask & ~(1 << button));
+        dirty |= MOUSE_DOWN;
+    }
+
+    /**
+     * Mouse wheel: 1 unit scrolls about 5 lines text. Values replace the wheel of the IO, they are not added to it.
+     */
+    public void setMouseWheel(final float wheelH, final float wheel) {
+        data.putFloat(MOUSE_WHEEL_OFFSET, wheelH);
+        data.putFloat(MOUSE_WHEEL_OFFSET + 4, wheel);
+        dirty |= MOUSE_WHEEL;
+    }
+
+    /**
+     * Keyboard modifiers: combination of the {@link ImGuiInputQueue} MOD_* constants.
+     */
+    public void setKeyModifiers(final int modifiers) {
+        data.putInt(KEY_MODS_OFFSET, modifiers);
+        dirty |= KEY_MODS;
+    }
+
+    /**
+     * Viewport the OS mouse is hovering. Set io.BackendFlags |= ImGuiBackendFlags_HasMouseHoveredViewport if you can provide this info.
+     */
+    public void setMouseHoveredViewport(final int viewportId) {
+        data.putInt(MOUSE_HOVERED_VIEWPORT_OFFSET, viewportId);
+        dirty |= MOUSE_HOVERED_VIEWPORT;
+    }
+
+    /**
+     * Gamepad inputs, see {@link ImGuiNavInput}. All navigation inputs are committed together.
+     */
+    public void setNavInput(final int navInput, final float value) {
+        if (navInput < 0 || navInput >= ImGuiNavInput.COUNT) {
+            throw new IllegalArgumentException("Navigation input is out of range: " + navInput);
+        }
+        data.putFloat(NAV_INPUTS_OFFSET + navInput * 4, value);
+        dirty |= NAV_INPUTS;
+    }
+
+    public float getNavInput(final int navInput) {
+        return data.getFloat(NAV_INPUTS_OFFSET + navInput * 4);
+    }
+
+    /**
+     * Sets all navigation inputs to zero.
+     */
+    public void clearNavInputs() {
+        for (int i = 0; i < ImGuiNavInput.COUNT; i++) {
+            data.putFloat(NAV_INPUTS_OFFSET + i * 4, 0);
+        }
+        dirty |= NAV_INPUTS;
+    }
+
+    /**
+     * Uploads values set since the previous commit into the IO of the current context with one native call.
+     */
+    public void commit() {
+        if (dirty != 0) {
+            nCommit(data, dirty);
+            dirty = 0;
+        }
+    }
+
+    private static native void nCommit(ByteBuffer data, int dirty); /*
+        const IOInputData* input = (const IOInputData*)data;
+        ImGuiIO& io = ImGui::GetIO();
+        if (dirty & INPUT_DISPLAY_SIZE) {
+            io.DisplaySize = ImVec2(input->DisplaySize[0], input->DisplaySize[1]);
+        }
+        if (dirty & INPUT_FRAMEBUFFER_SCALE) {
+            io.DisplayFramebufferScale = ImVec2(input->FramebufferScale[0], input->FramebufferScale[1]);
+        }
+        if (dirty & INPUT_DELTA_TIME) {
+            io.DeltaTime = input->DeltaTime;
+        }
+        if (dirty & INPUT_MOUSE_POS) {
+            io.MousePos = ImVec2(input->MousePos[0], input->MousePos[1]);
+        }
+        if (dirty & INPUT_MOUSE_DOWN) {
+            for (int i = 0; i < IM_ARRAYSIZE(io.MouseDown); i++) {
+                io.MouseDown[i] = (input->MouseDown & (1 << i)) != 0;
+            }
+        }
+        if (dirty & INPUT_MOUSE_WHEEL) {
+            io.MouseWheelH = input->MouseWheel[0];
+            io.MouseWheel = input->MouseWheel[1];
+        }
+        if (dirty & INPUT_KEY_MODS) {
+            io.KeyCtrl = (input->KeyMods & 1) != 0;
+            io.KeyShift = (input->KeyMods & 2) != 0;
+            io.KeyAlt = (input->KeyMods & 4) != 0;
+            io.KeySuper = (input->KeyMods & 8) != 0;
+        }
+        if (dirty & INPUT_MOUSE_HOVERED_VIEWPORT) {
+            io.MouseHoveredViewport = (ImGuiID)input->MouseHoveredViewport;
+        }
+        if (dirty & INPUT_NAV_INPUTS) {
+            memcpy(io.NavInputs, input->NavInputs, sizeof(io.NavInputs));
+        }
+    */
+}
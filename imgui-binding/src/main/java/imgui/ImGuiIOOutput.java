@@ -0,0 +1,222 @@
+package imgui;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Packed output section of the {@link ImGuiIO}. All values are read with one native call to {@link #update()},
+ * then getters return them without any native calls:
+ * <pre>
+ * ImGui.render();
+ * output.update();
+ * if (!output.getWantCaptureMouse()) {
+ *     // Pass the mouse to the application
+ * }
+ * </pre>
+ * Values are read from the IO of the current context. See {@link ImGuiIOInput} for the reverse direction.
+ */
+public final class ImGuiIOOutput {
+    // Bits of boolean values. Should be kept in sync with the native code.
+    private static final int WANT_CAPTURE_MOUSE = 1;
+    private static final int WANT_CAPTURE_KEYBOARD = 1 << 1;
+    private static final int WANT_TEXT_INPUT = 1 << 2;
+    private static final int WANT_SET_MOUSE_POS = 1 << 3;
+    private static final int WANT_SAVE_INI_SETTINGS = 1 << 4;
+    private static final int NAV_ACTIVE = 1 << 5;
+    private static final int NAV_VISIBLE = 1 << 6;
+
+    // Layout of the packed data, every field is a 4-byte value
+    private static final int FLAGS_OFFSET = 0;
+    private static final int FRAMERATE_OFFSET = 4;
+    private static final int METRICS_RENDER_VERTICES_OFFSET = 8;
+    private static final int METRICS_RENDER_INDICES_OFFSET = 12;
+    private static final int METRICS_RENDER_WINDOWS_OFFSET = 16;
+    private static final int METRICS_ACTIVE_WINDOWS_OFFSET = 20;
+    private static final int METRICS_ACTIVE_ALLOCATIONS_OFFSET = 24;
+    private static final int MOUSE_DELTA_OFFSET = 28;
+    private static final int MOUSE_POS_OFFSET = 36;
+    private static final int SIZE = 44;
+
+    private final ByteBuffer data = ByteBuffer.allocateDirect(SIZE).order(ByteOrder.nativeOrder());
+
+    public ImGuiIOOutput() {
+        ImGui.init();
+    }
+
+    /*JNI
+        #include <stdint.h>
+        #include <imgui.h>
+
+        // Should be in sync with the ImGuiIOOutput constants
+        #define OUTPUT_WANT_CAPTURE_MOUSE (1 << 0)
+        #define OUTPUT_WANT_CAPTURE_KEYBOARD (1 << 1)
+        #define OUTPUT_WANT_TEXT_INPUT (1 << 2)
+        #define OUTPUT_WANT_SET_MOUSE_POS (1 << 3)
+        #define OUTPUT_WANT_SAVE_INI_SETTINGS (1 << 4)
+        #define OUTPUT_NAV_ACTIVE (1 << 5)
+        #define OUTPUT_NAV_VISIBLE (1 << 6)
+
+        // Should be in sync with the layout of the ImGuiIOOutput
+        struct IOOutputData
+        {
+            int32_t Flags;
+            float Framerate;
+            int32_t MetricsRenderVertices;
+            int32_t MetricsRenderIndices;
+            int32_t MetricsRenderWindows;
+            int32_t MetricsActiveWindows;
+            int32_t MetricsActiveAllocations;
+            float MouseDelta[2];
+            float MousePos[2];
+        };
+     */
+
+    /**
+     * Reads output values of the IO of the current context with one native call.
+     */
+    public void update() {
+        nUpdate(data);
+    }
+
+    private static native void nUpdate(ByteBuffer data); /*
+        IOOutputData* output = (IOOutputData*)data;
+        const ImGuiIO& io = ImGui::GetIO();
+        int32_t flags = 0;
+        if (io.WantCaptureMouse) flags |= OUTPUT_WANT_CAPTURE_MOUSE;
+        if (io.WantCaptureKeyboard) flags |= OUTPUT_WANT_CAPTURE_KEYBOARD;
+        if (io.WantTextInput) flags |= OUTPUT_WANT_TEXT_INPUT;
+        if (io.WantSetMousePos) flags |= OUTPUT_WANT_SET_MOUSE_POS;
+        if (io.WantSaveIniSettings) flags |= OUTPUT_WANT_SAVE_INI_SETTINGS;
+        if (io.NavActive) flags |= OUTPUT_NAV_ACTIVE;
+        if (io.NavVisible) flags |= OUTPUT_NAV_VISIBLE;
+        output->Flags = flags;
+        output->Framerate = io.Framerate;
+        output->MetricsRenderVertices = io.MetricsRenderVertices;
+        output->MetricsRenderIndices = io.MetricsRenderIndices;
+        output->MetricsRenderWindows = io.MetricsRenderWindows;
+        output->MetricsActiveWindows = io.MetricsActiveWindows;
+        output->MetricsActiveAllocations = io.MetricsActiveAllocations;
+        output->MouseDelta[0] = io.MouseDelta.x;
+        output->MouseDelta[1] = io.MouseDelta.y;
+        output->MousePos[0] = io.MousePos.x;
+        output->MousePos[1] = io.MousePos.y;
+    */
+
+    /**
+     * When io.WantCaptureMouse is true, imgui will use the mouse inputs, do not dispatch them to your main game/application.
+     */
+    public boolean getWantCaptureMouse() {
+        return hasFlag(WANT_CAPTURE_MOUSE);
+    }
+
+    /**
+     * When io.WantCaptureKeyboard is true, imgui will use the keyboard inputs, do not dispatch them to your main game/application.
+     */
+    public boolean getWantCaptureKeyboard() {
+        return hasFlag(WANT_CAPTURE_KEYBOARD);
+    }
+
+    /**
+     * Mobile/console: when io.WantTextInput is true, you may display an on-screen keyboard.
+     */
+    public boolean getWantTextInput() {
+        return hasFlag(WANT_TEXT_INPUT);
+    }
+
+    /**
+     * MousePos has been altered, back-end should reposition mouse on next frame. Set only when ImGuiConfigFlags_NavEnableSetMousePos flag is enabled.
+     * New position is returned by {@link #getMousePosX()} and {@link #getMousePosY()}.
+     */
+    public boolean getWantSetMousePos() {
+        return hasFlag(WANT_SET_MOUSE_POS);
+    }
+
+    /**
+     * When manual .ini load/save is active (io.IniFilename == NULL), this will be set to notify your application that you can call SaveIniSettingsToMemory().
+     */
+    public boolean getWantSaveIniSettings() {
+        return hasFlag(WANT_SAVE_INI_SETTINGS);
+    }
+
+    /**
+     * Directional navigation is currently allowed (will handle ImGuiKey_NavXXX events) = a window is focused and it doesn't use the ImGuiWindowFlags_NoNavInputs flag.
+     */
+    public boolean getNavActive() {
+        return hasFlag(NAV_ACTIVE);
+    }
+
+    /**
+     * Directional navigation is visible and allowed (will handle ImGuiKey_NavXXX events).
+     */
+    public boolean getNavVisible() {
+        return hasFlag(NAV_VISIBLE);
+    }
+
+    /**
+     * Application framerate estimation, in frame per second. Solely for convenience.
+     */
+    public float getFramerate() {
+        return data.getFloat(FRAMERATE_OFFSET);
+    }
+
+    /**
+     * Vertices output during last call to Render()
+     */
+    public int getMetricsRenderVertices() {
+        return data.getInt(METRICS_RENDER_VERTICES_OFFSET);
+    }
+
+    /**
+     * Indices output during last call to Render() = number of triangles * 3
+     */
+    public int getMetricsRenderIndices() {
+        return data.getInt(METRICS_RENDER_INDICES_OFFSET);
+    }
+
+    /**
+     * Number of visible windows
+     */
+    public int getMetricsRenderWindows() {
+        return data.getInt(METRICS_RENDER_WINDOWS_OFFSET);
+    }
+
+    /**
+     * Number of active windows
+     */
+    public int getMetricsActiveWindows() {
+        return data.getInt(METRICS_ACTIVE_WINDOWS_OFFSET);
+    }
+
+    /**
+     * Number of active allocations, updated by MemAlloc/MemFree based on current context. May be off if you have multiple imgui contexts.
+     */
+    public int getMetricsActiveAllocations() {
+        return data.getInt(METRICS_ACTIVE_ALLOCATIONS_OFFSET);
+    }
+
+    /**
+     * Mouse delta. Note that this is zero if either current or previous position are invalid (-FLT_MAX,-FLT_MAX), so a disappearing/reappearing mouse won't have a huge delta.
+     */
+    public float getMouseDeltaX() {
+        return data.getFloat(MOUSE_DELTA_OFFSET);
+    }
+
+    public float getMouseDeltaY() {
+        return data.getFloat(MOUSE_DELTA_OFFSET + 4);
+    }
+
+    /**
+     * Mouse position, in pixels.
+     */
+    public float getMousePosX() {
+        return data.getFloat(MOUSE_POS_OFFSET);
+    }
+
+    public float getMousePosY() {
+        return data.getFloat(MOUSE_POS_OFFSET + 4);
+    }
+
+    private boolean hasFlag(final int flag) {
+        return (data.getInt(FLAGS_OFFSET) & flag) != 0;
+    }
+}
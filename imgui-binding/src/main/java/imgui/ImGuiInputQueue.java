@@ -0,0 +1,303 @@
+package imgui;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free queue of input events. Platform backends add events as they arrive, then all of them are applied to the {@link ImGuiIO}
+ * of the current context with one native call to {@link #apply()}, right before the NewFrame().
+ * <p>
+ * Events could be added from any thread, e.g. from the thread which receives input from the OS, while the UI is built on another one.
+ * Events are stored in a preallocated ring buffer, so adding of events doesn't allocate. If the queue is full, new events are dropped.
+ * <p>
+ * Events are applied in the order they were added. When the trickling is enabled (default), events which would overwrite the state
+ * changed earlier in the same frame are left for the next frame: a mouse click shorter than a frame is seen as a press in one frame
+ * and a release in the next one, fast key sequences are not merged, and so on.
+ */
+public final class ImGuiInputQueue {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    // Event types and layout. Should be kept in sync with the native code.
+    private static final int EVENT_MOUSE_POS = 1;
+    private static final int EVENT_MOUSE_BUTTON = 2;
+    private static final int EVENT_MOUSE_WHEEL = 3;
+    private static final int EVENT_KEY = 4;
+    private static final int EVENT_CHAR = 5;
+    private static final int EVENT_SIZE = 16;
+
+    /**
+     * Modifiers of the key event.
+     */
+    public static final int MOD_CTRL = 1;
+    public static final int MOD_SHIFT = 1 << 1;
+    public static final int MOD_ALT = 1 << 2;
+    public static final int MOD_SUPER = 1 << 3;
+
+    private final int capacity;
+    private final int mask;
+    private final ByteBuffer data;
+
+    // Sequence of the slot tells who owns it: producer of the position "seq" (free slot) or consumer of the position "seq - 1" (published event)
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0; // Owned by the consumer
+
+    private boolean trickleEvents = true;
+    private volatile Runnable eventListener = null;
+
+    public ImGuiInputQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum amount of events waiting to be applied, rounded up to the power of two
+     */
+    public ImGuiInputQueue(final int capacity) {
+        ImGui.init();
+        if (capacity <= 0 || capacity > (1 << 24)) {
+            throw new IllegalArgumentException("Capacity of the input queue should be in range [1, 2^24]: " + capacity);
+        }
+        int roundedCapacity = 1;
+        while (roundedCapacity < capacity) {
+            roundedCapacity <<= 1;
+        }
+        this.capacity = roundedCapacity;
+        this.mask = roundedCapacity - 1;
+        this.data = ByteBuffer.allocateDirect(this.capacity * EVENT_SIZE).order(ByteOrder.nativeOrder());
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /*JNI
+        #include <stdint.h>
+        #include <string.h>
+        #include <imgui.h>
+
+        // Should be in sync with ImGuiInputQueue constants
+        #define EVENT_MOUSE_POS 1
+        #define EVENT_MOUSE_BUTTON 2
+        #define EVENT_MOUSE_WHEEL 3
+        #define EVENT_KEY 4
+        #define EVENT_CHAR 5
+        #define EVENT_STRIDE 4
+
+        static inline float IntBitsToFloat(int32_t bits) {
+            float value;
+            memcpy(&value, &bits, sizeof(float));
+            return value;
+        }
+
+        // Applies events in order. With the trickling, stops at the first event which would overwrite the state changed by previous events,
+        // the same way ImGui does it with io.ConfigInputTrickleEventQueue in newer versions. The first event is always applied.
+        static int ApplyInputEvents(const int32_t* data, int mask, int start, int count, bool trickle) {
+            ImGuiIO& io = ImGui::GetIO();
+
+            bool mouseMoved = false;
+            bool mouseWheeled = false;
+            bool keyChanged = false;
+            bool textInputted = false;
+            int mouseButtonChanged = 0;
+            bool keyChangedMask[IM_ARRAYSIZE(io.KeysDown)] = {};
+
+            for (int n = 0; n < count; n++) {
+                const int32_t* e = data + ((start + n) & mask) * EVENT_STRIDE;
+                switch (e[0]) {
+                    case EVENT_MOUSE_POS:
+                        if (trickle && (mouseButtonChanged != 0 || mouseWheeled || keyChanged || textInputted)) {
+                            return n;
+                        }
+                        io.MousePos = ImVec2(IntBitsToFloat(e[1]), IntBitsToFloat(e[2]));
+                        mouseMoved = true;
+                        break;
+                    case EVENT_MOUSE_BUTTON: {
+                        const int button = e[1];
+                        if (button < 0 || button >= IM_ARRAYSIZE(io.MouseDown)) {
+                            break;
+                        }
+                        if (trickle && ((mouseButtonChanged & (1 << button)) != 0 || mouseWheeled)) {
+                            return n;
+                        }
+                        io.MouseDown[button] = e[2] != 0;
+                        mouseButtonChanged |= 1 << button;
+                        break;
+                    }
+                    case EVENT_MOUSE_WHEEL:
+                        if (trickle && (mouseMoved || mouseButtonChanged != 0)) {
+                            return n;
+                        }
+                        io.MouseWheelH += IntBitsToFloat(e[1]);
+                        io.MouseWheel += IntBitsToFloat(e[2]);
+                        mouseWheeled = true;
+                        break;
+                    case EVENT_KEY: {
+                        const int key = e[1];
+                        const bool down = e[2] != 0;
+                        if (key >= 0 && key < IM_ARRAYSIZE(io.KeysDown) && io.KeysDown[key] != down) {
+                            if (trickle && (keyChangedMask[key] || textInputted || mouseButtonChanged != 0)) {
+                                return n;
+                            }
+                            io.KeysDown[key] = down;
+                            keyChangedMask[key] = true;
+                            keyChanged = true;
+                        }
+                        io.KeyCtrl = (e[3] & 1) != 0;
+                        io.KeyShift = (e[3] & 2) != 0;
+                        io.KeyAlt = (e[3] & 4) != 0;
+                        io.KeySuper = (e[3] & 8) != 0;
+                        break;
+                    }
+                    case EVENT_CHAR:
+                        if (trickle && (keyChanged || mouseButtonChanged != 0 || mouseMoved || mouseWheeled)) {
+                            return n;
+                        }
+                        io.AddInputCharacter((unsigned int)e[1]);
+                        textInputted = true;
+                        break;
+                }
+            }
+            return count;
+        }
+     */
+
+    /**
+     * Adds the event of the mouse movement. Position is in the coordinates of the main viewport, or absolute when viewports are enabled.
+     *
+     * @return false if the queue is full and the event was dropped
+     */
+    public boolean addMousePosEvent(final float x, final float y) {
+        return add(EVENT_MOUSE_POS, Float.floatToRawIntBits(x), Float.floatToRawIntBits(y), 0);
+    }
+
+    /**
+     * @param button one of the {@link imgui.flag.ImGuiMouseButton} values
+     * @return false if the queue is full and the event was dropped
+     */
+    public boolean addMouseButtonEvent(final int button, final boolean down) {
+        return add(EVENT_MOUSE_BUTTON, button, down ? 1 : 0, 0);
+    }
+
+    /**
+     * @return false if the queue is full and the event was dropped
+     */
+    public boolean addMouseWheelEvent(final float wheelH, final float wheel) {
+        return add(EVENT_MOUSE_WHEEL, Float.floatToRawIntBits(wheelH), Float.floatToRawIntBits(wheel), 0);
+    }
+
+    /**
+     * @param key index in the io.KeysDown array, see {@link ImGuiIO#setKeyMap(int[])}
+     * @param mods state of modifiers after the event, combination of MOD_* constants
+     * @return false if the queue is full and the event was dropped
+     */
+    public boolean addKeyEvent(final int key, final boolean down, final int mods) {
+        return add(EVENT_KEY, key, down ? 1 : 0, mods);
+    }
+
+    /**
+     * @param c Unicode code point of the typed character
+     * @return false if the queue is full and the event was dropped
+     */
+    public boolean addCharEvent(final int c) {
+        return add(EVENT_CHAR, c, 0, 0);
+    }
+
+    private boolean add(final int type, final int a, final int b, final int c) {
+        long pos = tail.get();
+        while (true) {
+            final int idx = (int) pos & mask;
+            final long diff = sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // The slot is still occupied by the event added a full cycle ago
+            } else {
+                pos = tail.get();
+            }
+        }
+
+        final int idx = (int) pos & mask;
+        final int offset = idx * EVENT_SIZE;
+        data.putInt(offset, type);
+        data.putInt(offset + 4, a);
+        data.putInt(offset + 8, b);
+        data.putInt(offset + 12, c);
+        sequences.lazySet(idx, pos + 1);
+
+        final Runnable listener = eventListener;
+        if (listener != null) {
+            listener.run();
+        }
+        return true;
+    }
+
+    /**
+     * Applies queued events to the IO of the current context with one native call. Should be called by the thread building the UI before the NewFrame().
+     * Events left because of the trickling stay in the queue for the next call.
+     *
+     * @return amount of applied events
+     */
+    public int apply() {
+        // Only the contiguous range of published events is applied, events still being written are left for the next call
+        int count = 0;
+        while (count < capacity && sequences.get((int) (head + count) & mask) == head + count + 1) {
+            count++;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        final int applied = nApply(data, mask, (int) head & mask, count, trickleEvents);
+
+        // Release applied slots for producers of the next cycle
+        for (int i = 0; i < applied; i++) {
+            final long pos = head + i;
+            sequences.lazySet((int) pos & mask, pos + capacity);
+        }
+        head += applied;
+        return applied;
+    }
+
+    private static native int nApply(ByteBuffer data, int mask, int start, int count, boolean trickle); /*
+        return ApplyInputEvents((const int32_t*)data, mask, start, count, trickle);
+    */
+
+    /**
+     * @return true if there are events waiting to be applied. Should be called by the thread building the UI.
+     */
+    public boolean hasEvents() {
+        return sequences.get((int) head & mask) == head + 1;
+    }
+
+    /**
+     * Defines whether events changing the same state in one frame should be spread over several frames. Enabled by default.
+     * When disabled, all queued events are applied at once and only the last state is seen by the UI.
+     */
+    public void setTrickleEvents(final boolean trickleEvents) {
+        this.trickleEvents = trickleEvents;
+    }
+
+    public boolean isTrickleEvents() {
+        return trickleEvents;
+    }
+
+    /**
+     * Sets the listener, which is called after every added event on the thread which added it. Pass null to remove the listener.
+     * Use it to wake up the thread building the UI, if it sleeps while there is no input. Listener SHOULD be fast and thread-safe.
+     */
+    public void setEventListener(final Runnable eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * @return maximum amount of events waiting to be applied
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,143 @@
+package imgui;
+
+import imgui.binding.ImGuiStructDestroyable;
+
+import java.util.List;
+
+/**
+ * List of items for the {@link ImGui#combo(String, imgui.type.ImInt, ImGuiItemList)} and the {@link ImGui#listBox(String, imgui.type.ImInt, ImGuiItemList)}.
+ * <p>
+ * BINDING NOTICE: Items are converted and stored on the native side once, when they are added to the list.
+ * Unlike with {@code String[]} arguments, widgets don't convert items on every call and submit only visible ones.
+ * Use it for big lists or lists which are rarely changed. List should be destroyed with the {@link #destroy()} method.
+ */
+public final class ImGuiItemList extends ImGuiStructDestroyable {
+    public ImGuiItemList() {
+        super();
+    }
+
+    public ImGuiItemList(final String[] items) {
+        this();
+        setItems(items);
+    }
+
+    public ImGuiItemList(final List<String> items) {
+        this();
+        setItems(items);
+    }
+
+    ImGuiItemList(final long ptr) {
+        super(ptr);
+    }
+
+    /*JNI
+        #include <imgui.h>
+        #include <stdint.h>
+        #include "jni_binding_struct.h"
+        #include "jni_item_list.h"
+
+        #define ITEM_LIST ((Jni::ItemList*)STRUCT_PTR)
+     */
+
+    @Override
+    protected long create() {
+        return nCreate();
+    }
+
+    private native long nCreate(); /*
+        return (intptr_t)(new Jni::ItemList());
+    */
+
+    @Override
+    public void destroy() {
+        nDestroy();
+        ptr = 0;
+    }
+
+    private native void nDestroy(); /*
+        delete ITEM_LIST;
+    */
+
+    /**
+     * Replaces all items of the list.
+     */
+    public native void setItems(String[] items); /*
+        Jni::ItemList* list = ITEM_LIST;
+        Jni::ItemListClear(list);
+        const int itemsCount = env->GetArrayLength(items);
+        list->Items.reserve(itemsCount);
+        for (int i = 0; i < itemsCount; i++) {
+            jstring item = (jstring)env->GetObjectArrayElement(items, i);
+            Jni::ItemListInsert(env, list, i, item);
+            env->DeleteLocalRef(item);
+        }
+    */
+
+    /**
+     * Replaces all items of the list.
+     */
+    public void setItems(final List<String> items) {
+        setItems(items.toArray(new String[0]));
+    }
+
+    public native int size(); /*
+        return ITEM_LIST->Items.Size;
+    */
+
+    public String get(final int idx) {
+        checkIndex(idx, size());
+        return nGet(idx);
+    }
+
+    private native String nGet(int idx); /*
+        return env->NewStringUTF(ITEM_LIST->Items[idx]);
+    */
+
+    /**
+     * Replaces the item at the index. Only this item is converted.
+     */
+    public void set(final int idx, final String item) {
+        checkIndex(idx, size());
+        nSet(idx, item);
+    }
+
+    private native void nSet(int idx, String item); /*MANUAL
+        Jni::ItemListSet(env, ITEM_LIST, idx, obj_item);
+    */
+
+    public native void add(String item); /*MANUAL
+        Jni::ItemList* list = ITEM_LIST;
+        Jni::ItemListInsert(env, list, list->Items.Size, obj_item);
+    */
+
+    /**
+     * Inserts the item before the index. Index could be equal to the size of the list to add the item to the end.
+     */
+    public void insert(final int idx, final String item) {
+        checkIndex(idx, size() + 1);
+        nInsert(idx, item);
+    }
+
+    private native void nInsert(int idx, String item); /*MANUAL
+        Jni::ItemListInsert(env, ITEM_LIST, idx, obj_item);
+    */
+
+    public void remove(final int idx) {
+        checkIndex(idx, size());
+        nRemove(idx);
+    }
+
+    private native void nRemove(int idx); /*
+        Jni::ItemListRemove(ITEM_LIST, idx);
+    */
+
+    public native void clear(); /*
+        Jni::ItemListClear(ITEM_LIST);
+    */
+
+    private static void checkIndex(final int idx, final int bound) {
+        if (idx < 0 || idx >= bound) {
+            throw new IndexOutOfBoundsException("Index " + idx + " is out of bounds [0, " + bound + ")");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package imgui;
 
+import imgui.binding.ImGuiStructDestroyable;
 import imgui.callback.ImListClipperCallback;
 
 /**
@@ -22,26 +23,110 @@ import imgui.callback.ImListClipperCallback;
  * - Clipper calculate the actual range of elements to display based on the current clipping rectangle, position the cursor before the first visible element.
  * - User code submit visible elements.
  * <p>
- * BINDING NOTICE:
- * It's impossible to implement the same API like in the original. Method {@link #forEach(int, int, ImListClipperCallback)} could be used instead.
+ * BINDING NOTICE: The same API like in the original is available. The loop runs in Java, so there are no calls from the native code to Java per item.
+ * Clipper could be kept and reused between frames, but it SHOULD be destroyed with the {@link #destroy()} method after the last {@link #end()}.
  * <pre>
- *     ImGuiListClipper.forEach(1000, new ImListClipperCallback() {
- *         public void accept(int index) {
- *             ImGui.text(String.format("line number %d", index));
+ *     final ImGuiListClipper clipper = new ImGuiListClipper();
+ *     clipper.begin(1000);
+ *     while (clipper.step()) {
+ *         for (int i = clipper.getDisplayStart(); i {@code <} clipper.getDisplayEnd(); i++) {
+ *             ImGui.text("line number " + i);
  *         }
- *     });
+ *     }
  * </pre>
+ * Method {@link #forEach(int, int, ImListClipperCallback)} could be used as well, but it calls the callback from the native code for every visible item.
+ * For items of different heights see {@link ImGuiVariableListClipper}.
  */
-public final class ImGuiListClipper {
-    private ImGuiListClipper() {
+public final class ImGuiListClipper extends ImGuiStructDestroyable {
+    public ImGuiListClipper() {
+        super();
     }
 
     /*JNI
+        #include <stdint.h>
         #include <imgui.h>
         #include "jni_callbacks.h"
+        #include "jni_binding_struct.h"
+
+        #define IM_LIST_CLIPPER ((ImGuiListClipper*)STRUCT_PTR)
+     */
+
+    @Override
+    protected long create() {
+        return nCreate();
+    }
+
+    private native long nCreate(); /*
+        return (intptr_t)(new ImGuiListClipper());
+    */
+
+    @Override
+    public void destroy() {
+        nDestroy();
+        ptr = 0;
+    }
+
+    private native void nDestroy(); /*
+        delete IM_LIST_CLIPPER;
+    */
+
+    /**
+     * Items are evenly spaced, their height is calculated automatically on the first step.
+     *
+     * @param itemsCount Use INT_MAX if you don't know how many items you have (in which case the cursor won't be advanced in the final step).
+     */
+    public void begin(final int itemsCount) {
+        begin(itemsCount, -1);
+    }
+
+    /**
+     * @param itemsCount  Use INT_MAX if you don't know how many items you have (in which case the cursor won't be advanced in the final step).
+     * @param itemsHeight Use -1.0f to be calculated automatically on first step.
+     *                    Otherwise pass in the distance between your items, typically GetTextLineHeightWithSpacing() or GetFrameHeightWithSpacing().
      */
+    public native void begin(int itemsCount, float itemsHeight); /*
+        IM_LIST_CLIPPER->Begin(itemsCount, itemsHeight);
+    */
+
+    /**
+     * Automatically called on the last call of Step() that returns false.
+     */
+    public native void end(); /*
+        IM_LIST_CLIPPER->End();
+    */
+
+    /**
+     * Call until it returns false. The DisplayStart/DisplayEnd fields will be set and you can process/draw those items.
+     */
+    public native boolean step(); /*
+        return IM_LIST_CLIPPER->Step();
+    */
+
+    /**
+     * Index of the first item to display, valid after the {@link #step()} returned true.
+     */
+    public native int getDisplayStart(); /*
+        return IM_LIST_CLIPPER->DisplayStart;
+    */
+
+    /**
+     * Index after the last item to display, valid after the {@link #step()} returned true.
+     */
+    public native int getDisplayEnd(); /*
+        return IM_LIST_CLIPPER->DisplayEnd;
+    */
+
+    public native int getItemsCount(); /*
+        return IM_LIST_CLIPPER->ItemsCount;
+    */
+
+    public native float getItemsHeight(); /*
+        return IM_LIST_CLIPPER->ItemsHeight;
+    */
 
     /**
+     * Runs the clipper loop natively and calls the callback for every visible item.
+     *
      * @param itemsCount Use -1 to ignore (you can call Begin later).
      *                   Use INT_MAX if you don't know how many items you have (in which case the cursor won't be advanced in the final step).
      * @param callback action to do in iterations
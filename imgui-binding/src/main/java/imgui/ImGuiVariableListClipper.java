@@ -0,0 +1,194 @@
+package imgui;
+
+/**
+ * Helper to manually clip large list of items, which have different heights.
+ * Works like the {@link ImGuiListClipper}, but keeps heights of all items and the prefix sum of them,
+ * so the visible range is found with the binary search, without iterating over hidden items.
+ * <pre>
+ *     final ImGuiVariableListClipper clipper = new ImGuiVariableListClipper();
+ *     clipper.setItemsCount(1000, ImGui.getTextLineHeightWithSpacing());
+ *     clipper.setItemHeight(10, ImGui.getTextLineHeightWithSpacing() * 3);
+ *     ...
+ *     clipper.begin();
+ *     while (clipper.step()) {
+ *         for (int i = clipper.getDisplayStart(); i {@code <} clipper.getDisplayEnd(); i++) {
+ *             // Draw the item "i"
+ *         }
+ *     }
+ * </pre>
+ * Height of the item is the distance between the beginning of the item and the beginning of the next one, so it should include the item spacing.
+ * Heights should be updated only when they are changed: the prefix sum is recalculated lazily starting from the first changed item.
+ * Clipper doesn't keep any native memory and doesn't need to be destroyed.
+ */
+public final class ImGuiVariableListClipper {
+    private float[] heights = new float[16];
+    // offsets[i] is the sum of heights of the items [0, i), valid up to the "validOffsets" index
+    private double[] offsets = new double[17];
+    private int itemsCount = 0;
+    private int validOffsets = 0;
+
+    private float startPosY;
+    private int displayStart;
+    private int displayEnd;
+    private boolean stepped;
+
+    /**
+     * Sets the amount of items. New items get the default height, heights of existing items are kept.
+     */
+    public void setItemsCount(final int count, final float defaultHeight) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Amount of items should not be negative: " + count);
+        }
+        ensureCapacity(count);
+        for (int i = itemsCount; i < count; i++) {
+            heights[i] = defaultHeight;
+        }
+        itemsCount = count;
+        validOffsets = Math.min(validOffsets, count);
+    }
+
+    /**
+     * Appends the item to the end of the list.
+     */
+    public void addItem(final float height) {
+        ensureCapacity(itemsCount + 1);
+        heights[itemsCount++] = height;
+    }
+
+    public void setItemHeight(final int index, final float height) {
+        checkIndex(index);
+        if (heights[index] != height) {
+            heights[index] = height;
+            validOffsets = Math.min(validOffsets, index);
+        }
+    }
+
+    public float getItemHeight(final int index) {
+        checkIndex(index);
+        return heights[index];
+    }
+
+    public int getItemsCount() {
+        return itemsCount;
+    }
+
+    /**
+     * @return distance from the beginning of the list to the beginning of the item, index could be equal to the amount of items
+     */
+    public double getItemOffset(final int index) {
+        if (index < 0 || index > itemsCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds [0, " + itemsCount + "]");
+        }
+        updateOffsets(index);
+        return offsets[index];
+    }
+
+    /**
+     * @return sum of heights of all items
+     */
+    public double getTotalHeight() {
+        return getItemOffset(itemsCount);
+    }
+
+    /**
+     * @return index of the item which contains the offset from the beginning of the list,
+     * 0 for negative offsets and the amount of items for offsets after the end of the list
+     */
+    public int findItem(final double offset) {
+        updateOffsets(itemsCount);
+        // The last item which begins at or before the offset
+        int lo = 0;
+        int hi = itemsCount;
+        while (lo < hi) {
+            final int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= offset) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Calculates the visible range of items and moves the cursor to the first visible item.
+     */
+    public void begin() {
+        startPosY = ImGui.getCursorPosY();
+        final float scrollY = ImGui.getScrollY();
+        final float windowHeight = ImGui.getWindowHeight();
+
+        final double visibleMin = scrollY - startPosY;
+        final double visibleMax = visibleMin + windowHeight;
+        displayStart = findItem(visibleMin);
+        displayEnd = findItem(visibleMax);
+        if (displayEnd < itemsCount && offsets[displayEnd] < visibleMax) {
+            displayEnd++;
+        }
+        stepped = false;
+
+        ImGui.setCursorPosY(startPosY + (float) offsets[displayStart]);
+    }
+
+    /**
+     * Returns true once, after the {@link #begin()}, so the visible range could be drawn. On the second call moves the cursor to the end of the list.
+     */
+    public boolean step() {
+        if (!stepped) {
+            stepped = true;
+            return true;
+        }
+        end();
+        return false;
+    }
+
+    /**
+     * Moves the cursor to the end of the list, so the height of the window content includes all items.
+     * Automatically called on the last call of {@link #step()}.
+     */
+    public void end() {
+        ImGui.setCursorPosY(startPosY + (float) getTotalHeight());
+    }
+
+    /**
+     * Index of the first item to display.
+     */
+    public int getDisplayStart() {
+        return displayStart;
+    }
+
+    /**
+     * Index after the last item to display.
+     */
+    public int getDisplayEnd() {
+        return displayEnd;
+    }
+
+    private void updateOffsets(final int index) {
+        for (int i = validOffsets; i < index; i++) {
+            offsets[i + 1] = offsets[i] + heights[i];
+        }
+        validOffsets = Math.max(validOffsets, index);
+    }
+
+    private void ensureCapacity(final int count) {
+        if (count > heights.length) {
+            int newCapacity = heights.length;
+            while (newCapacity < count) {
+                newCapacity += newCapacity >> 1;
+            }
+            final float[] newHeights = new float[newCapacity];
+            System.arraycopy(heights, 0, newHeights, 0, itemsCount);
+            heights = newHeights;
+            final double[] newOffsets = new double[newCapacity + 1];
+            System.arraycopy(offsets, 0, newOffsets, 0, validOffsets + 1);
+            offsets = newOffsets;
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= itemsCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds [0, " + itemsCount + ")");
+        }
+    }
+}
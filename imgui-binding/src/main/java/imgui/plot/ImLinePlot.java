@@ -0,0 +1,439 @@
+package imgui.plot;
+
+import imgui.ImDrawList;
+import imgui.ImGui;
+import imgui.flag.ImGuiCol;
+import imgui.flag.ImGuiMouseButton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Line plot for streams of samples, which could be much longer than the plot is wide. Unlike {@link ImGui#plotLines},
+ * the plot doesn't draw every sample: samples of every {@link ImPlotSeries} are decimated to a few points per column of pixels,
+ * and only the resulting geometry is added to the draw list.
+ * <pre>
+ * final ImPlotSeries series = new ImPlotSeries(1 &lt;&lt; 22);
+ * final ImLinePlot plot = new ImLinePlot().addSeries("Latency", series, 0xFF00FFFF);
+ * // Any thread
+ * series.append(value);
+ * // UI thread
+ * plot.draw("##latency", -1, 200);
+ * </pre>
+ * Mouse wheel zooms the plot around the cursor, dragging pans it, double click returns to following the latest samples.
+ * Tooltip shows minimum and maximum of samples under the cursor.
+ * <p>
+ * When there are several series with a lot of visible samples, they are decimated in parallel in the common {@link ForkJoinPool}.
+ * Drawing itself always happens on the calling thread.
+ */
+public final class ImLinePlot {
+    /**
+     * Every column of pixels shows the minimum and the maximum of its samples, calculated with the min/max pyramid of the series.
+     * Spikes are never lost and the cost doesn't depend on the amount of visible samples.
+     */
+    public static final int DECIMATION_MIN_MAX = 0;
+    /**
+     * Largest-Triangle-Three-Buckets: selects two samples per column of pixels which keep the visual shape of the series.
+     * Looks closer to the original line, but reads every visible sample.
+     */
+    public static final int DECIMATION_LTTB = 1;
+
+    private static final int PARALLEL_SAMPLES_THRESHOLD = 1 << 16;
+    private static final float ZOOM_STEP = 0.8f;
+    private static final double MIN_VIEW_WIDTH = 4;
+    private static final float DEFAULT_HEIGHT = 150;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<Entry> parallelTasks = new ArrayList<>();
+
+    private int decimation = DECIMATION_MIN_MAX;
+    private boolean parallel = true;
+
+    private boolean followLatest = true;
+    private double viewMin = 0;
+    private double viewMax = 1000;
+
+    private boolean autoFitY = true;
+    private float yMin = 0;
+    private float yMax = 1;
+
+    // Parameters of the frame being drawn, read by decimation tasks
+    private int columns;
+
+    private final float[] tooltipMinMax = new float[2];
+
+    /**
+     * Adds the series to the plot.
+     *
+     * @param color color of the line
+     */
+    public ImLinePlot addSeries(final String name, final ImPlotSeries series, final int color) {
+        entries.add(new Entry(this, name, series, color));
+        return this;
+    }
+
+    public void removeSeries(final ImPlotSeries series) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).series == series) {
+                entries.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param decimation {@link #DECIMATION_MIN_MAX} (default) or {@link #DECIMATION_LTTB}
+     */
+    public void setDecimation(final int decimation) {
+        if (decimation != DECIMATION_MIN_MAX && decimation != DECIMATION_LTTB) {
+            throw new IllegalArgumentException("Unknown decimation: " + decimation);
+        }
+        this.decimation = decimation;
+    }
+
+    public int getDecimation() {
+        return decimation;
+    }
+
+    /**
+     * Defines whether several series could be decimated in parallel. Enabled by default.
+     */
+    public void setParallel(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * When enabled (default), the plot shows the latest samples and moves with the stream. Panning of the plot disables it.
+     */
+    public void setFollowLatest(final boolean followLatest) {
+        this.followLatest = followLatest;
+    }
+
+    public boolean isFollowLatest() {
+        return followLatest;
+    }
+
+    /**
+     * Sets visible range of sample indices and stops following the latest samples.
+     */
+    public void setView(final double min, final double max) {
+        if (!(max - min >= MIN_VIEW_WIDTH)) {
+            throw new IllegalArgumentException("View should contain at least " + MIN_VIEW_WIDTH + " samples: [" + min + ", " + max + ")");
+        }
+        viewMin = min;
+        viewMax = max;
+        followLatest = false;
+    }
+
+    /**
+     * Sets amount of visible samples. When the plot follows the latest samples, the view ends at the latest sample.
+     */
+    public void setViewWidth(final double width) {
+        if (!(width >= MIN_VIEW_WIDTH)) {
+            throw new IllegalArgumentException("View should contain at least " + MIN_VIEW_WIDTH + " samples: " + width);
+        }
+        viewMin = viewMax - width;
+    }
+
+    public double getViewMin() {
+        return viewMin;
+    }
+
+    public double getViewMax() {
+        return viewMax;
+    }
+
+    /**
+     * Sets fixed range of values and disables fitting of the range to visible samples.
+     */
+    public void setYRange(final float min, final float max) {
+        yMin = min;
+        yMax = max;
+        autoFitY = false;
+    }
+
+    /**
+     * When enabled (default), the range of values is fitted to visible samples every frame.
+     */
+    public void setAutoFitY(final boolean autoFitY) {
+        this.autoFitY = autoFitY;
+    }
+
+    public boolean isAutoFitY() {
+        return autoFitY;
+    }
+
+    /**
+     * Draws the plot as an item of the current window.
+     *
+     * @param strId  id of the item
+     * @param width  width of the plot, a non-positive value uses the available width
+     * @param height height of the plot, a non-positive value uses the default height
+     * @return true if the plot is hovered
+     */
+    public boolean draw(final String strId, final float width, final float height) {
+        final float w = Math.max(1, width > 0 ? width : ImGui.getContentRegionAvailX());
+        final float h = height > 0 ? height : DEFAULT_HEIGHT;
+        ImGui.invisibleButton(strId, w, h);
+        final boolean hovered = ImGui.isItemHovered();
+        final float x0 = ImGui.getItemRectMinX();
+        final float y0 = ImGui.getItemRectMinY();
+        final float x1 = x0 + w;
+        final float y1 = y0 + h;
+
+        long latest = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            entry.first = entry.series.getFirstIndex();
+            entry.last = entry.series.getCount();
+            latest = Math.max(latest, entry.last);
+        }
+
+        handleInput(hovered, x0, w, latest);
+
+        columns = (int) w;
+        decimate();
+        if (autoFitY) {
+            fitY();
+        }
+
+        final ImDrawList drawList = ImGui.getWindowDrawList();
+        drawList.addRectFilled(x0, y0, x1, y1, ImGui.getColorU32(ImGuiCol.FrameBg));
+        drawList.pushClipRect(x0, y0, x1, y1, true);
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            final int pointsCount = entry.toPoints(x0, y0, w, h);
+            if (pointsCount >= 2) {
+                drawList.addPolyline(entry.points, 0, pointsCount, entry.color, false, 1);
+            }
+        }
+        if (hovered) {
+            final float mouseX = ImGui.getMousePosX();
+            drawList.addLine(mouseX, y0, mouseX, y1, ImGui.getColorU32(ImGuiCol.TextDisabled));
+        }
+        drawList.popClipRect();
+        drawList.addRect(x0, y0, x1, y1, ImGui.getColorU32(ImGuiCol.Border));
+
+        if (hovered) {
+            showTooltip(x0, w);
+        }
+        return hovered;
+    }
+
+    private void handleInput(final boolean hovered, final float x0, final float w, final long latest) {
+        if (hovered && ImGui.isMouseDoubleClicked(ImGuiMouseButton.Left)) {
+            followLatest = true;
+        }
+
+        if (hovered) {
+            final float wheel = ImGui.getIO().getMouseWheel();
+            if (wheel != 0) {
+                final double anchor = followLatest ? viewMax : viewMin + (ImGui.getMousePosX() - x0) / w * (viewMax - viewMin);
+                final double scale = Math.pow(ZOOM_STEP, wheel);
+                final double newWidth = Math.max(MIN_VIEW_WIDTH, (viewMax - viewMin) * scale);
+                final double ratio = (anchor - viewMin) / (viewMax - viewMin);
+                viewMin = anchor - newWidth * ratio;
+                viewMax = viewMin + newWidth;
+            }
+        }
+
+        if (ImGui.isItemActive() && ImGui.isMouseDragging(ImGuiMouseButton.Left)) {
+            final float delta = ImGui.getMouseDragDeltaX(ImGuiMouseButton.Left);
+            ImGui.resetMouseDragDelta(ImGuiMouseButton.Left);
+            if (delta != 0) {
+                final double shift = delta / w * (viewMax - viewMin);
+                viewMin -= shift;
+                viewMax -= shift;
+                followLatest = false;
+            }
+        }
+
+        if (followLatest) {
+            final double viewWidth = viewMax - viewMin;
+            viewMax = latest;
+            viewMin = latest - viewWidth;
+        }
+    }
+
+    private void decimate() {
+        long visibleSamples = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            visibleSamples += Math.max(0, Math.min(entry.last, (long) Math.ceil(viewMax)) - Math.max(entry.first, (long) Math.ceil(viewMin)));
+        }
+
+        if (parallel && entries.size() > 1 && visibleSamples > PARALLEL_SAMPLES_THRESHOLD) {
+            parallelTasks.clear();
+            parallelTasks.addAll(entries);
+            try {
+                for (final Future<Void> future : ForkJoinPool.commonPool().invokeAll(parallelTasks)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Unable to decimate series", e.getCause());
+            }
+        } else {
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).decimate();
+            }
+        }
+    }
+
+    private void fitY() {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            for (int n = 0; n < entry.valuesCount; n++) {
+                final float value = entry.values[n];
+                if (value == value) { // Not NaN
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+        }
+        if (min > max) {
+            return; // Nothing is visible, keep the previous range
+        }
+        if (min == max) {
+            min -= 0.5f;
+            max += 0.5f;
+        }
+        final float padding = (max - min) * 0.05f;
+        yMin = min - padding;
+        yMax = max + padding;
+    }
+
+    private void showTooltip(final float x0, final float w) {
+        final double samplesPerColumn = (viewMax - viewMin) / Math.max(1, columns);
+        final int column = (int) (ImGui.getMousePosX() - x0);
+        long from = (long) Math.ceil(viewMin + column * samplesPerColumn);
+        long to = (long) Math.ceil(viewMin + (column + 1) * samplesPerColumn);
+        if (to <= from) {
+            // Zoomed in closer than a sample per column
+            from = Math.round(viewMin + (ImGui.getMousePosX() - x0) / w * (viewMax - viewMin));
+            to = from + 1;
+        }
+
+        final float[] minMax = tooltipMinMax;
+        ImGui.beginTooltip();
+        ImGui.text(to - from == 1 ? "Sample " + from : "Samples [" + from + ", " + to + ")");
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            final long entryFrom = Math.max(from, entry.first);
+            final long entryTo = Math.min(to, entry.last);
+            if (entryFrom >= entryTo) {
+                continue;
+            }
+            entry.series.getMinMax(entryFrom, entryTo, minMax, 0);
+            if (minMax[0] == minMax[1]) {
+                ImGui.text(entry.name + ": " + minMax[0]);
+            } else {
+                ImGui.text(entry.name + ": " + minMax[0] + " .. " + minMax[1]);
+            }
+        }
+        ImGui.endTooltip();
+    }
+
+    private static final class Entry implements Callable<Void> {
+        private final String name;
+        private final ImPlotSeries series;
+        private final int color;
+
+        // Range of stored samples, taken once per frame
+        private long first;
+        private long last;
+
+        // Decimated samples: [min, max] pairs per column, or selected samples with their indices
+        private boolean isColumns;
+        private float[] values = new float[0];
+        private long[] indices = new long[0];
+        private int valuesCount;
+
+        private float[] points = new float[0];
+        private final ImLinePlot plot;
+
+        private Entry(final ImLinePlot plot, final String name, final ImPlotSeries series, final int color) {
+            this.plot = plot;
+            this.name = name;
+            this.series = series;
+            this.color = color;
+        }
+
+        @Override
+        public Void call() {
+            decimate();
+            return null;
+        }
+
+        private void decimate() {
+            final long from = Math.max(first, (long) Math.ceil(plot.viewMin));
+            final long to = Math.min(last, (long) Math.ceil(plot.viewMax));
+            final int maxCount = plot.columns * 2;
+            ensureCapacity(maxCount + 2);
+
+            if (from >= to) {
+                isColumns = false;
+                valuesCount = 0;
+            } else if (plot.decimation == DECIMATION_MIN_MAX && to - from > maxCount) {
+                isColumns = true;
+                valuesCount = maxCount;
+                ImPlotDecimator.minMax(series, first, last, plot.viewMin, plot.viewMax, plot.columns, values);
+            } else {
+                // LTTB keeps all samples when they fit, so it also draws raw samples of the zoomed in view.
+                // Neighbour samples out of the view are included, so the line reaches edges of the plot.
+                isColumns = false;
+                valuesCount = ImPlotDecimator.lttb(series, Math.max(first, from - 1), Math.min(last, to + 1), maxCount + 2, indices, values);
+            }
+        }
+
+        private void ensureCapacity(final int count) {
+            if (values.length < count) {
+                values = new float[count];
+                indices = new long[count];
+                points = new float[count * 2];
+            }
+        }
+
+        private int toPoints(final float x0, final float y0, final float w, final float h) {
+            final float yScale = plot.yMax != plot.yMin ? h / (plot.yMax - plot.yMin) : 0;
+            final float yBottom = y0 + h;
+            int pointsCount = 0;
+
+            if (isColumns) {
+                for (int c = 0; c < valuesCount / 2; c++) {
+                    final float min = values[c * 2];
+                    final float max = values[c * 2 + 1];
+                    if (min != min) {
+                        continue; // NaN, no samples in the column
+                    }
+                    final float x = x0 + c + 0.5f;
+                    points[pointsCount * 2] = x;
+                    points[pointsCount * 2 + 1] = yBottom - (min - plot.yMin) * yScale;
+                    pointsCount++;
+                    points[pointsCount * 2] = x;
+                    points[pointsCount * 2 + 1] = yBottom - (max - plot.yMin) * yScale;
+                    pointsCount++;
+                }
+            } else {
+                final double xScale = w / (plot.viewMax - plot.viewMin);
+                for (int n = 0; n < valuesCount; n++) {
+                    points[pointsCount * 2] = (float) (x0 + (indices[n] - plot.viewMin) * xScale);
+                    points[pointsCount * 2 + 1] = yBottom - (values[n] - plot.yMin) * yScale;
+                    pointsCount++;
+                }
+            }
+            return pointsCount;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package imgui.plot;
+
+/**
+ * Algorithms which reduce the amount of samples to the amount of pixels.
+ */
+final class ImPlotDecimator {
+    private ImPlotDecimator() {
+    }
+
+    /**
+     * Calculates minimum and maximum of samples for every column of pixels. Column "c" covers samples in the range
+     * [xMin + c * samplesPerColumn, xMin + (c + 1) * samplesPerColumn). Columns without stored samples get NaN values.
+     *
+     * @param dst array of "columns * 2" values to write [min, max] pairs into
+     */
+    static void minMax(final ImPlotSeries series, final long first, final long last, final double xMin, final double xMax, final int columns, final float[] dst) {
+        final double samplesPerColumn = (xMax - xMin) / columns;
+        for (int c = 0; c < columns; c++) {
+            final long from = Math.max(first, (long) Math.ceil(xMin + c * samplesPerColumn));
+            final long to = Math.min(last, (long) Math.ceil(xMin + (c + 1) * samplesPerColumn));
+            if (from < to) {
+                series.getMinMax(from, to, dst, c * 2);
+            } else {
+                dst[c * 2] = Float.NaN;
+                dst[c * 2 + 1] = Float.NaN;
+            }
+        }
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: selects samples which keep the visual shape of the series.
+     * The first and the last samples of the range are always selected.
+     *
+     * @param threshold maximum amount of selected samples, at least 3
+     * @param dstIndices array to write indices of selected samples into
+     * @param dstValues array to write values of selected samples into
+     * @return amount of selected samples
+     */
+    static int lttb(final ImPlotSeries series, final long from, final long to, final int threshold, final long[] dstIndices, final float[] dstValues) {
+        final long count = to - from;
+        if (count <= 0) {
+            return 0;
+        }
+        if (count <= threshold) {
+            final int n = (int) count;
+            for (int i = 0; i < n; i++) {
+                dstIndices[i] = from + i;
+                dstValues[i] = series.get(from + i);
+            }
+            return n;
+        }
+
+        // The first and the last samples have their own buckets, the rest is split between the remaining ones
+        final double bucketSize = (double) (count - 2) / (threshold - 2);
+
+        long a = from;
+        float aValue = series.get(a);
+        int selected = 0;
+        dstIndices[selected] = a;
+        dstValues[selected++] = aValue;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket is the third vertex of triangles
+            final long nextFrom = from + 1 + (long) ((bucket + 1) * bucketSize);
+            final long nextTo = Math.min(to, from + 1 + (long) ((bucket + 2) * bucketSize));
+            double avgX = 0;
+            double avgY = 0;
+            for (long i = nextFrom; i < nextTo; i++) {
+                avgX += i - from;
+                avgY += series.get(i);
+            }
+            final long nextCount = Math.max(1, nextTo - nextFrom);
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            final long rangeFrom = from + 1 + (long) (bucket * bucketSize);
+            final long rangeTo = from + 1 + (long) ((bucket + 1) * bucketSize);
+            final double ax = a - from;
+            double maxArea = -1;
+            long maxIndex = rangeFrom;
+            float maxValue = series.get(rangeFrom);
+            for (long i = rangeFrom; i < rangeTo; i++) {
+                final float value = series.get(i);
+                final double area = Math.abs((ax - avgX) * (value - aValue) - (ax - (i - from)) * (avgY - aValue));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                    maxValue = value;
+                }
+            }
+
+            dstIndices[selected] = maxIndex;
+            dstValues[selected++] = maxValue;
+            a = maxIndex;
+            aValue = maxValue;
+        }
+
+        dstIndices[selected] = to - 1;
+        dstValues[selected++] = series.get(to - 1);
+        return selected;
+    }
+}
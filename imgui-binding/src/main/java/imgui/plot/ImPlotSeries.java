@@ -0,0 +1,193 @@
+package imgui.plot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Streaming series of samples for the {@link ImLinePlot}. Samples are stored in the ring buffer outside of the JVM heap:
+ * when the series is full, new samples replace the oldest ones. Sample index is its position in the whole stream,
+ * so the index of the first appended sample is 0 and it keeps growing after the ring buffer wraps.
+ * <p>
+ * Together with samples the series keeps a min/max pyramid: every level stores minimums and maximums of blocks of samples,
+ * each level has blocks {@value #LEVEL_FACTOR} times bigger than the previous one. Min/max of any range is resolved
+ * with a few blocks of the pyramid, so the cost of the decimation doesn't depend on the amount of visible samples.
+ * <p>
+ * Samples could be appended from any thread, while the UI thread reads them. Samples which are being overwritten
+ * during the read could be seen torn, so the capacity should be a bit bigger than the amount of samples the plot shows.
+ */
+public final class ImPlotSeries {
+    /**
+     * Ratio of block sizes of the neighbour levels of the min/max pyramid.
+     */
+    public static final int LEVEL_FACTOR = 8;
+    private static final int LEVEL_SHIFT = 3;
+
+    private final int capacity;
+    private final int mask;
+    private final FloatBuffer values;
+
+    // Level "L" of the pyramid has blocks of the size 8^L samples, level 0 is the samples themselves
+    private final int levelsCount;
+    private final FloatBuffer[] levelMin;
+    private final FloatBuffer[] levelMax;
+
+    private final Object appendLock = new Object();
+    private volatile long count = 0;
+
+    /**
+     * @param capacity maximum amount of stored samples, rounded up to the power of two
+     */
+    public ImPlotSeries(final int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity of the series should be in range [1, 2^30]: " + capacity);
+        }
+        int roundedCapacity = LEVEL_FACTOR;
+        while (roundedCapacity < capacity) {
+            roundedCapacity <<= 1;
+        }
+        this.capacity = roundedCapacity;
+        this.mask = roundedCapacity - 1;
+        this.values = allocate(roundedCapacity);
+
+        int levels = 1;
+        while ((roundedCapacity >> (LEVEL_SHIFT * levels)) >= 2) {
+            levels++;
+        }
+        this.levelsCount = levels;
+        this.levelMin = new FloatBuffer[levels];
+        this.levelMax = new FloatBuffer[levels];
+        for (int level = 1; level < levels; level++) {
+            levelMin[level] = allocate(roundedCapacity >> (LEVEL_SHIFT * level));
+            levelMax[level] = allocate(roundedCapacity >> (LEVEL_SHIFT * level));
+        }
+    }
+
+    private static FloatBuffer allocate(final int count) {
+        return ByteBuffer.allocateDirect(count * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    /**
+     * Appends the sample to the end of the series. Could be called from any thread.
+     */
+    public void append(final float value) {
+        synchronized (appendLock) {
+            final long index = count;
+            put(index, value);
+            count = index + 1;
+        }
+    }
+
+    /**
+     * Appends samples to the end of the series. Could be called from any thread. Samples are published all together.
+     */
+    public void append(final float[] src, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset + length > src.length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + (offset + length) + ") is out of bounds [0, " + src.length + ")");
+        }
+        synchronized (appendLock) {
+            final long index = count;
+            for (int i = 0; i < length; i++) {
+                put(index + i, src[offset + i]);
+            }
+            count = index + length;
+        }
+    }
+
+    private void put(final long index, final float value) {
+        values.put((int) index & mask, value);
+        for (int level = 1; level < levelsCount; level++) {
+            final int shift = LEVEL_SHIFT * level;
+            final int slot = (int) (index >>> shift) & (mask >> shift);
+            if ((index & ((1L << shift) - 1)) == 0) {
+                // The first sample of the block replaces the block of the previous cycle of the ring
+                levelMin[level].put(slot, value);
+                levelMax[level].put(slot, value);
+            } else {
+                if (value < levelMin[level].get(slot)) {
+                    levelMin[level].put(slot, value);
+                }
+                if (value > levelMax[level].get(slot)) {
+                    levelMax[level].put(slot, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all samples. Should not be called concurrently with reading of the series.
+     */
+    public void clear() {
+        synchronized (appendLock) {
+            count = 0;
+        }
+    }
+
+    /**
+     * @return maximum amount of stored samples
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return total amount of appended samples, the index of the next appended sample
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return index of the oldest stored sample
+     */
+    public long getFirstIndex() {
+        return Math.max(0, count - capacity);
+    }
+
+    /**
+     * @param index index of the sample in range [{@link #getFirstIndex()}, {@link #getCount()})
+     */
+    public float get(final long index) {
+        return values.get((int) index & mask);
+    }
+
+    /**
+     * Calculates minimum and maximum of samples in the range [from, to) with the min/max pyramid.
+     * Range should be inside of the stored samples and not empty.
+     *
+     * @param dst array to write minimum and maximum into
+     */
+    public void getMinMax(final long from, final long to, final float[] dst, final int dstOffset) {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+
+        long i = from;
+        while (i < to) {
+            // The biggest block which starts at the current sample and fits the range
+            int level = 0;
+            while (level + 1 < levelsCount) {
+                final long blockSize = 1L << (LEVEL_SHIFT * (level + 1));
+                if ((i & (blockSize - 1)) != 0 || i + blockSize > to) {
+                    break;
+                }
+                level++;
+            }
+
+            if (level == 0) {
+                final float value = values.get((int) i & mask);
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                i++;
+            } else {
+                final int shift = LEVEL_SHIFT * level;
+                final int slot = (int) (i >>> shift) & (mask >> shift);
+                min = Math.min(min, levelMin[level].get(slot));
+                max = Math.max(max, levelMax[level].get(slot));
+                i += 1L << shift;
+            }
+        }
+
+        dst[dstOffset] = min;
+        dst[dstOffset + 1] = max;
+    }
+}
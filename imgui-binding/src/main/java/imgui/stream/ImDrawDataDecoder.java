@@ -0,0 +1,368 @@
+package imgui.stream;
+
+import imgui.ImDrawData;
+import imgui.ImDrawDataSnapshot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static imgui.stream.ImDrawDataEncoder.getInt;
+
+/**
+ * Decodes frames written by the {@link ImDrawDataEncoder} into the {@link ImDrawData}, which could be passed to any renderer:
+ * <pre>
+ * while (decoder.decode(socketInputStream)) {
+ *     imGuiGl3.renderDrawData(decoder.getDrawData());
+ * }
+ * </pre>
+ * Decoder keeps the previous frame, so one decoder should be used for one stream. Frames which depend on the previous frame
+ * are rejected until the first key frame is received.
+ * <p>
+ * Stream could come from an untrusted source, so every command is checked to stay inside of vertex and index buffers of its list,
+ * and every index to point to an existing vertex. Frames with 32-bit indices are rejected by the library built with 16-bit indices,
+ * if their command lists have more vertices than 16-bit indices could address.
+ * <p>
+ * BINDING NOTICE: Decoded data is stored in the {@link ImDrawDataSnapshot}, so the decoder SHOULD be destroyed with the {@link #destroy()} method.
+ * Decoded draw data has no owner viewport.
+ */
+public final class ImDrawDataDecoder {
+    /**
+     * Receiver of decoded frames. Implemented by the {@link ImDrawDataSnapshot} adapter, replaced in tests.
+     */
+    interface FrameTarget {
+        /**
+         * @return size of a single index, which is expected by the target
+         */
+        int getIdxSize();
+
+        void setCmdList(int cmdListIdx, ByteBuffer data, int cmdOffset, int cmdCount, int vtxOffset, int vtxCount, int idxOffset, int idxCount, int idxSize);
+
+        void setFrame(int cmdListsCount, float displayPosX, float displayPosY, float displaySizeX, float displaySizeY, float framebufferScaleX, float framebufferScaleY);
+    }
+
+    private final ImDrawDataSnapshot snapshot;
+    private final FrameTarget target;
+
+    // Data of command lists of the previous frame, to apply the delta encoding
+    private byte[][] listData = new byte[0][];
+    private int[] listDataSizes = new int[0];
+    private boolean hasKeyFrame = false;
+
+    private final byte[] header = new byte[ImDrawDataEncoder.HEADER_SIZE];
+    private byte[] payload = new byte[64 * 1024];
+    private byte[] rawPayload = new byte[64 * 1024];
+    private ByteBuffer nativeData = ByteBuffer.allocateDirect(64 * 1024);
+
+    private long frameCount = 0;
+
+    public ImDrawDataDecoder() {
+        final ImDrawDataSnapshot snapshotTarget = new ImDrawDataSnapshot();
+        this.snapshot = snapshotTarget;
+        this.target = new FrameTarget() {
+            @Override
+            public int getIdxSize() {
+                return ImDrawData.getSizeOfImDrawIdx();
+            }
+
+            @Override
+            public void setCmdList(final int cmdListIdx, final ByteBuffer data, final int cmdOffset, final int cmdCount,
+                                   final int vtxOffset, final int vtxCount, final int idxOffset, final int idxCount, final int idxSize) {
+                snapshotTarget.setCmdList(cmdListIdx, data, cmdOffset, cmdCount, vtxOffset, vtxCount, idxOffset, idxCount, idxSize);
+            }
+
+            @Override
+            public void setFrame(final int cmdListsCount, final float displayPosX, final float displayPosY, final float displaySizeX,
+                                 final float displaySizeY, final float framebufferScaleX, final float framebufferScaleY) {
+                snapshotTarget.setFrame(cmdListsCount, displayPosX, displayPosY, displaySizeX, displaySizeY, framebufferScaleX, framebufferScaleY);
+            }
+        };
+    }
+
+    /**
+     * Decoder which passes frames to the provided target instead of the snapshot. It has no draw data.
+     */
+    ImDrawDataDecoder(final FrameTarget target) {
+        this.snapshot = null;
+        this.target = target;
+    }
+
+    /**
+     * Reads one frame from the stream and decodes it.
+     *
+     * @return false if the stream has ended before the frame, true if the frame was decoded
+     * @throws IOException if the stream has ended in the middle of the frame or the frame is malformed
+     */
+    public boolean decode(final InputStream in) throws IOException {
+        if (!readFully(in, header, 0, header.length, true)) {
+            return false;
+        }
+
+        final int payloadSize = getInt(header, 12);
+        if (payloadSize < 0) {
+            throw new IOException("Malformed frame: negative payload size " + payloadSize);
+        }
+        if (payload.length < payloadSize) {
+            payload = new byte[payloadSize + payloadSize / 2];
+        }
+        readFully(in, payload, 0, payloadSize, false);
+
+        decodeFrame(header, 0, payload, 0, payloadSize);
+        return true;
+    }
+
+    /**
+     * Decodes a frame stored in the heap buffer, e.g. returned by the {@link ImDrawDataEncoder#encode(ImDrawData)}.
+     * Buffer position is moved to the end of the frame.
+     *
+     * @throws IOException if the frame is malformed
+     */
+    public void decode(final ByteBuffer frame) throws IOException {
+        if (!frame.hasArray()) {
+            throw new IllegalArgumentException("Frame should be stored in the heap buffer");
+        }
+        if (frame.remaining() < ImDrawDataEncoder.HEADER_SIZE) {
+            throw new IOException("Malformed frame: buffer is too small for the header");
+        }
+
+        final byte[] array = frame.array();
+        final int offset = frame.arrayOffset() + frame.position();
+        final int payloadSize = getInt(array, offset + 12);
+        if (payloadSize < 0 || frame.remaining() - ImDrawDataEncoder.HEADER_SIZE < payloadSize) {
+            throw new IOException("Malformed frame: buffer is too small for the payload");
+        }
+
+        decodeFrame(array, offset, array, offset + ImDrawDataEncoder.HEADER_SIZE, payloadSize);
+        frame.position(frame.position() + ImDrawDataEncoder.HEADER_SIZE + payloadSize);
+    }
+
+    /**
+     * Draw data of the last decoded frame. Returned instance is the same for the whole life of the decoder.
+     */
+    public ImDrawData getDrawData() {
+        if (snapshot == null) {
+            throw new IllegalStateException("Decoder has no draw data");
+        }
+        return snapshot.getDrawData();
+    }
+
+    /**
+     * @return amount of decoded frames
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public void destroy() {
+        if (snapshot != null) {
+            snapshot.destroy();
+        }
+    }
+
+    private void decodeFrame(final byte[] headerData, final int headerOff, final byte[] payloadData, final int payloadOff, final int payloadSize)
+        throws IOException {
+        if (getInt(headerData, headerOff) != ImDrawDataEncoder.MAGIC) {
+            throw new IOException("Malformed frame: wrong magic number");
+        }
+        if (headerData[headerOff + 4] != ImDrawDataEncoder.VERSION) {
+            throw new IOException("Unsupported frame version: " + headerData[headerOff + 4]);
+        }
+
+        final int flags = headerData[headerOff + 5];
+        final int idxSize = headerData[headerOff + 6];
+        final int rawPayloadSize = getInt(headerData, headerOff + 8);
+
+        if ((flags & ImDrawDataEncoder.FLAG_KEY_FRAME) != 0) {
+            hasKeyFrame = true;
+        } else if (!hasKeyFrame) {
+            throw new IOException("Frame depends on the previous frame, but no key frame was received");
+        }
+
+        try {
+            decodeFramePayload(flags, idxSize, rawPayloadSize, payloadData, payloadOff, payloadSize);
+        } catch (IOException e) {
+            // Data of the previous frame could be partially updated, so the next frame should be a key frame
+            hasKeyFrame = false;
+            throw e;
+        }
+
+        frameCount++;
+    }
+
+    private void decodeFramePayload(final int flags, final int idxSize, final int rawPayloadSize,
+                                    final byte[] payloadData, final int payloadOff, final int payloadSize) throws IOException {
+        if ((flags & ImDrawDataEncoder.FLAG_COMPRESSED) != 0) {
+            // Every byte of the LZ4 block is expanded to 255 bytes at most
+            if (rawPayloadSize < 0 || rawPayloadSize > (long) payloadSize * 255 + 16) {
+                throw new IOException("Malformed frame: wrong raw payload size " + rawPayloadSize);
+            }
+            if (rawPayload.length < rawPayloadSize) {
+                rawPayload = new byte[rawPayloadSize + rawPayloadSize / 2];
+            }
+            try {
+                Lz4.decompress(payloadData, payloadOff, payloadSize, rawPayload, 0, rawPayloadSize);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Malformed frame: " + e.getMessage(), e);
+            }
+            decodePayload(rawPayload, 0, rawPayloadSize, idxSize);
+        } else {
+            decodePayload(payloadData, payloadOff, payloadSize, idxSize);
+        }
+    }
+
+    private void decodePayload(final byte[] raw, final int offset, final int size, final int idxSize) throws IOException {
+        final int end = offset + size;
+        int pos = offset;
+
+        checkBounds(pos, 28, end);
+        final float displayPosX = Float.intBitsToFloat(getInt(raw, pos));
+        final float displayPosY = Float.intBitsToFloat(getInt(raw, pos + 4));
+        final float displaySizeX = Float.intBitsToFloat(getInt(raw, pos + 8));
+        final float displaySizeY = Float.intBitsToFloat(getInt(raw, pos + 12));
+        final float framebufferScaleX = Float.intBitsToFloat(getInt(raw, pos + 16));
+        final float framebufferScaleY = Float.intBitsToFloat(getInt(raw, pos + 20));
+        final int cmdListsCount = getInt(raw, pos + 24);
+        pos += 28;
+
+        if (cmdListsCount < 0 || cmdListsCount > end - pos) {
+            // Every command list takes at least one byte
+            throw new IOException("Malformed frame: wrong command lists count " + cmdListsCount);
+        }
+        ensureListsCapacity(cmdListsCount);
+
+        for (int n = 0; n < cmdListsCount; n++) {
+            checkBounds(pos, 1, end);
+            final int mode = raw[pos++];
+
+            if (mode == ImDrawDataEncoder.LIST_UNCHANGED) {
+                if (listData[n] == null) {
+                    throw new IOException("Malformed frame: unchanged command list " + n + " has no previous data");
+                }
+                continue; // Snapshot already has the data of the list
+            }
+
+            checkBounds(pos, 4, end);
+            final int listSize = getInt(raw, pos);
+            pos += 4;
+            checkBounds(pos, listSize, end);
+            if (listSize < ImDrawDataEncoder.LIST_DATA_HEADER_SIZE) {
+                throw new IOException("Malformed frame: command list " + n + " is too small");
+            }
+
+            if (mode == ImDrawDataEncoder.LIST_XOR) {
+                final byte[] data = listData[n];
+                if (data == null || listDataSizes[n] != listSize) {
+                    throw new IOException("Malformed frame: delta of command list " + n + " doesn't match the previous data");
+                }
+                for (int i = 0; i < listSize; i++) {
+                    data[i] ^= raw[pos + i];
+                }
+            } else if (mode == ImDrawDataEncoder.LIST_FULL) {
+                byte[] data = listData[n];
+                if (data == null || data.length < listSize) {
+                    data = new byte[listSize + listSize / 2];
+                    listData[n] = data;
+                }
+                System.arraycopy(raw, pos, data, 0, listSize);
+                listDataSizes[n] = listSize;
+            } else {
+                throw new IOException("Malformed frame: unknown command list mode " + mode);
+            }
+
+            pos += listSize;
+            setCmdList(n, idxSize);
+        }
+
+        target.setFrame(cmdListsCount, displayPosX, displayPosY, displaySizeX, displaySizeY, framebufferScaleX, framebufferScaleY);
+    }
+
+    private void setCmdList(final int cmdListIdx, final int idxSize) throws IOException {
+        final byte[] data = listData[cmdListIdx];
+        final int size = listDataSizes[cmdListIdx];
+
+        final int cmdCount = getInt(data, 0);
+        final int vtxCount = getInt(data, 4);
+        final int idxCount = getInt(data, 8);
+
+        final long cmdOffset = ImDrawDataEncoder.LIST_DATA_HEADER_SIZE;
+        final long vtxOffset = cmdOffset + (long) cmdCount * ImDrawData.SIZEOF_CMD_DATA;
+        final long idxOffset = vtxOffset + (long) vtxCount * ImDrawData.SIZEOF_IM_DRAW_VERT;
+        if (cmdCount < 0 || vtxCount < 0 || idxCount < 0 || (idxSize != 2 && idxSize != 4) || idxOffset + (long) idxCount * idxSize != size) {
+            throw new IOException("Malformed frame: wrong layout of command list " + cmdListIdx);
+        }
+        if (idxSize > target.getIdxSize() && vtxCount > 65536) {
+            // Indices would be narrowed and wrapped around
+            throw new IOException("Malformed frame: command list " + cmdListIdx + " has " + vtxCount + " vertices, which can't be addressed with "
+                + (target.getIdxSize() * 8) + "-bit indices");
+        }
+        checkCmds(cmdListIdx, data, (int) cmdOffset, cmdCount, vtxCount, (int) idxOffset, idxCount, idxSize);
+
+        if (nativeData.capacity() < size) {
+            nativeData = ByteBuffer.allocateDirect(size + size / 2);
+        }
+        nativeData.clear();
+        nativeData.put(data, 0, size);
+
+        target.setCmdList(cmdListIdx, nativeData, (int) cmdOffset, cmdCount, (int) vtxOffset, vtxCount, (int) idxOffset, idxCount, idxSize);
+    }
+
+    // Commands are rendered with glDrawElements*, so ranges out of uploaded buffers would be read past them
+    private static void checkCmds(final int cmdListIdx, final byte[] data, final int cmdOffset, final int cmdCount,
+                                  final int vtxCount, final int idxOffset, final int idxCount, final int idxSize) throws IOException {
+        for (int i = 0; i < cmdCount; i++) {
+            final int record = cmdOffset + i * ImDrawData.SIZEOF_CMD_DATA;
+            final int elemCount = getInt(data, record + ImDrawData.CMD_DATA_ELEM_COUNT_OFFSET);
+            final int cmdIdxOffset = getInt(data, record + ImDrawData.CMD_DATA_IDX_OFFSET_OFFSET);
+            final int cmdVtxOffset = getInt(data, record + ImDrawData.CMD_DATA_VTX_OFFSET_OFFSET);
+
+            if (elemCount < 0 || cmdIdxOffset < 0 || (long) cmdIdxOffset + elemCount > idxCount) {
+                throw new IOException("Malformed frame: command " + i + " of command list " + cmdListIdx + " is out of the index buffer");
+            }
+            if (cmdVtxOffset < 0 || cmdVtxOffset > vtxCount) {
+                throw new IOException("Malformed frame: command " + i + " of command list " + cmdListIdx + " is out of the vertex buffer");
+            }
+
+            final int vtxLimit = vtxCount - cmdVtxOffset;
+            for (int e = 0; e < elemCount; e++) {
+                final int pos = idxOffset + (cmdIdxOffset + e) * idxSize;
+                final long index = idxSize == 2 ? (data[pos] & 0xFF) | ((data[pos + 1] & 0xFF) << 8) : getInt(data, pos) & 0xFFFFFFFFL;
+                if (index >= vtxLimit) {
+                    throw new IOException("Malformed frame: command " + i + " of command list " + cmdListIdx + " refers to a missing vertex");
+                }
+            }
+        }
+    }
+
+    private void ensureListsCapacity(final int cmdListsCount) {
+        if (listData.length < cmdListsCount) {
+            final byte[][] newListData = new byte[cmdListsCount][];
+            final int[] newListDataSizes = new int[cmdListsCount];
+            System.arraycopy(listData, 0, newListData, 0, listData.length);
+            System.arraycopy(listDataSizes, 0, newListDataSizes, 0, listDataSizes.length);
+            listData = newListData;
+            listDataSizes = newListDataSizes;
+        }
+    }
+
+    private static void checkBounds(final int pos, final int length, final int end) throws IOException {
+        if (length < 0 || pos + length > end) {
+            throw new IOException("Malformed frame: unexpected end of payload");
+        }
+    }
+
+    private static boolean readFully(final InputStream in, final byte[] dst, final int off, final int len, final boolean allowEof) throws IOException {
+        int read = 0;
+        while (read < len) {
+            final int count = in.read(dst, off + read, len - read);
+            if (count < 0) {
+                if (allowEof && read == 0) {
+                    return false;
+                }
+                throw new EOFException("Stream has ended in the middle of the frame");
+            }
+            read += count;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,370 @@
+package imgui.stream;
+
+import imgui.ImDrawData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Encodes {@link ImDrawData} into a compact binary frame, which could be sent to another process and rendered there
+ * after decoding with the {@link ImDrawDataDecoder}. Use it to run the UI logic on a headless server and to render it on thin clients.
+ * <p>
+ * Every command list is encoded against the command list with the same index from the previous frame:
+ * <ul>
+ *     <li>unchanged list is encoded with a single byte;</li>
+ *     <li>list of the same size is encoded as a XOR with the previous one, so unchanged bytes become zeros;</li>
+ *     <li>other lists are encoded as is.</li>
+ * </ul>
+ * Frame payload is compressed with the LZ4 block format afterwards, which squeezes zeros left by the delta encoding.
+ * Key frames, which don't depend on previous frames, are written for the first frame, after {@link #reset()} and every "key frame interval" frames.
+ * <p>
+ * Frame layout (all numbers are little-endian):
+ * <pre>
+ * header:  int magic ("IMDD"), byte version, byte flags, byte index size, byte reserved, int raw payload size, int payload size
+ * payload: float displayPosX, displayPosY, displaySizeX, displaySizeY, framebufferScaleX, framebufferScaleY
+ *          int cmdListsCount
+ *          for every command list: byte mode, [int data size, data] (no data for the unchanged list)
+ * data:    int cmdCount, int vtxCount, int idxCount,
+ *          commands (records of the {@link ImDrawData#getCmdBufferData(ByteBuffer)} format), vertices, indices
+ * </pre>
+ * Vertices and indices are stored as they are in the native memory, which is little-endian on all supported platforms.
+ * <p>
+ * Encoder keeps the previous frame, so one encoder should be used for one stream.
+ */
+public final class ImDrawDataEncoder {
+    static final int MAGIC = 0x44444D49; // "IMDD"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    static final int FLAG_COMPRESSED = 1;
+    static final int FLAG_KEY_FRAME = 1 << 1;
+
+    static final int LIST_FULL = 0;
+    static final int LIST_UNCHANGED = 1;
+    static final int LIST_XOR = 2;
+
+    static final int LIST_DATA_HEADER_SIZE = 12;
+
+    private final Lz4 lz4 = new Lz4();
+
+    private boolean compression = true;
+    private int keyFrameInterval = 0;
+    private long frameCount = 0;
+    private boolean forceKeyFrame = true;
+
+    // Data of command lists of the current and the previous frames
+    private byte[][] listData = new byte[0][];
+    private int[] listDataSizes = new int[0];
+    private byte[][] prevListData = new byte[0][];
+    private int[] prevListDataSizes = new int[0];
+    private int prevCmdListsCount = 0;
+
+    private ByteBuffer cmdData = ByteBuffer.allocateDirect(ImDrawData.SIZEOF_CMD_DATA * 256).order(ByteOrder.nativeOrder());
+    private byte[] rawPayload = new byte[64 * 1024];
+    private byte[] frame = new byte[HEADER_SIZE + Lz4.maxCompressedLength(rawPayload.length)];
+
+    // Stats
+    private int lastFrameSize;
+    private int lastRawPayloadSize;
+    private long lastEncodeTimeNanos;
+
+    /**
+     * Enables the LZ4 compression of frames. Enabled by default.
+     */
+    public void setCompression(final boolean compression) {
+        this.compression = compression;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    /**
+     * Sets how often key frames are written. Clients could join the stream only from the key frame.
+     *
+     * @param keyFrameInterval amount of frames between key frames, 0 means that only the first frame is a key frame
+     */
+    public void setKeyFrameInterval(final int keyFrameInterval) {
+        if (keyFrameInterval < 0) {
+            throw new IllegalArgumentException("Key frame interval should not be negative: " + keyFrameInterval);
+        }
+        this.keyFrameInterval = keyFrameInterval;
+    }
+
+    public int getKeyFrameInterval() {
+        return keyFrameInterval;
+    }
+
+    /**
+     * Forgets the previous frame, so the next frame will be a key frame. Should be called when a new client is connected.
+     */
+    public void reset() {
+        forceKeyFrame = true;
+    }
+
+    /**
+     * Encodes draw data into a frame and writes it into the stream.
+     *
+     * @return size of the written frame in bytes
+     */
+    public int encode(final ImDrawData drawData, final OutputStream out) throws IOException {
+        final ByteBuffer encodedFrame = encode(drawData);
+        out.write(encodedFrame.array(), encodedFrame.arrayOffset(), encodedFrame.remaining());
+        return encodedFrame.remaining();
+    }
+
+    /**
+     * Encodes draw data into a frame.
+     *
+     * @return heap buffer with the frame, which is valid until the next call of the encoder
+     */
+    public ByteBuffer encode(final ImDrawData drawData) {
+        final long startTime = System.nanoTime();
+
+        final int cmdListsCount = drawData.getValid() ? drawData.getCmdListsCount() : 0;
+        ensureListsCapacity(cmdListsCount);
+        readCmdData(drawData);
+
+        int cmdPos = 0;
+        for (int n = 0; n < cmdListsCount; n++) {
+            final int cmdCount = countCmds(cmdPos, n);
+            readListData(drawData, n, cmdPos, cmdCount);
+            cmdPos += cmdCount;
+        }
+
+        return encodeFrame(startTime, cmdListsCount, ImDrawData.getSizeOfImDrawIdx(),
+            drawData.getDisplayPosX(), drawData.getDisplayPosY(), drawData.getDisplaySizeX(), drawData.getDisplaySizeY(),
+            drawData.getFramebufferScaleX(), drawData.getFramebufferScaleY());
+    }
+
+    /**
+     * Encodes command lists, which are already in the format of the frame data. Used in tests, where is no native draw data.
+     *
+     * @param lists data of command lists, every array is exactly one command list
+     */
+    ByteBuffer encode(final byte[][] lists, final int idxSize, final float displaySizeX, final float displaySizeY) {
+        final long startTime = System.nanoTime();
+
+        ensureListsCapacity(lists.length);
+        for (int n = 0; n < lists.length; n++) {
+            listData[n] = lists[n].clone();
+            listDataSizes[n] = lists[n].length;
+        }
+
+        return encodeFrame(startTime, lists.length, idxSize, 0, 0, displaySizeX, displaySizeY, 1, 1);
+    }
+
+    private ByteBuffer encodeFrame(final long startTime, final int cmdListsCount, final int idxSize,
+                                   final float displayPosX, final float displayPosY, final float displaySizeX, final float displaySizeY,
+                                   final float framebufferScaleX, final float framebufferScaleY) {
+        final boolean keyFrame = forceKeyFrame || (keyFrameInterval > 0 && frameCount % keyFrameInterval == 0);
+        forceKeyFrame = false;
+
+        int pos = 0;
+        pos = putFloat(pos, displayPosX);
+        pos = putFloat(pos, displayPosY);
+        pos = putFloat(pos, displaySizeX);
+        pos = putFloat(pos, displaySizeY);
+        pos = putFloat(pos, framebufferScaleX);
+        pos = putFloat(pos, framebufferScaleY);
+        pos = putInt(pos, cmdListsCount);
+
+        for (int n = 0; n < cmdListsCount; n++) {
+            final int size = listDataSizes[n];
+            final byte[] data = listData[n];
+            final byte[] prevData = keyFrame || n >= prevCmdListsCount ? null : prevListData[n];
+            final boolean sameSize = prevData != null && prevListDataSizes[n] == size;
+
+            if (sameSize && rangeEquals(data, prevData, size)) {
+                ensureRawPayloadCapacity(pos + 1);
+                rawPayload[pos++] = (byte) LIST_UNCHANGED;
+            } else {
+                ensureRawPayloadCapacity(pos + 5 + size);
+                rawPayload[pos++] = (byte) (sameSize ? LIST_XOR : LIST_FULL);
+                pos = putInt(pos, size);
+                if (sameSize) {
+                    for (int i = 0; i < size; i++) {
+                        rawPayload[pos + i] = (byte) (data[i] ^ prevData[i]);
+                    }
+                } else {
+                    System.arraycopy(data, 0, rawPayload, pos, size);
+                }
+                pos += size;
+            }
+        }
+
+        swapListData();
+        prevCmdListsCount = cmdListsCount;
+        final int frameSize = writeFrame(pos, keyFrame, idxSize);
+
+        frameCount++;
+        lastFrameSize = frameSize;
+        lastRawPayloadSize = pos;
+        lastEncodeTimeNanos = System.nanoTime() - startTime;
+
+        return ByteBuffer.wrap(frame, 0, frameSize);
+    }
+
+    /**
+     * @return size in bytes of the last encoded frame
+     */
+    public int getLastFrameSize() {
+        return lastFrameSize;
+    }
+
+    /**
+     * @return size in bytes of the last frame payload before the compression
+     */
+    public int getLastRawPayloadSize() {
+        return lastRawPayloadSize;
+    }
+
+    /**
+     * @return time spent to encode the last frame, without writing it into the stream
+     */
+    public long getLastEncodeTimeNanos() {
+        return lastEncodeTimeNanos;
+    }
+
+    /**
+     * @return amount of encoded frames
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    private void readCmdData(final ImDrawData drawData) {
+        final int requiredCapacity = drawData.getTotalCmdCount() * ImDrawData.SIZEOF_CMD_DATA;
+        if (cmdData.capacity() < requiredCapacity) {
+            cmdData = ByteBuffer.allocateDirect(requiredCapacity * 2).order(ByteOrder.nativeOrder());
+        }
+        drawData.getCmdBufferData(cmdData);
+    }
+
+    private int countCmds(final int firstCmd, final int cmdListIdx) {
+        final int totalCmds = cmdData.limit() / ImDrawData.SIZEOF_CMD_DATA;
+        int cmd = firstCmd;
+        while (cmd < totalCmds && cmdData.getInt(cmd * ImDrawData.SIZEOF_CMD_DATA + ImDrawData.CMD_DATA_CMD_LIST_IDX_OFFSET) == cmdListIdx) {
+            cmd++;
+        }
+        return cmd - firstCmd;
+    }
+
+    private void readListData(final ImDrawData drawData, final int cmdListIdx, final int firstCmd, final int cmdCount) {
+        final ByteBuffer vtx = drawData.getCmdListVtxBufferView(cmdListIdx);
+        final ByteBuffer idx = drawData.getCmdListIdxBufferView(cmdListIdx);
+        final int cmdBytes = cmdCount * ImDrawData.SIZEOF_CMD_DATA;
+        final int vtxBytes = vtx.remaining();
+        final int idxBytes = idx.remaining();
+        final int size = LIST_DATA_HEADER_SIZE + cmdBytes + vtxBytes + idxBytes;
+
+        byte[] data = listData[cmdListIdx];
+        if (data == null || data.length < size) {
+            data = new byte[size + size / 2];
+            listData[cmdListIdx] = data;
+        }
+
+        putInt(data, 0, cmdCount);
+        putInt(data, 4, vtxBytes / ImDrawData.SIZEOF_IM_DRAW_VERT);
+        putInt(data, 8, idxBytes / ImDrawData.getSizeOfImDrawIdx());
+
+        int pos = LIST_DATA_HEADER_SIZE;
+        final int cmdInts = cmdBytes / Integer.BYTES;
+        final int cmdStart = firstCmd * ImDrawData.SIZEOF_CMD_DATA;
+        for (int i = 0; i < cmdInts; i++) {
+            putInt(data, pos, cmdData.getInt(cmdStart + i * Integer.BYTES));
+            pos += Integer.BYTES;
+        }
+
+        vtx.get(data, pos, vtxBytes);
+        pos += vtxBytes;
+        idx.get(data, pos, idxBytes);
+
+        listDataSizes[cmdListIdx] = size;
+    }
+
+    private int writeFrame(final int rawPayloadSize, final boolean keyFrame, final int idxSize) {
+        final int maxFrameSize = HEADER_SIZE + (compression ? Lz4.maxCompressedLength(rawPayloadSize) : rawPayloadSize);
+        if (frame.length < maxFrameSize) {
+            frame = new byte[maxFrameSize + maxFrameSize / 2];
+        }
+
+        final int payloadSize;
+        if (compression) {
+            payloadSize = lz4.compress(rawPayload, 0, rawPayloadSize, frame, HEADER_SIZE);
+        } else {
+            System.arraycopy(rawPayload, 0, frame, HEADER_SIZE, rawPayloadSize);
+            payloadSize = rawPayloadSize;
+        }
+
+        final int flags = (compression ? FLAG_COMPRESSED : 0) | (keyFrame ? FLAG_KEY_FRAME : 0);
+        putInt(frame, 0, MAGIC);
+        frame[4] = (byte) VERSION;
+        frame[5] = (byte) flags;
+        frame[6] = (byte) idxSize;
+        frame[7] = 0;
+        putInt(frame, 8, rawPayloadSize);
+        putInt(frame, 12, payloadSize);
+
+        return HEADER_SIZE + payloadSize;
+    }
+
+    private void ensureListsCapacity(final int cmdListsCount) {
+        if (listData.length < cmdListsCount) {
+            final byte[][] newListData = new byte[cmdListsCount][];
+            System.arraycopy(listData, 0, newListData, 0, listData.length);
+            listData = newListData;
+            listDataSizes = new int[cmdListsCount];
+        }
+    }
+
+    // Current frame becomes the previous one, arrays of the previous frame are reused for the next frame
+    private void swapListData() {
+        final byte[][] tmpData = prevListData;
+        final int[] tmpSizes = prevListDataSizes;
+        prevListData = listData;
+        prevListDataSizes = listDataSizes;
+        listData = tmpData;
+        listDataSizes = tmpSizes;
+    }
+
+    private void ensureRawPayloadCapacity(final int capacity) {
+        if (rawPayload.length < capacity) {
+            final byte[] newRawPayload = new byte[capacity + capacity / 2];
+            System.arraycopy(rawPayload, 0, newRawPayload, 0, rawPayload.length);
+            rawPayload = newRawPayload;
+        }
+    }
+
+    private int putInt(final int pos, final int value) {
+        ensureRawPayloadCapacity(pos + Integer.BYTES);
+        return putInt(rawPayload, pos, value);
+    }
+
+    private int putFloat(final int pos, final float value) {
+        return putInt(pos, Float.floatToRawIntBits(value));
+    }
+
+    static int putInt(final byte[] dst, final int pos, final int value) {
+        dst[pos] = (byte) value;
+        dst[pos + 1] = (byte) (value >>> 8);
+        dst[pos + 2] = (byte) (value >>> 16);
+        dst[pos + 3] = (byte) (value >>> 24);
+        return pos + Integer.BYTES;
+    }
+
+    static int getInt(final byte[] src, final int pos) {
+        return (src[pos] & 0xFF) | ((src[pos + 1] & 0xFF) << 8) | ((src[pos + 2] & 0xFF) << 16) | ((src[pos + 3] & 0xFF) << 24);
+    }
+
+    private static boolean rangeEquals(final byte[] a, final byte[] b, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
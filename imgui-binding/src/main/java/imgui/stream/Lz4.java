@@ -0,0 +1,219 @@
+package imgui.stream;
+
+import java.util.Arrays;
+
+/**
+ * Compressor and decompressor of the LZ4 block format. Compression is greedy with a single hash table,
+ * which is the same approach as the LZ4 "fast" mode: it's cheap enough to be done for every frame.
+ * <p>
+ * Instances keep the hash table between calls and are not thread-safe.
+ */
+final class Lz4 {
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int HASH_LOG = 14;
+    private static final int ML_MASK = 0x0F;
+    private static final int RUN_MASK = 0x0F;
+
+    private final int[] hashTable = new int[1 << HASH_LOG];
+
+    static int maxCompressedLength(final int srcLength) {
+        return srcLength + srcLength / 255 + 16;
+    }
+
+    /**
+     * @param dst array with at least {@link #maxCompressedLength(int)} bytes after the offset
+     * @return amount of written bytes
+     */
+    int compress(final byte[] src, final int srcOff, final int srcLen, final byte[] dst, final int dstOff) {
+        final int srcEnd = srcOff + srcLen;
+        final int matchLimit = srcEnd - LAST_LITERALS;
+        final int ipLimit = srcEnd - MF_LIMIT;
+
+        int ip = srcOff;
+        int anchor = srcOff;
+        int op = dstOff;
+
+        if (srcLen >= MF_LIMIT + 1) {
+            Arrays.fill(hashTable, -1);
+
+            while (ip < ipLimit) {
+                final int sequence = readInt(src, ip);
+                final int h = hash(sequence);
+                int ref = hashTable[h];
+                hashTable[h] = ip;
+
+                if (ref < srcOff || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                    ip++;
+                    continue;
+                }
+
+                // Extend the match backwards over not yet emitted literals
+                while (ip > anchor && ref > srcOff && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+
+                int matchLen = MIN_MATCH;
+                while (ip + matchLen < matchLimit && src[ip + matchLen] == src[ref + matchLen]) {
+                    matchLen++;
+                }
+
+                op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLen, dst, op);
+
+                ip += matchLen;
+                anchor = ip;
+            }
+        }
+
+        return writeLastLiterals(src, anchor, srcEnd - anchor, dst, op) - dstOff;
+    }
+
+    /**
+     * @param dstLen exact size of the decompressed data
+     * @throws IllegalArgumentException when the compressed data is malformed
+     */
+    static void decompress(final byte[] src, final int srcOff, final int srcLen, final byte[] dst, final int dstOff, final int dstLen) {
+        final int srcEnd = srcOff + srcLen;
+        final int dstEnd = dstOff + dstLen;
+
+        int ip = srcOff;
+        int op = dstOff;
+
+        while (true) {
+            if (ip >= srcEnd) {
+                throw new IllegalArgumentException("Malformed LZ4 data: unexpected end of input");
+            }
+
+            final int token = src[ip++] & 0xFF;
+
+            int literalLen = token >>> 4;
+            if (literalLen == RUN_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd) {
+                        throw new IllegalArgumentException("Malformed LZ4 data: unexpected end of input");
+                    }
+                    b = src[ip++] & 0xFF;
+                    literalLen += b;
+                } while (b == 255);
+            }
+
+            if (literalLen > srcEnd - ip || literalLen > dstEnd - op) {
+                throw new IllegalArgumentException("Malformed LZ4 data: literals are out of bounds");
+            }
+            System.arraycopy(src, ip, dst, op, literalLen);
+            ip += literalLen;
+            op += literalLen;
+
+            if (ip == srcEnd) {
+                break;
+            }
+
+            if (srcEnd - ip < 2) {
+                throw new IllegalArgumentException("Malformed LZ4 data: unexpected end of input");
+            }
+            final int offset = (src[ip] & 0xFF) | ((src[ip + 1] & 0xFF) << 8);
+            ip += 2;
+            if (offset == 0 || offset > op - dstOff) {
+                throw new IllegalArgumentException("Malformed LZ4 data: invalid match offset " + offset);
+            }
+
+            int matchLen = token & ML_MASK;
+            if (matchLen == ML_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd) {
+                        throw new IllegalArgumentException("Malformed LZ4 data: unexpected end of input");
+                    }
+                    b = src[ip++] & 0xFF;
+                    matchLen += b;
+                } while (b == 255);
+            }
+            matchLen += MIN_MATCH;
+
+            if (matchLen > dstEnd - op) {
+                throw new IllegalArgumentException("Malformed LZ4 data: match is out of bounds");
+            }
+
+            final int ref = op - offset;
+            if (offset >= matchLen) {
+                System.arraycopy(dst, ref, dst, op, matchLen);
+            } else {
+                // Overlapping match repeats the last "offset" bytes
+                for (int i = 0; i < matchLen; i++) {
+                    dst[op + i] = dst[ref + i];
+                }
+            }
+            op += matchLen;
+        }
+
+        if (op != dstEnd) {
+            throw new IllegalArgumentException("Malformed LZ4 data: decompressed size " + (op - dstOff) + " != " + dstLen);
+        }
+    }
+
+    private static int writeSequence(final byte[] src, final int literalOff, final int literalLen, final int offset, final int matchLen,
+                                     final byte[] dst, final int dstOff) {
+        int op = dstOff;
+        final int tokenPos = op++;
+
+        int token;
+        if (literalLen >= RUN_MASK) {
+            token = RUN_MASK << 4;
+            op = writeLength(literalLen - RUN_MASK, dst, op);
+        } else {
+            token = literalLen << 4;
+        }
+
+        System.arraycopy(src, literalOff, dst, op, literalLen);
+        op += literalLen;
+
+        dst[op++] = (byte) offset;
+        dst[op++] = (byte) (offset >>> 8);
+
+        final int ml = matchLen - MIN_MATCH;
+        if (ml >= ML_MASK) {
+            token |= ML_MASK;
+            op = writeLength(ml - ML_MASK, dst, op);
+        } else {
+            token |= ml;
+        }
+
+        dst[tokenPos] = (byte) token;
+        return op;
+    }
+
+    private static int writeLastLiterals(final byte[] src, final int literalOff, final int literalLen, final byte[] dst, final int dstOff) {
+        int op = dstOff;
+        if (literalLen >= RUN_MASK) {
+            dst[op++] = (byte) (RUN_MASK << 4);
+            op = writeLength(literalLen - RUN_MASK, dst, op);
+        } else {
+            dst[op++] = (byte) (literalLen << 4);
+        }
+        System.arraycopy(src, literalOff, dst, op, literalLen);
+        return op + literalLen;
+    }
+
+    private static int writeLength(final int length, final byte[] dst, final int dstOff) {
+        int op = dstOff;
+        int len = length;
+        while (len >= 255) {
+            dst[op++] = (byte) 255;
+            len -= 255;
+        }
+        dst[op++] = (byte) len;
+        return op;
+    }
+
+    private static int hash(final int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    private static int readInt(final byte[] src, final int pos) {
+        return (src[pos] & 0xFF) | ((src[pos + 1] & 0xFF) << 8) | ((src[pos + 2] & 0xFF) << 16) | ((src[pos + 3] & 0xFF) << 24);
+    }
+}
@@ -0,0 +1,433 @@
+package imgui.type;
+
+import imgui.binding.ImGuiStructDestroyable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Text for the Dear ImGui input widgets, stored outside of the JVM heap. Unlike the {@link ImString}, the text is not copied
+ * between Java and native sides: input widgets edit the native memory in place and grow it natively, without calls back to Java.
+ * That makes it suitable for large texts, like logs or documents edited with {@link imgui.ImGui#inputTextMultiline}.
+ * <p>
+ * The instance itself is a {@link CharSequence} over the stored UTF-8 text. When the text contains only ASCII chars,
+ * chars are read directly from the native memory. Otherwise the text is decoded once after every change into a reused buffer.
+ * Raw UTF-8 bytes are available with {@link #getData()}.
+ * <pre>
+ * final ImDirectString log = new ImDirectString(1024 * 1024);
+ * log.append("Started\n");
+ * ImGui.inputTextMultiline("##log", log, -1, -1, ImGuiInputTextFlags.ReadOnly);
+ * </pre>
+ * <p>
+ * BINDING NOTICE: String SHOULD be destroyed with the {@link #destroy()} method. Instance is not thread safe.
+ */
+public final class ImDirectString extends ImGuiStructDestroyable implements CharSequence {
+    /**
+     * Default capacity of the string in bytes, if it's created with a constructor without args.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    // Layout of the native header. Should be kept in sync with the Jni::DirectString.
+    private static final int CAPACITY_OFFSET = 0;
+    private static final int LENGTH_OFFSET = 4;
+    private static final int GENERATION_OFFSET = 8;
+    private static final int VERSION_OFFSET = 12;
+
+    private ByteBuffer header;
+
+    // View over the native text, recreated when the memory is reallocated
+    private ByteBuffer data;
+    private int dataGeneration = -1;
+
+    // State of the chars view, recreated when the text is changed
+    private int charsVersion = -1;
+    private boolean isAscii;
+    private int asciiLength;
+    private CharBuffer chars = CharBuffer.allocate(0);
+    private CharsetDecoder decoder;
+
+    private String text = "";
+    private int textVersion = 0;
+
+    private boolean isResizable = true;
+
+    /**
+     * Creates an empty string with {@link #DEFAULT_CAPACITY}.
+     */
+    public ImDirectString() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty string.
+     *
+     * @param capacity initial size of the native memory in bytes, including the terminating zero
+     */
+    public ImDirectString(final int capacity) {
+        super(0);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity should be positive: " + capacity);
+        }
+        ptr = nCreate(capacity);
+        if (ptr == 0) {
+            throw new OutOfMemoryError("Unable to allocate native memory for the string of capacity " + capacity);
+        }
+        header = nGetHeaderView().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Creates a string with provided text. Capacity is equal to the size of the encoded text.
+     */
+    public ImDirectString(final CharSequence text) {
+        this(utf8Length(text) + 1);
+        set(text);
+    }
+
+    /*JNI
+        #include <stdint.h>
+        #include <imgui.h>
+        #include "jni_binding_struct.h"
+        #include "jni_direct_string.h"
+
+        #define DIRECT_STRING ((Jni::DirectString*)STRUCT_PTR)
+     */
+
+    @Override
+    protected long create() {
+        return nCreate(DEFAULT_CAPACITY);
+    }
+
+    private static native long nCreate(int capacity); /*
+        return (intptr_t)Jni::DirectStringCreate(capacity);
+    */
+
+    @Override
+    public void destroy() {
+        if (ptr == 0) {
+            return;
+        }
+        nDestroy();
+        ptr = 0;
+        header = null;
+        data = null;
+    }
+
+    private native void nDestroy(); /*
+        Jni::DirectStringDestroy(DIRECT_STRING);
+    */
+
+    /**
+     * @return true if the string was destroyed and shouldn't be used anymore
+     */
+    public boolean isDestroyed() {
+        return ptr == 0;
+    }
+
+    // All reads and writes of the native memory start with the header, so it's the single place to check the pointer
+    private ByteBuffer header() {
+        if (ptr == 0) {
+            throw new IllegalStateException("String is destroyed");
+        }
+        return header;
+    }
+
+    private native ByteBuffer nGetHeaderView(); /*
+        return env->NewDirectByteBuffer(DIRECT_STRING, 16);
+    */
+
+    private native ByteBuffer nGetDataView(); /*
+        Jni::DirectString* str = DIRECT_STRING;
+        return env->NewDirectByteBuffer(str->Data, str->Capacity);
+    */
+
+    // Called only after the header() check
+    private native boolean nReserve(int capacity); /*
+        return Jni::DirectStringReserve(DIRECT_STRING, capacity);
+    */
+
+    /**
+     * If true (default), input widgets grow the string natively when the text doesn't fit its capacity.
+     * Otherwise the input is limited by the current capacity.
+     */
+    public void setResizable(final boolean isResizable) {
+        this.isResizable = isResizable;
+    }
+
+    public boolean isResizable() {
+        return isResizable;
+    }
+
+    /**
+     * @return size of the native memory in bytes, including the terminating zero
+     */
+    public int getCapacity() {
+        return header().getInt(CAPACITY_OFFSET);
+    }
+
+    /**
+     * @return length of the UTF-8 text in bytes
+     */
+    public int getByteLength() {
+        return header().getInt(LENGTH_OFFSET);
+    }
+
+    /**
+     * Counter of text changes. Could be used to detect changes made by input widgets without reading the text.
+     */
+    public int getVersion() {
+        return header().getInt(VERSION_OFFSET);
+    }
+
+    /**
+     * Makes the native memory big enough to store a text of provided size, so the next edits won't reallocate it.
+     *
+     * @param capacity size in bytes, including the terminating zero
+     */
+    public void reserve(final int capacity) {
+        if (capacity > getCapacity() && !nReserve(capacity)) {
+            throw new OutOfMemoryError("Unable to allocate native memory for the string of capacity " + capacity);
+        }
+    }
+
+    /**
+     * Returns a view over the UTF-8 text in the native memory. Buffer limit is equal to the text length in bytes.
+     * <p>
+     * BINDING NOTICE: Returned buffer is valid until the next change of the string, since the memory could be reallocated.
+     */
+    public ByteBuffer getData() {
+        final ByteBuffer view = getDataView();
+        view.limit(getByteLength()).position(0);
+        return view;
+    }
+
+    /**
+     * Replaces the text of the string. Text is encoded directly into the native memory.
+     */
+    public void set(final CharSequence value) {
+        final CharSequence text = value == null ? "null" : value;
+        final int length = utf8Length(text);
+        reserve(length + 1);
+        encode(text, getDataView(), 0);
+        setByteLength(length);
+    }
+
+    /**
+     * Appends the text to the end of the string. Only the appended part is encoded, so the string could be used as a growing log.
+     */
+    public void append(final CharSequence value) {
+        final CharSequence text = value == null ? "null" : value;
+        final int oldLength = getByteLength();
+        final int length = utf8Length(text);
+        if ((long) oldLength + length + 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("String is too long to append " + length + " bytes");
+        }
+        reserve(oldLength + length + 1);
+        encode(text, getDataView(), oldLength);
+        setByteLength(oldLength + length);
+    }
+
+    /**
+     * Removes the text. Native memory is kept.
+     */
+    public void clear() {
+        getDataView().put(0, (byte) 0);
+        setByteLength(0);
+    }
+
+    private void setByteLength(final int length) {
+        getDataView().put(length, (byte) 0);
+        header().putInt(LENGTH_OFFSET, length);
+        header().putInt(VERSION_OFFSET, getVersion() + 1);
+    }
+
+    private ByteBuffer getDataView() {
+        final int generation = header().getInt(GENERATION_OFFSET);
+        if (data == null || dataGeneration != generation) {
+            data = nGetDataView();
+            dataGeneration = generation;
+        }
+        data.clear();
+        return data;
+    }
+
+    private void updateChars() {
+        final int version = getVersion();
+        if (charsVersion == version) {
+            return;
+        }
+        charsVersion = version;
+
+        final ByteBuffer bytes = getData();
+        final int length = bytes.limit();
+        asciiLength = length;
+        isAscii = true;
+        for (int i = 0; i < length; i++) {
+            if (bytes.get(i) < 0) {
+                isAscii = false;
+                break;
+            }
+        }
+
+        if (!isAscii) {
+            if (chars.capacity() < length) {
+                chars = CharBuffer.allocate(length + length / 2);
+            }
+            if (decoder == null) {
+                decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            }
+            chars.clear();
+            decoder.reset();
+            decoder.decode(bytes, chars, true);
+            decoder.flush(chars);
+            chars.flip();
+        }
+    }
+
+    @Override
+    public int length() {
+        updateChars();
+        return isAscii ? asciiLength : chars.limit();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        updateChars();
+        if (isAscii) {
+            if (index < 0 || index >= asciiLength) {
+                throw new IndexOutOfBoundsException("Index " + index + " is out of bounds [0, " + asciiLength + ")");
+            }
+            return (char) getDataView().get(index);
+        }
+        return chars.get(index);
+    }
+
+    /**
+     * Returns a view over the part of the string. No chars are copied, but the view is valid only until the next change of the string.
+     */
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        final int length = length();
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") is out of bounds [0, " + length + ")");
+        }
+        return new Slice(this, start, end - start);
+    }
+
+    /**
+     * @return text of the string. String instance is cached until the text is changed.
+     */
+    @Override
+    public String toString() {
+        final int version = getVersion();
+        if (textVersion != version) {
+            final ByteBuffer bytes = getData();
+            final byte[] array = new byte[bytes.limit()];
+            bytes.get(array);
+            text = new String(array, StandardCharsets.UTF_8);
+            textVersion = version;
+        }
+        return text;
+    }
+
+    /**
+     * @return the same value as {@link #toString()}, for consistency with the {@link ImString}
+     */
+    public String get() {
+        return toString();
+    }
+
+    private static int utf8Length(final CharSequence text) {
+        final int length = text.length();
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                result++;
+            } else if (c < 0x800) {
+                result += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                result += 4;
+                i++;
+            } else {
+                result += 3; // Unpaired surrogates are encoded as the replacement char
+            }
+        }
+        if (result >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Text is too long: " + result + " bytes");
+        }
+        return (int) result;
+    }
+
+    private static void encode(final CharSequence text, final ByteBuffer dst, final int offset) {
+        final int length = text.length();
+        int pos = offset;
+        for (int i = 0; i < length; i++) {
+            int c = text.charAt(i);
+            if (c < 0x80) {
+                dst.put(pos++, (byte) c);
+            } else if (c < 0x800) {
+                dst.put(pos++, (byte) (0xC0 | (c >> 6)));
+                dst.put(pos++, (byte) (0x80 | (c & 0x3F)));
+            } else {
+                if (Character.isHighSurrogate((char) c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint((char) c, text.charAt(++i));
+                    dst.put(pos++, (byte) (0xF0 | (codePoint >> 18)));
+                    dst.put(pos++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    dst.put(pos++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    dst.put(pos++, (byte) (0x80 | (codePoint & 0x3F)));
+                    continue;
+                }
+                if (Character.isSurrogate((char) c)) {
+                    c = 0xFFFD;
+                }
+                dst.put(pos++, (byte) (0xE0 | (c >> 12)));
+                dst.put(pos++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                dst.put(pos++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static final class Slice implements CharSequence {
+        private final CharSequence parent;
+        private final int offset;
+        private final int length;
+
+        private Slice(final CharSequence parent, final int offset, final int length) {
+            this.parent = parent;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " is out of bounds [0, " + length + ")");
+            }
+            return parent.charAt(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") is out of bounds [0, " + length + ")");
+            }
+            return new Slice(parent, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder(length).append(parent, offset, offset + length).toString();
+        }
+    }
+}
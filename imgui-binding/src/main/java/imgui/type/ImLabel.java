@@ -0,0 +1,119 @@
+package imgui.type;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Pre-encoded {@link String} to pass into Dear ImGui methods, like labels of widgets or a text.
+ * <p>
+ * String is encoded once into a direct buffer with a NUL-terminated UTF-8, which is passed to the native side as is.
+ * Unlike with {@link String} arguments, there is no conversion and no allocation on every call.
+ * <p>
+ * Create labels once and reuse them between frames, or use {@link #intern(String)} for frequently repeated constant strings.
+ */
+public final class ImLabel {
+    // Shared by all contexts, which could build their frames concurrently, see ImGui.isThreadLocalContext()
+    private static final Map<String, ImLabel> INTERN_CACHE = new ConcurrentHashMap<>();
+    private static final Function<String, ImLabel> LABEL_FACTORY = new Function<String, ImLabel>() {
+        @Override
+        public ImLabel apply(final String text) {
+            return new ImLabel(text, true);
+        }
+    };
+
+    private final boolean interned;
+    private ByteBuffer data = ByteBuffer.allocateDirect(0);
+    private String text = "";
+
+    /**
+     * Creates an {@link ImLabel} instance from provided string.
+     * @param text string to encode
+     */
+    public ImLabel(final String text) {
+        this(text, false);
+    }
+
+    private ImLabel(final String text, final boolean interned) {
+        encode(text);
+        this.interned = interned;
+    }
+
+    /**
+     * Returns a shared {@link ImLabel} instance for provided string. Instance is created on the first call and cached afterwards.
+     * <p>
+     * BINDING NOTICE: Cache is never cleaned by itself, so intern only constant strings, or use {@link #clearInternCache()}.
+     * Returned instances are shared, so they are immutable: {@link #set(String)} throws an exception for them. Could be called from any thread.
+     * @param text string to get a label for
+     * @return cached label
+     */
+    public static ImLabel intern(final String text) {
+        final ImLabel label = INTERN_CACHE.get(text);
+        if (label != null) {
+            return label;
+        }
+        return INTERN_CACHE.computeIfAbsent(text, LABEL_FACTORY);
+    }
+
+    /**
+     * Removes all labels created by the {@link #intern(String)}.
+     */
+    public static void clearInternCache() {
+        INTERN_CACHE.clear();
+    }
+
+    /**
+     * Encodes a new string into the label. Buffer is reused if it's large enough to keep the string.
+     * @param text string to encode
+     * @throws IllegalStateException if the label was returned by the {@link #intern(String)}
+     */
+    public void set(final String text) {
+        if (interned) {
+            throw new IllegalStateException("Interned label \"" + this.text + "\" is shared and can't be modified");
+        }
+        encode(text);
+    }
+
+    private void encode(final String text) {
+        if (text.equals(this.text) && data.capacity() != 0) {
+            return;
+        }
+
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (data.capacity() < bytes.length + 1) {
+            data = ByteBuffer.allocateDirect(bytes.length + 1);
+        }
+
+        data.clear();
+        data.put(bytes);
+        data.put((byte) 0);
+        data.flip();
+
+        this.text = text;
+    }
+
+    /**
+     * @return true if the label was returned by the {@link #intern(String)} and can't be modified
+     */
+    public boolean isInterned() {
+        return interned;
+    }
+
+    public String get() {
+        return text;
+    }
+
+    /**
+     * Direct buffer with a NUL-terminated UTF-8 data of the label.
+     */
+    public ByteBuffer getData() {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -86,4 +86,26 @@ namespace Jni
     jfloat CallImPlatformFuncViewportSuppFloat(JNIEnv* env, jobject func, jobject vp) {
         return (jfloat)env->CallFloatMethod(func, jImPlatformFuncViewportSuppFloatGetMID, vp);
     }
+
+    ClipboardCallbacks* GetClipboardCallbacks(ImGuiIO& io) {
+        if (io.ClipboardUserData == NULL) {
+            io.ClipboardUserData = new ClipboardCallbacks();
+        }
+        return (ClipboardCallbacks*)io.ClipboardUserData;
+    }
+
+    void DeleteClipboardCallbacks(JNIEnv* env, ImGuiIO& io) {
+        ClipboardCallbacks* callbacks = (ClipboardCallbacks*)io.ClipboardUserData;
+        if (callbacks == NULL) {
+            return;
+        }
+        if (callbacks->SetTextCallback != NULL) {
+            env->DeleteGlobalRef(callbacks->SetTextCallback);
+        }
+        if (callbacks->GetTextCallback != NULL) {
+            env->DeleteGlobalRef(callbacks->GetTextCallback);
+        }
+        delete callbacks;
+        io.ClipboardUserData = NULL;
+    }
 }
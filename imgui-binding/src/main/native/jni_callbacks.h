@@ -1,4 +1,5 @@
 #include <jni.h>
+#include <imgui.h>
 
 #ifndef JNI_CALLBACK_H
 #define JNI_CALLBACK_H
@@ -26,6 +27,20 @@ namespace Jni
     jboolean CallImPlatformFuncViewportSuppBoolean(JNIEnv* env, jobject func, jobject vp);
 
     jfloat CallImPlatformFuncViewportSuppFloat(JNIEnv* env, jobject func, jobject vp);
+
+    // Clipboard callbacks are kept in the ImGuiIO::ClipboardUserData, so every context has its own callbacks.
+    struct ClipboardCallbacks
+    {
+        jobject SetTextCallback = NULL;
+        jobject GetTextCallback = NULL;
+        // Handlers which were installed before the Java callbacks, they are restored when callbacks are removed
+        void (*DefaultSetTextFn)(void* userData, const char* text) = NULL;
+        const char* (*DefaultGetTextFn)(void* userData) = NULL;
+    };
+
+    ClipboardCallbacks* GetClipboardCallbacks(ImGuiIO& io);
+
+    void DeleteClipboardCallbacks(JNIEnv* env, ImGuiIO& io);
 }
 
 #endif
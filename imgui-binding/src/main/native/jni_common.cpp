@@ -10,6 +10,10 @@ jfieldID imVec4WID;
 
 static JavaVM* jvm;
 
+#ifdef IMGUI_JAVA_THREAD_LOCAL_CONTEXT
+thread_local ImGuiContext* JniCurrentContext = NULL;
+#endif
+
 namespace Jni
 {
     void InitCommon(JNIEnv* env) {
@@ -0,0 +1,67 @@
+#include "jni_direct_string.h"
+
+#include <stdlib.h>
+#include <string.h>
+
+namespace Jni
+{
+    DirectString* DirectStringCreate(int capacity) {
+        DirectString* str = (DirectString*)malloc(sizeof(DirectString));
+        if (str == NULL) {
+            return NULL;
+        }
+        str->Capacity = capacity > 0 ? capacity : 1;
+        str->Length = 0;
+        str->Generation = 0;
+        str->Version = 0;
+        str->Data = (char*)malloc((size_t)str->Capacity);
+        if (str->Data == NULL) {
+            free(str);
+            return NULL;
+        }
+        str->Data[0] = 0;
+        return str;
+    }
+
+    void DirectStringDestroy(DirectString* str) {
+        if (str != NULL) {
+            free(str->Data);
+            free(str);
+        }
+    }
+
+    bool DirectStringReserve(DirectString* str, int capacity) {
+        if (capacity <= str->Capacity) {
+            return true;
+        }
+        int64_t newCapacity = (int64_t)str->Capacity + str->Capacity / 2;
+        if (newCapacity < capacity) {
+            newCapacity = capacity;
+        }
+        if (newCapacity > INT32_MAX) {
+            newCapacity = INT32_MAX;
+        }
+        char* newData = (char*)realloc(str->Data, (size_t)newCapacity);
+        if (newData == NULL) {
+            return false;
+        }
+        str->Data = newData;
+        str->Capacity = (int32_t)newCapacity;
+        str->Generation++;
+        return true;
+    }
+
+    int DirectStringInputTextCallback(ImGuiInputTextCallbackData* data) {
+        DirectStringInput* input = (DirectStringInput*)data->UserData;
+        DirectString* str = input->Str;
+        if (data->EventFlag == ImGuiInputTextFlags_CallbackResize) {
+            // ImGui asks for the text length plus the terminating zero. If the memory can't be allocated, the old buffer is kept and the input is truncated.
+            DirectStringReserve(str, data->BufTextLen + 1);
+            data->Buf = str->Data;
+            data->BufSize = str->Capacity;
+        }
+        // Edited text is copied into the string after callbacks, truncated to its capacity
+        input->TextLength = data->BufTextLen < str->Capacity ? data->BufTextLen : str->Capacity - 1;
+        return 0;
+    }
+}
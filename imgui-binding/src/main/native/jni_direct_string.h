@@ -0,0 +1,39 @@
+#include <stdint.h>
+#include <imgui.h>
+
+#ifndef JNI_DIRECT_STRING_H
+#define JNI_DIRECT_STRING_H
+
+namespace Jni
+{
+    // Storage of the imgui.type.ImDirectString. Text is kept as a zero-terminated UTF-8 string in the memory allocated outside of the JVM heap.
+    // Integer fields are read and written by the Java side through a direct buffer view, so their layout should be in sync with ImDirectString.
+    struct DirectString
+    {
+        int32_t Capacity;   // Size of the Data in bytes, including the terminating zero
+        int32_t Length;     // Length of the text in bytes
+        int32_t Generation; // Incremented every time the Data is reallocated
+        int32_t Version;    // Incremented every time the text is changed
+        char* Data;
+    };
+
+    DirectString* DirectStringCreate(int capacity);
+
+    void DirectStringDestroy(DirectString* str);
+
+    // Makes the Data big enough to store "capacity" bytes. Memory grows at least by a half of the current capacity,
+    // so a text typed char by char is reallocated only a few times. Returns false if the memory can't be allocated.
+    bool DirectStringReserve(DirectString* str, int capacity);
+
+    // User data of the InputText() callback
+    struct DirectStringInput
+    {
+        DirectString* Str;
+        int32_t TextLength; // Length of the text after the last callback, -1 if no callbacks were called
+    };
+
+    // Callback of the InputText() to grow the string in place and to get the length of the edited text. UserData should be the DirectStringInput.
+    int DirectStringInputTextCallback(ImGuiInputTextCallbackData* data);
+}
+
+#endif
@@ -0,0 +1,123 @@
+#include "jni_draw_data_snapshot.h"
+
+#include <stdint.h>
+#include <string.h>
+
+// Amount of 4-byte values in a single command record. Should be in sync with ImDrawData.SIZEOF_CMD_DATA.
+#define CMD_DATA_STRIDE 9
+
+namespace Jni
+{
+    DrawDataSnapshot::~DrawDataSnapshot() {
+        for (int i = 0; i < CmdLists.Size; i++) {
+            IM_DELETE(CmdLists[i]);
+        }
+    }
+
+    template<typename T>
+    static void CopyVector(ImVector<T>& dst, const ImVector<T>& src) {
+        // Unlike ImVector::operator=, resize() keeps already allocated memory
+        dst.resize(src.Size);
+        if (src.Size > 0) {
+            memcpy(dst.Data, src.Data, (size_t)src.Size * sizeof(T));
+        }
+    }
+
+    void DrawDataSnapshotCopy(DrawDataSnapshot* snapshot, const ImDrawData* src) {
+        const int cmdListsCount = src->Valid ? src->CmdListsCount : 0;
+
+        while (snapshot->CmdLists.Size < cmdListsCount) {
+            snapshot->CmdLists.push_back(IM_NEW(ImDrawList)(NULL));
+        }
+
+        for (int n = 0; n < cmdListsCount; n++) {
+            const ImDrawList* srcList = src->CmdLists[n];
+            ImDrawList* dstList = snapshot->CmdLists[n];
+            CopyVector(dstList->CmdBuffer, srcList->CmdBuffer);
+            CopyVector(dstList->IdxBuffer, srcList->IdxBuffer);
+            CopyVector(dstList->VtxBuffer, srcList->VtxBuffer);
+            dstList->Flags = srcList->Flags;
+        }
+
+        ImDrawData& dst = snapshot->DrawData;
+        dst.Valid = src->Valid;
+        dst.CmdLists = snapshot->CmdLists.Data;
+        dst.CmdListsCount = cmdListsCount;
+        dst.TotalIdxCount = src->Valid ? src->TotalIdxCount : 0;
+        dst.TotalVtxCount = src->Valid ? src->TotalVtxCount : 0;
+        dst.DisplayPos = src->DisplayPos;
+        dst.DisplaySize = src->DisplaySize;
+        dst.FramebufferScale = src->FramebufferScale;
+        dst.OwnerViewport = NULL;
+        snapshot->OwnerViewportId = src->OwnerViewport != NULL ? src->OwnerViewport->ID : 0;
+    }
+
+    void DrawDataSnapshotClear(DrawDataSnapshot* snapshot) {
+        ImDrawData& dst = snapshot->DrawData;
+        dst.Valid = false;
+        dst.CmdLists = snapshot->CmdLists.Data;
+        dst.CmdListsCount = 0;
+        dst.TotalIdxCount = 0;
+        dst.TotalVtxCount = 0;
+    }
+
+    void DrawDataSnapshotSetCmdList(DrawDataSnapshot* snapshot, int cmdListIdx, const void* cmdData, int cmdCount, const void* vtxData, int vtxCount, const void* idxData, int idxCount, int idxSize) {
+        while (snapshot->CmdLists.Size <= cmdListIdx) {
+            snapshot->CmdLists.push_back(IM_NEW(ImDrawList)(NULL));
+        }
+        ImDrawList* dstList = snapshot->CmdLists[cmdListIdx];
+
+        dstList->CmdBuffer.resize(cmdCount);
+        const int32_t* records = (const int32_t*)cmdData;
+        for (int i = 0; i < cmdCount; i++) {
+            const int32_t* record = records + i * CMD_DATA_STRIDE;
+            ImDrawCmd& cmd = dstList->CmdBuffer.Data[i];
+            memcpy(&cmd.ClipRect, record, sizeof(float) * 4);
+            cmd.TextureId = (ImTextureID)(intptr_t)record[4];
+            cmd.ElemCount = (unsigned int)record[5];
+            cmd.IdxOffset = (unsigned int)record[6];
+            cmd.VtxOffset = (unsigned int)record[7];
+            cmd.UserCallback = NULL;
+            cmd.UserCallbackData = NULL;
+        }
+
+        dstList->VtxBuffer.resize(vtxCount);
+        if (vtxCount > 0) {
+            memcpy(dstList->VtxBuffer.Data, vtxData, (size_t)vtxCount * sizeof(ImDrawVert));
+        }
+
+        dstList->IdxBuffer.resize(idxCount);
+        if (idxSize == sizeof(ImDrawIdx)) {
+            if (idxCount > 0) {
+                memcpy(dstList->IdxBuffer.Data, idxData, (size_t)idxCount * sizeof(ImDrawIdx));
+            }
+        } else if (idxSize == 2) {
+            for (int i = 0; i < idxCount; i++) {
+                dstList->IdxBuffer.Data[i] = (ImDrawIdx)((const uint16_t*)idxData)[i];
+            }
+        } else {
+            // Narrowed indices wrap around, callers should reject lists with more vertices than ImDrawIdx could address
+            for (int i = 0; i < idxCount; i++) {
+                dstList->IdxBuffer.Data[i] = (ImDrawIdx)((const uint32_t*)idxData)[i];
+            }
+        }
+    }
+
+    void DrawDataSnapshotSetFrame(DrawDataSnapshot* snapshot, int cmdListsCount, ImVec2 displayPos, ImVec2 displaySize, ImVec2 framebufferScale) {
+        ImDrawData& dst = snapshot->DrawData;
+        dst.Valid = true;
+        dst.CmdLists = snapshot->CmdLists.Data;
+        dst.CmdListsCount = cmdListsCount;
+        dst.TotalIdxCount = 0;
+        dst.TotalVtxCount = 0;
+        for (int n = 0; n < cmdListsCount; n++) {
+            dst.TotalIdxCount += snapshot->CmdLists[n]->IdxBuffer.Size;
+            dst.TotalVtxCount += snapshot->CmdLists[n]->VtxBuffer.Size;
+        }
+        dst.DisplayPos = displayPos;
+        dst.DisplaySize = displaySize;
+        dst.FramebufferScale = framebufferScale;
+        dst.OwnerViewport = NULL;
+        snapshot->OwnerViewportId = 0;
+    }
+}
@@ -0,0 +1,33 @@
+#include <jni.h>
+#include <imgui.h>
+
+#ifndef JNI_DRAW_DATA_SNAPSHOT_H
+#define JNI_DRAW_DATA_SNAPSHOT_H
+
+namespace Jni
+{
+    // Deep copy of the ImDrawData, see imgui.ImDrawDataSnapshot.
+    // Copied draw lists are kept between copies, so their buffers are reused and memory is allocated only when the UI grows.
+    struct DrawDataSnapshot
+    {
+        ImDrawData DrawData;
+        ImVector<ImDrawList*> CmdLists;
+        // Owner viewport could be destroyed before the snapshot is rendered, so only its ID is kept and DrawData.OwnerViewport is NULL
+        ImGuiID OwnerViewportId = 0;
+
+        ~DrawDataSnapshot();
+    };
+
+    void DrawDataSnapshotCopy(DrawDataSnapshot* snapshot, const ImDrawData* src);
+
+    void DrawDataSnapshotClear(DrawDataSnapshot* snapshot);
+
+    // Replaces content of the command list with provided data. Commands are stored as records of the imgui.ImDrawData#getCmdBufferData format.
+    // Indices are converted when their size differs from the size of the ImDrawIdx.
+    void DrawDataSnapshotSetCmdList(DrawDataSnapshot* snapshot, int cmdListIdx, const void* cmdData, int cmdCount, const void* vtxData, int vtxCount, const void* idxData, int idxCount, int idxSize);
+
+    // Makes first "cmdListsCount" command lists of the snapshot its valid draw data.
+    void DrawDataSnapshotSetFrame(DrawDataSnapshot* snapshot, int cmdListsCount, ImVec2 displayPos, ImVec2 displaySize, ImVec2 framebufferScale);
+}
+
+#endif
@@ -0,0 +1,14 @@
+// Included at the end of the Dear ImGui "imconfig.h" when native libraries are generated.
+
+#ifndef JNI_IMCONFIG_H
+#define JNI_IMCONFIG_H
+
+// Thread-local current context, so different contexts could be used on different threads at the same time.
+// Enabled with the "-DwithThreadLocalContext" build flag.
+#ifdef IMGUI_JAVA_THREAD_LOCAL_CONTEXT
+struct ImGuiContext;
+extern thread_local ImGuiContext* JniCurrentContext;
+#define GImGui JniCurrentContext
+#endif
+
+#endif
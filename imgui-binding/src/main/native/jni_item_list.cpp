@@ -0,0 +1,116 @@
+#include "jni_item_list.h"
+#include <stdint.h>
+#include <imgui_internal.h>
+
+static char* CopyItem(JNIEnv* env, jstring item) {
+    const char* rawItem = env->GetStringUTFChars(item, JNI_FALSE);
+    char* copy = ImStrdup(rawItem);
+    env->ReleaseStringUTFChars(item, rawItem);
+    return copy;
+}
+
+static bool ComboItems(Jni::ItemList* list, int* currentItem, int displayStart, int displayEnd) {
+    bool valueChanged = false;
+    for (int i = displayStart; i < displayEnd; i++) {
+        ImGui::PushID((void*)(intptr_t)i);
+        const bool itemSelected = (i == *currentItem);
+        if (ImGui::Selectable(list->Items[i], itemSelected)) {
+            valueChanged = true;
+            *currentItem = i;
+        }
+        if (itemSelected) {
+            ImGui::SetItemDefaultFocus();
+        }
+        ImGui::PopID();
+    }
+    return valueChanged;
+}
+
+namespace Jni
+{
+    ItemList::~ItemList() {
+        ItemListClear(this);
+    }
+
+    void ItemListSet(JNIEnv* env, ItemList* list, int idx, jstring item) {
+        IM_ASSERT(idx >= 0 && idx < list->Items.Size);
+        char* copy = CopyItem(env, item);
+        IM_FREE(list->Items[idx]);
+        list->Items[idx] = copy;
+    }
+
+    void ItemListInsert(JNIEnv* env, ItemList* list, int idx, jstring item) {
+        IM_ASSERT(idx >= 0 && idx <= list->Items.Size);
+        list->Items.insert(list->Items.Data + idx, CopyItem(env, item));
+    }
+
+    void ItemListRemove(ItemList* list, int idx) {
+        IM_ASSERT(idx >= 0 && idx < list->Items.Size);
+        IM_FREE(list->Items[idx]);
+        list->Items.erase(list->Items.Data + idx);
+    }
+
+    void ItemListClear(ItemList* list) {
+        for (int i = 0; i < list->Items.Size; i++) {
+            IM_FREE(list->Items[i]);
+        }
+        list->Items.clear();
+    }
+
+    bool ItemListGetter(void* data, int idx, const char** outText) {
+        ItemList* list = (ItemList*)data;
+        if (idx < 0 || idx >= list->Items.Size) {
+            return false;
+        }
+        *outText = list->Items[idx];
+        return true;
+    }
+
+    // Same as ImGui::Combo(), but items are clipped, so only visible ones are submitted.
+    bool ItemListCombo(const char* label, int* currentItem, ItemList* list, int popupMaxHeightInItems) {
+        ImGuiContext& g = *GImGui;
+        const int itemsCount = list->Items.Size;
+
+        const char* previewValue = NULL;
+        if (*currentItem >= 0 && *currentItem < itemsCount) {
+            previewValue = list->Items[*currentItem];
+        }
+
+        // Emulate "popup_max_height_in_items" in the same way ImGui::Combo() does
+        if (popupMaxHeightInItems != -1 && !(g.NextWindowData.Flags & ImGuiNextWindowDataFlags_HasSizeConstraint)) {
+            const float maxHeight = (g.FontSize + g.Style.ItemSpacing.y) * popupMaxHeightInItems - g.Style.ItemSpacing.y + (g.Style.WindowPadding.y * 2);
+            ImGui::SetNextWindowSizeConstraints(ImVec2(0, 0), ImVec2(FLT_MAX, maxHeight));
+        }
+
+        if (!ImGui::BeginCombo(label, previewValue, ImGuiComboFlags_None)) {
+            return false;
+        }
+
+        bool valueChanged = false;
+
+        // Height of items is known, so the clipper doesn't need to measure the first item and clips from the appearing frame
+        const float itemsHeight = ImGui::GetTextLineHeightWithSpacing();
+        const float startPosY = ImGui::GetCursorPosY();
+        const int selectedItem = *currentItem;
+        bool selectedItemSubmitted = false;
+
+        ImGuiListClipper clipper;
+        clipper.Begin(itemsCount, itemsHeight);
+        while (clipper.Step()) {
+            valueChanged |= ComboItems(list, currentItem, clipper.DisplayStart, clipper.DisplayEnd);
+            selectedItemSubmitted |= selectedItem >= clipper.DisplayStart && selectedItem < clipper.DisplayEnd;
+        }
+
+        // On the appearing frame the current item is submitted at its position even if it's clipped,
+        // so SetItemDefaultFocus() is able to focus it and scroll to it
+        if (ImGui::IsWindowAppearing() && !selectedItemSubmitted && selectedItem >= 0 && selectedItem < itemsCount) {
+            const float endPosY = ImGui::GetCursorPosY();
+            ImGui::SetCursorPosY(startPosY + selectedItem * itemsHeight);
+            valueChanged |= ComboItems(list, currentItem, selectedItem, selectedItem + 1);
+            ImGui::SetCursorPosY(endPosY);
+        }
+
+        ImGui::EndCombo();
+        return valueChanged;
+    }
+}
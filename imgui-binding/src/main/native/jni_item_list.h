@@ -0,0 +1,30 @@
+#include <jni.h>
+#include <imgui.h>
+
+#ifndef JNI_ITEM_LIST_H
+#define JNI_ITEM_LIST_H
+
+namespace Jni
+{
+    // Items of the combo/list box kept on the native side, see imgui.ImGuiItemList
+    struct ItemList
+    {
+        ImVector<char*> Items;
+
+        ~ItemList();
+    };
+
+    void ItemListSet(JNIEnv* env, ItemList* list, int idx, jstring item);
+
+    void ItemListInsert(JNIEnv* env, ItemList* list, int idx, jstring item);
+
+    void ItemListRemove(ItemList* list, int idx);
+
+    void ItemListClear(ItemList* list);
+
+    bool ItemListGetter(void* data, int idx, const char** outText);
+
+    bool ItemListCombo(const char* label, int* currentItem, ItemList* list, int popupMaxHeightInItems);
+}
+
+#endif
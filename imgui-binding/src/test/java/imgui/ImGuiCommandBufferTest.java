@@ -0,0 +1,79 @@
+package imgui;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImGuiCommandBufferTest {
+    @Test
+    public void testStringLayout() {
+        final ImGuiCommandBuffer buffer = new ImGuiCommandBuffer();
+        buffer.text("ab");
+        final ByteBuffer data = buffer.getData();
+        assertEquals(1, data.getInt(0), "Opcode should be CMD_TEXT");
+        assertEquals(2, data.getInt(4), "String should be prefixed with its length in bytes");
+        assertEquals('a', data.get(8));
+        assertEquals('b', data.get(9));
+        assertEquals(0, data.get(10), "String should be NUL-terminated");
+        assertEquals(12, buffer.size(), "String should be padded to 4 bytes");
+
+        buffer.reset();
+        buffer.text("abcd");
+        assertEquals(4, data.getInt(4));
+        assertEquals(0, data.get(12), "NUL-terminator should be written even for aligned strings");
+        assertEquals(16, buffer.size());
+
+        buffer.reset();
+        buffer.text("\u00e4\u20ac");
+        assertEquals(2 + 3, data.getInt(4), "String should be encoded as UTF-8");
+        assertEquals((byte) 0xC3, data.get(8));
+        assertEquals((byte) 0xA4, data.get(9));
+        assertEquals((byte) 0xE2, data.get(10));
+        assertEquals(0, data.get(13));
+        assertEquals(16, buffer.size());
+    }
+
+    @Test
+    public void testResultSlots() {
+        final ImGuiCommandBuffer buffer = new ImGuiCommandBuffer();
+        buffer.separator();
+        final int button = buffer.button("ok");
+        final ByteBuffer data = buffer.getData();
+        assertEquals(6, data.getInt(0), "Opcode should be CMD_SEPARATOR");
+        assertEquals(31, data.getInt(4), "Opcode should be CMD_BUTTON");
+        assertEquals(8, button, "Result slot should follow the opcode");
+        assertEquals(2, data.getInt(12), "Label should follow the result slot");
+        assertFalse(buffer.getResult(button));
+
+        final int checkbox = buffer.checkbox("c", true);
+        assertEquals(24, checkbox);
+        assertEquals(34, data.getInt(20), "Opcode should be CMD_CHECKBOX");
+        assertTrue(buffer.getCheckboxValue(checkbox), "Value of the checkbox should follow the result slot");
+        assertEquals(1, data.getInt(32), "Label should follow the value of the checkbox");
+        assertEquals(40, buffer.size());
+
+        // Native replay writes results into the slots
+        data.putInt(button, 1);
+        data.putInt(checkbox + 4, 0);
+        assertTrue(buffer.getResult(button));
+        assertFalse(buffer.getCheckboxValue(checkbox));
+    }
+
+    @Test
+    public void testGrowth() {
+        final ImGuiCommandBuffer buffer = new ImGuiCommandBuffer(64);
+        for (int i = 0; i < 1000; i++) {
+            buffer.pushID(i);
+        }
+        assertEquals(8000, buffer.size());
+        final ByteBuffer data = buffer.getData();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(22, data.getInt(i * 8), "Opcode should be CMD_PUSH_ID");
+            assertEquals(i, data.getInt(i * 8 + 4), "Recorded commands should be kept after the growth");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package imgui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ImGuiVariableListClipperTest {
+    @Test
+    public void testOffsets() {
+        final ImGuiVariableListClipper clipper = new ImGuiVariableListClipper();
+        clipper.setItemsCount(100, 10);
+        assertEquals(1000, clipper.getTotalHeight(), 0);
+        assertEquals(250, clipper.getItemOffset(25), 0);
+
+        clipper.setItemHeight(5, 30);
+        assertEquals(1020, clipper.getTotalHeight(), 0, "Prefix sum should be updated after the changed item");
+        assertEquals(50, clipper.getItemOffset(5), 0);
+        assertEquals(80, clipper.getItemOffset(6), 0);
+
+        clipper.addItem(100);
+        assertEquals(101, clipper.getItemsCount());
+        assertEquals(1120, clipper.getTotalHeight(), 0);
+
+        clipper.setItemsCount(10, 10);
+        assertEquals(120, clipper.getTotalHeight(), 0, "Heights of kept items should not be changed");
+    }
+
+    @Test
+    public void testFindItem() {
+        final ImGuiVariableListClipper clipper = new ImGuiVariableListClipper();
+        clipper.setItemsCount(1000, 10);
+        clipper.setItemHeight(1, 50);
+        assertEquals(0, clipper.findItem(-5));
+        assertEquals(0, clipper.findItem(9.9));
+        assertEquals(1, clipper.findItem(10));
+        assertEquals(1, clipper.findItem(59));
+        assertEquals(2, clipper.findItem(60));
+        assertEquals(999, clipper.findItem(clipper.getTotalHeight() - 1));
+        assertEquals(1000, clipper.findItem(clipper.getTotalHeight()));
+    }
+}
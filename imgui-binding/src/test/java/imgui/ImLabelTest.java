@@ -0,0 +1,91 @@
+package imgui;
+
+import imgui.type.ImLabel;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImLabelTest {
+    @Test
+    public void testEncoding() {
+        final ImLabel label = new ImLabel("label");
+        final ByteBuffer data = label.getData();
+        assertTrue(data.isDirect(), "Label data should be a direct buffer to be passed into the native code");
+        assertEquals(5 + 1, data.limit(), "Data size must be 'length + 1', +1 - NUL-terminator");
+        assertEquals('l', data.get(0));
+        assertEquals(0, data.get(5));
+
+        final ImLabel unicode = new ImLabel("\u00e4");
+        assertEquals(2 + 1, unicode.getData().limit(), "String should be encoded as UTF-8");
+    }
+
+    @Test
+    public void testSet() {
+        final ImLabel label = new ImLabel("long label");
+        final ByteBuffer data = label.getData();
+
+        label.set("short");
+        assertEquals("short", label.get());
+        assertSame(data, label.getData(), "Buffer should be reused when it's large enough");
+        assertEquals(5 + 1, label.getData().limit());
+
+        label.set("much longer label");
+        assertEquals("much longer label", label.get());
+        assertEquals(17 + 1, label.getData().limit());
+    }
+
+    @Test
+    public void testIntern() {
+        assertSame(ImLabel.intern("label"), ImLabel.intern("label"));
+        final ImLabel label = ImLabel.intern("label");
+        ImLabel.clearInternCache();
+        assertEquals("label", ImLabel.intern("label").get());
+        assertTrue(label != ImLabel.intern("label"));
+    }
+
+    @Test
+    public void testInternedImmutable() {
+        final ImLabel label = ImLabel.intern("shared");
+        assertTrue(label.isInterned());
+        assertThrows(IllegalStateException.class, () -> label.set("changed"), "Interned labels should not be modified");
+        assertEquals("shared", ImLabel.intern("shared").get());
+        assertFalse(new ImLabel("shared").isInterned());
+        ImLabel.clearInternCache();
+    }
+
+    @Test
+    public void testConcurrentIntern() throws InterruptedException {
+        ImLabel.clearInternCache();
+        final ImLabel[][] results = new ImLabel[4][1000];
+        final Thread[] threads = new Thread[results.length];
+        for (int t = 0; t < threads.length; t++) {
+            final ImLabel[] dst = results[t];
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < dst.length; i++) {
+                        dst[i] = ImLabel.intern("label " + i);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < results[0].length; i++) {
+            assertEquals("label " + i, results[0][i].get());
+            for (int t = 1; t < results.length; t++) {
+                assertSame(results[0][i], results[t][i], "All threads should get the same instance");
+            }
+        }
+        ImLabel.clearInternCache();
+    }
+}
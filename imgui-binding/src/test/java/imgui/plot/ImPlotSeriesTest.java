@@ -0,0 +1,100 @@
+package imgui.plot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImPlotSeriesTest {
+    @Test
+    public void testRingBuffer() {
+        final ImPlotSeries series = new ImPlotSeries(100);
+        assertEquals(128, series.getCapacity(), "Capacity should be rounded up to the power of two");
+
+        for (int i = 0; i < 300; i++) {
+            series.append(i);
+        }
+        assertEquals(300, series.getCount());
+        assertEquals(300 - 128, series.getFirstIndex());
+        for (long i = series.getFirstIndex(); i < series.getCount(); i++) {
+            assertEquals(i, series.get(i), 0);
+        }
+    }
+
+    @Test
+    public void testMinMax() {
+        final Random random = new Random(42);
+        final ImPlotSeries series = new ImPlotSeries(4096);
+        final float[] values = new float[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextFloat() * 100 - 50;
+        }
+        series.append(values, 0, values.length);
+
+        final float[] minMax = new float[2];
+        for (int n = 0; n < 1000; n++) {
+            final long from = series.getFirstIndex() + random.nextInt(series.getCapacity());
+            final long to = from + 1 + random.nextInt((int) (series.getCount() - from));
+
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (long i = from; i < to; i++) {
+                min = Math.min(min, values[(int) i]);
+                max = Math.max(max, values[(int) i]);
+            }
+
+            series.getMinMax(from, to, minMax, 0);
+            assertEquals(min, minMax[0], 0, "Minimum of the range [" + from + ", " + to + ")");
+            assertEquals(max, minMax[1], 0, "Maximum of the range [" + from + ", " + to + ")");
+        }
+    }
+
+    @Test
+    public void testMinMaxColumns() {
+        final ImPlotSeries series = new ImPlotSeries(1024);
+        for (int i = 0; i < 1000; i++) {
+            series.append(i == 555 ? 1000 : i % 10);
+        }
+
+        final float[] columns = new float[10 * 2];
+        ImPlotDecimator.minMax(series, 0, 1000, 0, 1000, 10, columns);
+        for (int c = 0; c < 10; c++) {
+            assertEquals(0, columns[c * 2], 0);
+            assertEquals(c == 5 ? 1000 : 9, columns[c * 2 + 1], 0, "Spike should be kept in its column");
+        }
+
+        // Columns out of stored samples are empty
+        ImPlotDecimator.minMax(series, 0, 1000, 900, 1100, 2, columns);
+        assertEquals(9, columns[1], 0);
+        assertTrue(Float.isNaN(columns[2]));
+        assertTrue(Float.isNaN(columns[3]));
+    }
+
+    @Test
+    public void testLttb() {
+        final ImPlotSeries series = new ImPlotSeries(1024);
+        for (int i = 0; i < 1000; i++) {
+            series.append(i == 555 ? 1000 : 0);
+        }
+
+        final long[] indices = new long[20];
+        final float[] values = new float[20];
+        final int count = ImPlotDecimator.lttb(series, 0, 1000, 20, indices, values);
+        assertEquals(20, count);
+        assertEquals(0, indices[0]);
+        assertEquals(999, indices[count - 1]);
+        boolean hasSpike = false;
+        for (int i = 1; i < count; i++) {
+            assertTrue(indices[i] > indices[i - 1], "Selected samples should be ordered");
+            hasSpike |= indices[i] == 555;
+        }
+        assertTrue(hasSpike, "Spike should be selected");
+
+        // All samples are kept when they fit the threshold
+        assertEquals(10, ImPlotDecimator.lttb(series, 100, 110, 20, indices, values));
+        assertEquals(100, indices[0]);
+        assertEquals(109, indices[9]);
+    }
+}
@@ -0,0 +1,199 @@
+package imgui.stream;
+
+import imgui.ImDrawData;
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImDrawDataStreamTest {
+    @Test
+    public void testPipeRoundTrip() throws IOException {
+        final byte[] list = list(4, new int[]{0, 1, 2, 0, 2, 3}, 2, 0, 6, 0);
+        final byte[] changedList = list.clone();
+        // First byte of the first vertex
+        changedList[ImDrawDataEncoder.LIST_DATA_HEADER_SIZE + ImDrawData.SIZEOF_CMD_DATA] = 42;
+        final byte[] biggerList = list(8, new int[]{0, 1, 2, 0, 1, 3}, 2, 0, 3, 0, 3, 3, 4);
+        final byte[][][] frames = {
+            {list},
+            {list}, // Unchanged
+            {changedList}, // Same size, XOR
+            {biggerList, list}, // Full
+        };
+
+        final ImDrawDataEncoder encoder = new ImDrawDataEncoder();
+        final PipedOutputStream out = new PipedOutputStream();
+        final PipedInputStream in = new PipedInputStream(out, 1 << 20);
+        for (byte[][] frame : frames) {
+            write(encoder.encode(frame, 2, 800, 600), out);
+        }
+        out.close();
+
+        final RecordingTarget target = new RecordingTarget(2);
+        final ImDrawDataDecoder decoder = new ImDrawDataDecoder(target);
+        for (byte[][] frame : frames) {
+            assertTrue(decoder.decode(in));
+            assertEquals(frame.length, target.cmdListsCount);
+            assertEquals(800, target.displaySizeX, 0);
+            for (int n = 0; n < frame.length; n++) {
+                assertArrayEquals(frame[n], target.lists.get(n), "Command list " + n + " should be decoded as encoded");
+            }
+        }
+        assertFalse(decoder.decode(in), "Stream should end after the last frame");
+        assertEquals(frames.length, decoder.getFrameCount());
+    }
+
+    @Test
+    public void testKeyFrames() throws IOException {
+        final byte[] list = list(3, new int[]{0, 1, 2}, 2, 0, 3, 0);
+        final ImDrawDataEncoder encoder = new ImDrawDataEncoder();
+        encoder.setKeyFrameInterval(2);
+        final byte[] frame0 = copy(encoder.encode(new byte[][]{list}, 2, 1, 1));
+        final byte[] frame1 = copy(encoder.encode(new byte[][]{list}, 2, 1, 1));
+        final byte[] frame2 = copy(encoder.encode(new byte[][]{list}, 2, 1, 1));
+
+        final RecordingTarget target = new RecordingTarget(2);
+        final ImDrawDataDecoder decoder = new ImDrawDataDecoder(target);
+        final IOException e = assertThrows(IOException.class, () -> decoder.decode(ByteBuffer.wrap(frame1)),
+            "Client which joined in the middle of the stream should wait for the key frame");
+        assertTrue(e.getMessage().contains("key frame"));
+        decoder.decode(ByteBuffer.wrap(frame2));
+        assertArrayEquals(list, target.lists.get(0));
+
+        final ImDrawDataDecoder fromStart = new ImDrawDataDecoder(new RecordingTarget(2));
+        fromStart.decode(ByteBuffer.wrap(frame0));
+        fromStart.decode(ByteBuffer.wrap(frame1));
+        assertEquals(2, fromStart.getFrameCount());
+    }
+
+    @Test
+    public void testTruncatedStream() throws IOException {
+        final byte[] frame = copy(new ImDrawDataEncoder().encode(new byte[][]{list(3, new int[]{0, 1, 2}, 2, 0, 3, 0)}, 2, 1, 1));
+        final PipedOutputStream out = new PipedOutputStream();
+        final PipedInputStream in = new PipedInputStream(out, 1 << 16);
+        out.write(frame, 0, frame.length - 1);
+        out.close();
+
+        assertThrows(EOFException.class, () -> new ImDrawDataDecoder(new RecordingTarget(2)).decode(in));
+    }
+
+    @Test
+    public void testMalformedCommands() {
+        // Index range of the command is longer than the index buffer
+        assertMalformed(list(3, new int[]{0, 1, 2}, 2, 0, 6, 0), 2, 2, "out of the index buffer");
+        assertMalformed(list(3, new int[]{0, 1, 2}, 2, 3, 3, 0), 2, 2, "out of the index buffer");
+        // Vertex offset of the command is after the vertex buffer
+        assertMalformed(list(3, new int[]{0, 1, 2}, 2, 0, 3, 4), 2, 2, "out of the vertex buffer");
+        // Index refers to the vertex after the vertex buffer
+        assertMalformed(list(3, new int[]{0, 1, 3}, 2, 0, 3, 0), 2, 2, "missing vertex");
+        assertMalformed(list(3, new int[]{0, 1, 2}, 4, 0, 3, 1), 4, 4, "missing vertex");
+    }
+
+    @Test
+    public void testIndexNarrowing() throws IOException {
+        final byte[] bigList = list(70_000, new int[]{0, 1, 69_999}, 4, 0, 3, 0);
+        assertMalformed(bigList, 4, 2, "can't be addressed");
+
+        final ImDrawDataDecoder decoder = new ImDrawDataDecoder(new RecordingTarget(4));
+        decoder.decode(new ImDrawDataEncoder().encode(new byte[][]{bigList}, 4, 1, 1));
+        assertEquals(1, decoder.getFrameCount(), "32-bit indices should be accepted by the 32-bit target");
+
+        final ImDrawDataDecoder narrowing = new ImDrawDataDecoder(new RecordingTarget(2));
+        narrowing.decode(new ImDrawDataEncoder().encode(new byte[][]{list(3, new int[]{0, 1, 2}, 4, 0, 3, 0)}, 4, 1, 1));
+        assertEquals(1, narrowing.getFrameCount(), "Small lists with 32-bit indices should be accepted by the 16-bit target");
+    }
+
+    private static void assertMalformed(final byte[] list, final int idxSize, final int targetIdxSize, final String reason) {
+        final ByteBuffer frame = new ImDrawDataEncoder().encode(new byte[][]{list}, idxSize, 1, 1);
+        final ImDrawDataDecoder decoder = new ImDrawDataDecoder(new RecordingTarget(targetIdxSize));
+        final IOException e = assertThrows(IOException.class, () -> decoder.decode(frame));
+        assertTrue(e.getMessage().startsWith("Malformed frame") && e.getMessage().contains(reason), e.getMessage());
+    }
+
+    // Commands are described as triples: idxOffset, elemCount, vtxOffset
+    private static byte[] list(final int vtxCount, final int[] indices, final int idxSize, final int... cmds) {
+        final int cmdCount = cmds.length / 3;
+        final int size = ImDrawDataEncoder.LIST_DATA_HEADER_SIZE + cmdCount * ImDrawData.SIZEOF_CMD_DATA
+            + vtxCount * ImDrawData.SIZEOF_IM_DRAW_VERT + indices.length * idxSize;
+        final byte[] data = new byte[size];
+        ImDrawDataEncoder.putInt(data, 0, cmdCount);
+        ImDrawDataEncoder.putInt(data, 4, vtxCount);
+        ImDrawDataEncoder.putInt(data, 8, indices.length);
+
+        for (int i = 0; i < cmdCount; i++) {
+            final int record = ImDrawDataEncoder.LIST_DATA_HEADER_SIZE + i * ImDrawData.SIZEOF_CMD_DATA;
+            ImDrawDataEncoder.putInt(data, record + ImDrawData.CMD_DATA_IDX_OFFSET_OFFSET, cmds[i * 3]);
+            ImDrawDataEncoder.putInt(data, record + ImDrawData.CMD_DATA_ELEM_COUNT_OFFSET, cmds[i * 3 + 1]);
+            ImDrawDataEncoder.putInt(data, record + ImDrawData.CMD_DATA_VTX_OFFSET_OFFSET, cmds[i * 3 + 2]);
+        }
+
+        int pos = size - indices.length * idxSize;
+        for (int index : indices) {
+            if (idxSize == 2) {
+                data[pos] = (byte) index;
+                data[pos + 1] = (byte) (index >>> 8);
+            } else {
+                ImDrawDataEncoder.putInt(data, pos, index);
+            }
+            pos += idxSize;
+        }
+        return data;
+    }
+
+    private static void write(final ByteBuffer frame, final PipedOutputStream out) throws IOException {
+        out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+    }
+
+    private static byte[] copy(final ByteBuffer frame) {
+        final byte[] data = new byte[frame.remaining()];
+        frame.get(data);
+        return data;
+    }
+
+    private static final class RecordingTarget implements ImDrawDataDecoder.FrameTarget {
+        final int idxSize;
+        final List<byte[]> lists = new ArrayList<>();
+        int cmdListsCount;
+        float displaySizeX;
+
+        RecordingTarget(final int idxSize) {
+            this.idxSize = idxSize;
+        }
+
+        @Override
+        public int getIdxSize() {
+            return idxSize;
+        }
+
+        @Override
+        public void setCmdList(final int cmdListIdx, final ByteBuffer data, final int cmdOffset, final int cmdCount,
+                               final int vtxOffset, final int vtxCount, final int idxOffset, final int idxCount, final int idxSize) {
+            final byte[] list = new byte[idxOffset + idxCount * idxSize];
+            for (int i = 0; i < list.length; i++) {
+                list[i] = data.get(i);
+            }
+            while (lists.size() <= cmdListIdx) {
+                lists.add(null);
+            }
+            lists.set(cmdListIdx, list);
+        }
+
+        @Override
+        public void setFrame(final int cmdListsCount, final float displayPosX, final float displayPosY, final float displaySizeX,
+                             final float displaySizeY, final float framebufferScaleX, final float framebufferScaleY) {
+            this.cmdListsCount = cmdListsCount;
+            this.displaySizeX = displaySizeX;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package imgui.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Lz4Test {
+    private final Lz4 lz4 = new Lz4();
+
+    @Test
+    public void testRoundTrip() {
+        final Random random = new Random(42);
+
+        assertRoundTrip(new byte[0]);
+        assertRoundTrip(new byte[]{1, 2, 3});
+
+        final byte[] zeros = new byte[100_000];
+        assertRoundTrip(zeros);
+
+        final byte[] noise = new byte[10_000];
+        random.nextBytes(noise);
+        assertRoundTrip(noise);
+
+        // Repeated vertices with a few changed bytes, similar to the delta encoded draw data
+        final byte[] vertices = new byte[70_000];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = (byte) (i % 20 == 0 ? random.nextInt() : i % 7);
+        }
+        assertRoundTrip(vertices);
+    }
+
+    @Test
+    public void testCompression() {
+        final byte[] zeros = new byte[100_000];
+        final byte[] compressed = new byte[Lz4.maxCompressedLength(zeros.length)];
+        final int compressedSize = lz4.compress(zeros, 0, zeros.length, compressed, 0);
+        assertTrue(compressedSize < zeros.length / 100, "Zeros should be compressed well, but size is " + compressedSize);
+    }
+
+    @Test
+    public void testMalformed() {
+        final byte[] src = new byte[1000];
+        final byte[] compressed = new byte[Lz4.maxCompressedLength(src.length)];
+        final int compressedSize = lz4.compress(src, 0, src.length, compressed, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> Lz4.decompress(compressed, 0, compressedSize - 1, new byte[src.length], 0, src.length));
+        assertThrows(IllegalArgumentException.class, () -> Lz4.decompress(compressed, 0, compressedSize, new byte[src.length], 0, src.length - 1));
+    }
+
+    private void assertRoundTrip(final byte[] src) {
+        final byte[] compressed = new byte[Lz4.maxCompressedLength(src.length) + 3];
+        final int compressedSize = lz4.compress(src, 0, src.length, compressed, 3);
+
+        final byte[] decompressed = new byte[src.length];
+        Lz4.decompress(compressed, 3, compressedSize, decompressed, 0, src.length);
+        assertArrayEquals(src, decompressed);
+    }
+}
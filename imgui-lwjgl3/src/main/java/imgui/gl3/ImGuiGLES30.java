@@ -1,12 +1,13 @@
 package imgui.gl3;
 
 import imgui.ImDrawData;
+import imgui.ImDrawDataChangeTracker;
 import imgui.ImFontAtlas;
 import imgui.ImGui;
+import imgui.ImGuiContext;
 import imgui.ImGuiIO;
 import imgui.ImGuiViewport;
 import imgui.ImVec2;
-import imgui.ImVec4;
 import imgui.callback.ImPlatformFuncViewport;
 import imgui.flag.ImGuiConfigFlags;
 import imgui.flag.ImGuiViewportFlags;
@@ -14,16 +15,28 @@ import imgui.type.ImInt;
 import imgui.flag.ImGuiBackendFlags;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.lwjgl.opengles.EXTDrawElementsBaseVertex;
+import org.lwjgl.opengles.GLES;
 import org.lwjgl.opengles.GLES30;
+import org.lwjgl.opengles.GLES32;
+import org.lwjgl.opengles.GLESCapabilities;
+import org.lwjgl.opengles.OESDrawElementsBaseVertex;
 
 /**
  * This class is a straightforward port of the
  * <a href="https://raw.githubusercontent.com/ocornut/imgui/05bc204dbd80dfebb3dab1511caf1cb980620c76/examples/imgui_impl_opengl3.cpp">imgui_impl_opengl3.cpp</a>.
  * <p>
  * It do support a backup and restoring of the GL state in the same way the original Dear ImGui code does.
+ * If your application sets up the whole GL state by itself every frame, the restoring could be disabled
+ * with the {@link #setRestoreGlState(boolean)} method to avoid a bunch of synchronous glGet* queries.
+ * For mostly static UIs, GPU buffers could be kept per command list with the {@link #setCacheCmdListBuffers(boolean)} method,
+ * so only changed command lists are uploaded every frame.
  * Some of the very specific OpenGL variables may be ignored here,
  * yet you can copy-paste this class in your codebase and modify the rendering routine in the way you'd like.
  * <p>
@@ -33,7 +46,19 @@ import org.lwjgl.opengles.GLES30;
 @SuppressWarnings("MagicNumber")
 public final class ImGuiGLES30
 {
+    private static final int CMD_DATA_RESIZE_FACTOR = 100 * ImDrawData.SIZEOF_CMD_DATA;
+    private static final int BUFFER_MIN_CAPACITY = 64 * 1024;
+    private static final int BUFFER_MAP_ACCESS = GLES30.GL_MAP_WRITE_BIT | GLES30.GL_MAP_INVALIDATE_BUFFER_BIT;
+
+    // Available implementations of the glDrawElementsBaseVertex
+    private static final int DRAW_ELEMENTS_BASE_VERTEX_NONE = 0;
+    private static final int DRAW_ELEMENTS_BASE_VERTEX_CORE = 1;
+    private static final int DRAW_ELEMENTS_BASE_VERTEX_EXT = 2;
+    private static final int DRAW_ELEMENTS_BASE_VERTEX_OES = 3;
+
     // OpenGL Data
+    private int glVersion = 0;
+    private int drawElementsBaseVertex = DRAW_ELEMENTS_BASE_VERTEX_NONE;
     private String glslVersion = "";
     private int gFontTexture = 0;
     private int gShaderHandle = 0;
@@ -46,15 +71,29 @@ public final class ImGuiGLES30
     private int gAttribLocationVtxColor = 0;
     private int gVboHandle = 0;
     private int gElementsHandle = 0;
+    private int gVboCapacity = 0;
+    private int gElementsCapacity = 0;
     private int gVertexArrayObjectHandle = 0;
+    private boolean restoreGlState = true;
+    private boolean cacheCmdListBuffers = false;
+
+    // VAO are not shared among GL contexts, so we keep one per viewport (every viewport has its own context).
+    // Draw data without the owner viewport (e.g. decoded from a stream) is rendered into the context of the main window with the VAO stored by 0 key.
+    // Viewports are grouped by their Dear ImGui context, since IDs of viewports are the same in different contexts (e.g. the main viewport).
+    private final Map<ImGuiContext, Map<Integer, Integer>> vertexArrayObjects = new HashMap<>();
+
+    // GPU buffers of command lists, used when the caching is enabled. Every viewport renders its own draw data, so they are kept per viewport too.
+    private final Map<ImGuiContext, Map<Integer, CmdListBuffers>> cmdListBuffers = new HashMap<>();
 
     // Used to store tmp renderer data
     private final ImVec2 displaySize = new ImVec2();
     private final ImVec2 framebufferScale = new ImVec2();
     private final ImVec2 displayPos = new ImVec2();
-    private final ImVec4 clipRect = new ImVec4();
     private final float[] orthoProjMatrix = new float[4 * 4];
 
+    // Packed data of all draw commands, see ImDrawData#getCmdBufferData(ByteBuffer)
+    private ByteBuffer cmdData = ByteBuffer.allocateDirect(CMD_DATA_RESIZE_FACTOR).order(ByteOrder.nativeOrder());
+
     // Variables used to backup GL state before and after the rendering of Dear ImGui
     private final int[] lastActiveTexture = new int[1];
     private final int[] lastProgram = new int[1];
@@ -149,53 +188,269 @@ public final class ImGuiGLES30
 
         drawData.getDisplayPos(displayPos);
 
-        backupGlState();
-        bind(fbWidth, fbHeight);
-
-        // Render command lists
-        for (int cmdListIdx = 0; cmdListIdx < drawData.getCmdListsCount(); cmdListIdx++) {
-            // Upload vertex/index buffers
-            GLES30.glBufferData(GLES30.GL_ARRAY_BUFFER, drawData.getCmdListVtxBufferData(cmdListIdx), GLES30.GL_STREAM_DRAW);
-            GLES30.glBufferData(GLES30.GL_ELEMENT_ARRAY_BUFFER, drawData.getCmdListIdxBufferData(cmdListIdx), GLES30.GL_STREAM_DRAW);
+        if (restoreGlState) {
+            backupGlState();
+        }
+        // Snapshots of frames keep the ID of the viewport, which could be already destroyed, so the viewport itself is not used
+        final ImGuiContext ownerContext = drawData.getOwnerContext();
+        final int viewportId = drawData.getOwnerViewportId();
+        bind(getContextMap(vertexArrayObjects, ownerContext), viewportId, fbWidth, fbHeight);
+
+        final CmdListBuffers buffers;
+        if (cacheCmdListBuffers) {
+            // Upload only command lists changed since the previous frame of the viewport
+            final Map<Integer, CmdListBuffers> contextBuffers = getContextMap(cmdListBuffers, ownerContext);
+            if (!contextBuffers.containsKey(viewportId)) {
+                contextBuffers.put(viewportId, new CmdListBuffers());
+            }
+            buffers = contextBuffers.get(viewportId);
+            uploadCmdListBuffers(buffers, drawData);
+        } else {
+            // Upload vertex/index buffers of all command lists at once
+            buffers = null;
+            uploadBuffers(drawData);
+        }
 
-            for (int cmdBufferIdx = 0; cmdBufferIdx < drawData.getCmdListCmdBufferSize(cmdListIdx); cmdBufferIdx++) {
-                drawData.getCmdListCmdBufferClipRect(cmdListIdx, cmdBufferIdx, clipRect);
+        // Get data of all draw commands with one call
+        final int totalCmdDataSize = drawData.getTotalCmdCount() * ImDrawData.SIZEOF_CMD_DATA;
+        if (cmdData.capacity() < totalCmdDataSize) {
+            cmdData = ByteBuffer.allocateDirect(totalCmdDataSize + CMD_DATA_RESIZE_FACTOR).order(ByteOrder.nativeOrder());
+        }
+        final int cmdCount = drawData.getCmdBufferData(cmdData);
 
-                final float clipRectX = (clipRect.x - displayPos.x) * framebufferScale.x;
-                final float clipRectY = (clipRect.y - displayPos.y) * framebufferScale.y;
-                final float clipRectZ = (clipRect.z - displayPos.x) * framebufferScale.x;
-                final float clipRectW = (clipRect.w - displayPos.y) * framebufferScale.y;
+        // Render command lists
+        // Buffers of all command lists are merged, so we have to track where the current command list starts in them.
+        // Cached buffers are separate for every command list, so they are bound when the command list changes instead.
+        int currentCmdListIdx = -1;
+        int globalVtxOffset = 0;
+        int globalIdxOffset = 0;
+        int nextGlobalVtxOffset = 0;
+        int nextGlobalIdxOffset = 0;
+        int boundVtxOffset = 0;
+
+        // Shadowed state to skip redundant calls when consecutive commands share the texture or the clip rect
+        int boundTextureId = -1;
+        int scissorX = -1;
+        int scissorY = -1;
+        int scissorWidth = -1;
+        int scissorHeight = -1;
+
+        final int idxType = ImDrawData.getSizeOfImDrawIdx() == 2 ? GLES30.GL_UNSIGNED_SHORT : GLES30.GL_UNSIGNED_INT;
+
+        for (int cmdIdx = 0; cmdIdx < cmdCount; cmdIdx++) {
+            final int record = cmdIdx * ImDrawData.SIZEOF_CMD_DATA;
+            final int cmdListIdx = cmdData.getInt(record + ImDrawData.CMD_DATA_CMD_LIST_IDX_OFFSET);
+
+            if (buffers != null) {
+                if (currentCmdListIdx != cmdListIdx) {
+                    currentCmdListIdx = cmdListIdx;
+                    GLES30.glBindBuffer(GLES30.GL_ARRAY_BUFFER, buffers.vboHandles[cmdListIdx]);
+                    GLES30.glBindBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER, buffers.elementsHandles[cmdListIdx]);
+                    setupVertexAttribPointers(0);
+                    boundVtxOffset = 0;
+                }
+            } else {
+                while (currentCmdListIdx < cmdListIdx) {
+                    currentCmdListIdx++;
+                    globalVtxOffset = nextGlobalVtxOffset;
+                    globalIdxOffset = nextGlobalIdxOffset;
+                    nextGlobalVtxOffset += drawData.getCmdListVtxBufferSize(currentCmdListIdx);
+                    nextGlobalIdxOffset += drawData.getCmdListIdxBufferSize(currentCmdListIdx);
+                }
+            }
 
-                if (clipRectX < fbWidth && clipRectY < fbHeight && clipRectZ >= 0.0f && clipRectW >= 0.0f) {
-                    // Apply scissor/clipping rectangle
-                    GLES30.glScissor((int) clipRectX, (int) (fbHeight - clipRectW), (int) (clipRectZ - clipRectX), (int) (clipRectW - clipRectY));
+            final int clipRectOffset = record + ImDrawData.CMD_DATA_CLIP_RECT_OFFSET;
+            final float clipRectX = (cmdData.getFloat(clipRectOffset) - displayPos.x) * framebufferScale.x;
+            final float clipRectY = (cmdData.getFloat(clipRectOffset + 4) - displayPos.y) * framebufferScale.y;
+            final float clipRectZ = (cmdData.getFloat(clipRectOffset + 8) - displayPos.x) * framebufferScale.x;
+            final float clipRectW = (cmdData.getFloat(clipRectOffset + 12) - displayPos.y) * framebufferScale.y;
+
+            if (clipRectX < fbWidth && clipRectY < fbHeight && clipRectZ >= 0.0f && clipRectW >= 0.0f) {
+                // Apply scissor/clipping rectangle
+                final int x = (int) clipRectX;
+                final int y = (int) (fbHeight - clipRectW);
+                final int width = (int) (clipRectZ - clipRectX);
+                final int height = (int) (clipRectW - clipRectY);
+                if (x != scissorX || y != scissorY || width != scissorWidth || height != scissorHeight) {
+                    GLES30.glScissor(x, y, width, height);
+                    scissorX = x;
+                    scissorY = y;
+                    scissorWidth = width;
+                    scissorHeight = height;
+                }
 
-                    // Bind texture, Draw
-                    final int textureId = drawData.getCmdListCmdBufferTextureId(cmdListIdx, cmdBufferIdx);
-                    final int elemCount = drawData.getCmdListCmdBufferElemCount(cmdListIdx, cmdBufferIdx);
-                    final int idxBufferOffset = drawData.getCmdListCmdBufferIdxOffset(cmdListIdx, cmdBufferIdx);
-                    final int vtxBufferOffset = drawData.getCmdListCmdBufferVtxOffset(cmdListIdx, cmdBufferIdx);
-                    final int indices = idxBufferOffset * ImDrawData.SIZEOF_IM_DRAW_IDX;
+                // Bind texture, Draw
+                final int textureId = cmdData.getInt(record + ImDrawData.CMD_DATA_TEXTURE_ID_OFFSET);
+                final int elemCount = cmdData.getInt(record + ImDrawData.CMD_DATA_ELEM_COUNT_OFFSET);
+                final int idxBufferOffset = globalIdxOffset + cmdData.getInt(record + ImDrawData.CMD_DATA_IDX_OFFSET_OFFSET);
+                final int vtxBufferOffset = globalVtxOffset + cmdData.getInt(record + ImDrawData.CMD_DATA_VTX_OFFSET_OFFSET);
+                final int indices = idxBufferOffset * ImDrawData.getSizeOfImDrawIdx();
 
+                if (textureId != boundTextureId) {
                     GLES30.glBindTexture(GLES30.GL_TEXTURE_2D, textureId);
+                    boundTextureId = textureId;
+                }
 
-//                    if (GLES30.glVersion >= 320) {
-//                        GLES30.glDrawElementsBaseVertex(GLES30.GL_TRIANGLES, elemCount, GLES30.GL_UNSIGNED_SHORT, indices, vtxBufferOffset);
-//                    } else {
-                        GLES30.glDrawElements(GLES30.GL_TRIANGLES, elemCount, GLES30.GL_UNSIGNED_SHORT, indices);
-//                    }
+                // Indices are relative to the start of the command list vertices (plus the command VtxOffset)
+                switch (drawElementsBaseVertex) {
+                    case DRAW_ELEMENTS_BASE_VERTEX_CORE:
+                        GLES32.glDrawElementsBaseVertex(GLES30.GL_TRIANGLES, elemCount, idxType, indices, vtxBufferOffset);
+                        break;
+                    case DRAW_ELEMENTS_BASE_VERTEX_EXT:
+                        EXTDrawElementsBaseVertex.glDrawElementsBaseVertexEXT(GLES30.GL_TRIANGLES, elemCount, idxType, indices, vtxBufferOffset);
+                        break;
+                    case DRAW_ELEMENTS_BASE_VERTEX_OES:
+                        OESDrawElementsBaseVertex.glDrawElementsBaseVertexOES(GLES30.GL_TRIANGLES, elemCount, idxType, indices, vtxBufferOffset);
+                        break;
+                    default:
+                        // No base vertex support, so point vertex attributes to the first vertex instead
+                        if (vtxBufferOffset != boundVtxOffset) {
+                            setupVertexAttribPointers(vtxBufferOffset);
+                            boundVtxOffset = vtxBufferOffset;
+                        }
+                        GLES30.glDrawElements(GLES30.GL_TRIANGLES, elemCount, idxType, indices);
+                        break;
                 }
             }
         }
 
-        unbind();
-        restoreModifiedGlState();
+        if (restoreGlState) {
+            restoreModifiedGlState();
+        }
+    }
+
+    private void uploadBuffers(final ImDrawData drawData) {
+        final int vtxBufferSize = drawData.getTotalVtxCount() * ImDrawData.SIZEOF_IM_DRAW_VERT;
+        final int idxBufferSize = drawData.getTotalIdxCount() * ImDrawData.getSizeOfImDrawIdx();
+
+        // Buffers storage is respecified only when it's not enough to keep the frame data
+        gVboCapacity = ensureBufferCapacity(GLES30.GL_ARRAY_BUFFER, gVboCapacity, vtxBufferSize);
+        gElementsCapacity = ensureBufferCapacity(GLES30.GL_ELEMENT_ARRAY_BUFFER, gElementsCapacity, idxBufferSize);
+
+        if (vtxBufferSize == 0 || idxBufferSize == 0) {
+            return;
+        }
+
+        final ByteBuffer vtxBuffer = GLES30.glMapBufferRange(GLES30.GL_ARRAY_BUFFER, 0, vtxBufferSize, BUFFER_MAP_ACCESS);
+        if (vtxBuffer != null) {
+            drawData.getVtxBufferData(vtxBuffer);
+            GLES30.glUnmapBuffer(GLES30.GL_ARRAY_BUFFER);
+        } else {
+            uploadBuffersByCmdList(drawData, GLES30.GL_ARRAY_BUFFER);
+        }
+
+        final ByteBuffer idxBuffer = GLES30.glMapBufferRange(GLES30.GL_ELEMENT_ARRAY_BUFFER, 0, idxBufferSize, BUFFER_MAP_ACCESS);
+        if (idxBuffer != null) {
+            drawData.getIdxBufferData(idxBuffer);
+            GLES30.glUnmapBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER);
+        } else {
+            uploadBuffersByCmdList(drawData, GLES30.GL_ELEMENT_ARRAY_BUFFER);
+        }
+    }
+
+    private void uploadCmdListBuffers(final CmdListBuffers buffers, final ImDrawData drawData) {
+        final ImDrawDataChangeTracker changeTracker = buffers.changeTracker;
+        changeTracker.update(drawData);
+
+        final int cmdListsCount = drawData.getCmdListsCount();
+        buffers.ensureCapacity(cmdListsCount);
+
+        for (int cmdListIdx = 0; cmdListIdx < cmdListsCount; cmdListIdx++) {
+            if (changeTracker.isCmdListChanged(cmdListIdx)) {
+                GLES30.glBindBuffer(GLES30.GL_ARRAY_BUFFER, buffers.vboHandles[cmdListIdx]);
+                GLES30.glBufferData(GLES30.GL_ARRAY_BUFFER, drawData.getCmdListVtxBufferView(cmdListIdx), GLES30.GL_DYNAMIC_DRAW);
+                GLES30.glBindBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER, buffers.elementsHandles[cmdListIdx]);
+                GLES30.glBufferData(GLES30.GL_ELEMENT_ARRAY_BUFFER, drawData.getCmdListIdxBufferView(cmdListIdx), GLES30.GL_DYNAMIC_DRAW);
+            }
+        }
+    }
+
+    // Fallback for drivers which were unable to map the buffer
+    private void uploadBuffersByCmdList(final ImDrawData drawData, final int target) {
+        long offset = 0;
+        for (int cmdListIdx = 0; cmdListIdx < drawData.getCmdListsCount(); cmdListIdx++) {
+            final ByteBuffer data = target == GLES30.GL_ARRAY_BUFFER
+                ? drawData.getCmdListVtxBufferView(cmdListIdx)
+                : drawData.getCmdListIdxBufferView(cmdListIdx);
+            GLES30.glBufferSubData(target, offset, data);
+            offset += data.remaining();
+        }
+    }
+
+    private int ensureBufferCapacity(final int target, final int capacity, final int requiredCapacity) {
+        if (capacity >= requiredCapacity) {
+            return capacity;
+        }
+
+        int newCapacity = Math.max(capacity, BUFFER_MIN_CAPACITY);
+        while (newCapacity < requiredCapacity) {
+            newCapacity *= 2;
+        }
+
+        GLES30.glBufferData(target, newCapacity, GLES30.GL_STREAM_DRAW);
+        return newCapacity;
+    }
+
+    /**
+     * Defines whether the GL state modified by the {@link #renderDrawData(ImDrawData)} should be restored afterwards.
+     * Enabled by default. Disable it when the application sets up the GL state it needs by itself,
+     * so the renderer will skip querying of the state on every call.
+     * <p>
+     * When disabled, the renderer leaves its program, VAO, buffers, texture and blend/scissor state bound.
+     */
+    public void setRestoreGlState(final boolean restoreGlState) {
+        this.restoreGlState = restoreGlState;
+    }
+
+    /**
+     * @return true if the GL state is restored after the rendering of the draw data
+     */
+    public boolean isRestoreGlState() {
+        return restoreGlState;
+    }
+
+    /**
+     * Defines whether GPU buffers should be kept per command list between frames. Disabled by default.
+     * When enabled, every frame command lists are compared with the previous frame of the same viewport by their hashes
+     * (see {@link ImDrawDataChangeTracker}) and only changed ones are uploaded. It saves the bandwidth when most of the UI is static,
+     * but costs more draw calls setup, since buffers are rebound for every command list.
+     * <p>
+     * Cached buffers are released with the {@link #dispose()} method.
+     */
+    public void setCacheCmdListBuffers(final boolean cacheCmdListBuffers) {
+        this.cacheCmdListBuffers = cacheCmdListBuffers;
+    }
+
+    /**
+     * @return true if GPU buffers are kept per command list and only changed command lists are uploaded
+     */
+    public boolean isCacheCmdListBuffers() {
+        return cacheCmdListBuffers;
     }
 
     /**
      * Call this method in the end of your application cycle to dispose resources used by {@link ImGuiGLES30}.
+     * Should be called with the main context being current, since vertex array objects of other contexts are destroyed together with them.
      */
     public void dispose() {
+        final int mainViewportId = ImGui.getMainViewport().getID();
+        for (Map<Integer, Integer> contextVertexArrayObjects : vertexArrayObjects.values()) {
+            final Integer mainVertexArrayObject = contextVertexArrayObjects.get(mainViewportId);
+            if (mainVertexArrayObject != null) {
+                GLES30.glDeleteVertexArrays(mainVertexArrayObject);
+            }
+            final Integer noViewportVertexArrayObject = contextVertexArrayObjects.get(0);
+            if (noViewportVertexArrayObject != null) {
+                GLES30.glDeleteVertexArrays(noViewportVertexArrayObject);
+            }
+        }
+        vertexArrayObjects.clear();
+        for (Map<Integer, CmdListBuffers> contextBuffers : cmdListBuffers.values()) {
+            for (CmdListBuffers buffers : contextBuffers.values()) {
+                buffers.delete();
+            }
+        }
+        cmdListBuffers.clear();
         GLES30.glDeleteBuffers(gVboHandle);
         GLES30.glDeleteBuffers(gElementsHandle);
         GLES30.glDetachShader(gShaderHandle, gVertHandle);
@@ -232,16 +487,27 @@ public final class ImGuiGLES30
         final int[] minor = new int[1];
         GLES30.glGetIntegerv(GLES30.GL_MAJOR_VERSION, major);
         GLES30.glGetIntegerv(GLES30.GL_MINOR_VERSION, minor);
+        glVersion = major[0] * 100 + minor[0] * 10;
+
+        final GLESCapabilities caps = GLES.getCapabilities();
+        if (glVersion >= 320) {
+            drawElementsBaseVertex = DRAW_ELEMENTS_BASE_VERTEX_CORE;
+        } else if (caps.GL_EXT_draw_elements_base_vertex) {
+            drawElementsBaseVertex = DRAW_ELEMENTS_BASE_VERTEX_EXT;
+        } else if (caps.GL_OES_draw_elements_base_vertex) {
+            drawElementsBaseVertex = DRAW_ELEMENTS_BASE_VERTEX_OES;
+        } else {
+            drawElementsBaseVertex = DRAW_ELEMENTS_BASE_VERTEX_NONE;
+        }
     }
 
     private void setupBackendCapabilitiesFlags() {
         final ImGuiIO io = ImGui.getIO();
         io.setBackendRendererName("imgui_java_impl_opnegl3");
 
-//        // We can honor the ImDrawCmd::VtxOffset field, allowing for large meshes.
-//        if (GLES30.glVersion >= 320) {
-//            io.addBackendFlags(ImGuiBackendFlags.RendererHasVtxOffset);
-//        }
+        // We can honor the ImDrawCmd::VtxOffset field, allowing for large meshes.
+        // It's passed to glDrawElementsBaseVertex when available, otherwise vertex attributes are pointed to the offset.
+        io.addBackendFlags(ImGuiBackendFlags.RendererHasVtxOffset);
 
         // We can create multi-viewports on the Renderer side (optional)
         io.addBackendFlags(ImGuiBackendFlags.RendererHasViewports);
@@ -320,7 +586,6 @@ public final class ImGuiGLES30
 
     private void backupGlState() {
         GLES30.glGetIntegerv(GLES30.GL_ACTIVE_TEXTURE, lastActiveTexture);
-        GLES30.glActiveTexture(GLES30.GL_TEXTURE0);
         GLES30.glGetIntegerv(GLES30.GL_CURRENT_PROGRAM, lastProgram);
         GLES30.glGetIntegerv(GLES30.GL_TEXTURE_BINDING_2D, lastTexture);
         GLES30.glGetIntegerv(GLES30.GL_ARRAY_BUFFER_BINDING, lastArrayBuffer);
@@ -357,11 +622,28 @@ public final class ImGuiGLES30
         GLES30.glScissor(lastScissorBox[0], lastScissorBox[1], lastScissorBox[2], lastScissorBox[3]);
     }
 
+    private static <T> Map<Integer, T> getContextMap(final Map<ImGuiContext, Map<Integer, T>> maps, final ImGuiContext ctx) {
+        Map<Integer, T> map = maps.get(ctx);
+        if (map == null) {
+            map = new HashMap<>();
+            maps.put(ctx, map);
+        }
+        return map;
+    }
+
     // Setup desired GL state
-    private void bind(final int fbWidth, final int fbHeight) {
-        // Recreate the VAO every time (this is to easily allow multiple GL contexts to be rendered to. VAO are not shared among GL contexts)
+    private void bind(final Map<Integer, Integer> contextVertexArrayObjects, final int viewportId, final int fbWidth, final int fbHeight) {
         // The renderer would actually work without any VAO bound, but then our VertexAttrib calls would overwrite the default one currently bound.
-        gVertexArrayObjectHandle = GLES30.glGenVertexArrays();
+        final Integer vertexArrayObject = contextVertexArrayObjects.get(viewportId);
+        final boolean isNewVertexArrayObject = vertexArrayObject == null;
+        if (isNewVertexArrayObject) {
+            gVertexArrayObjectHandle = GLES30.glGenVertexArrays();
+            contextVertexArrayObjects.put(viewportId, gVertexArrayObjectHandle);
+        } else {
+            gVertexArrayObjectHandle = vertexArrayObject;
+        }
+
+        GLES30.glActiveTexture(GLES30.GL_TEXTURE0);
 
         // Setup render state: alpha-blending enabled, no face culling, no depth testing, scissor enabled, polygon fill
         GLES30.glEnable(GLES30.GL_BLEND);
@@ -398,17 +680,19 @@ public final class ImGuiGLES30
         // Bind vertex/index buffers and setup attributes for ImDrawVert
         GLES30.glBindBuffer(GLES30.GL_ARRAY_BUFFER, gVboHandle);
         GLES30.glBindBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER, gElementsHandle);
-        GLES30.glEnableVertexAttribArray(gAttribLocationVtxPos);
-        GLES30.glEnableVertexAttribArray(gAttribLocationVtxUV);
-        GLES30.glEnableVertexAttribArray(gAttribLocationVtxColor);
-        GLES30.glVertexAttribPointer(gAttribLocationVtxPos, 2, GLES30.GL_FLOAT, false, ImDrawData.SIZEOF_IM_DRAW_VERT, 0);
-        GLES30.glVertexAttribPointer(gAttribLocationVtxUV, 2, GLES30.GL_FLOAT, false, ImDrawData.SIZEOF_IM_DRAW_VERT, 8);
-        GLES30.glVertexAttribPointer(gAttribLocationVtxColor, 4, GLES30.GL_UNSIGNED_BYTE, true, ImDrawData.SIZEOF_IM_DRAW_VERT, 16);
+        if (isNewVertexArrayObject) {
+            GLES30.glEnableVertexAttribArray(gAttribLocationVtxPos);
+            GLES30.glEnableVertexAttribArray(gAttribLocationVtxUV);
+            GLES30.glEnableVertexAttribArray(gAttribLocationVtxColor);
+        }
+        setupVertexAttribPointers(0);
     }
 
-    private void unbind() {
-        // Destroy the temporary VAO
-        GLES30.glDeleteVertexArrays(gVertexArrayObjectHandle);
+    private void setupVertexAttribPointers(final int vtxOffset) {
+        final long vtxOffsetBytes = (long) vtxOffset * ImDrawData.SIZEOF_IM_DRAW_VERT;
+        GLES30.glVertexAttribPointer(gAttribLocationVtxPos, 2, GLES30.GL_FLOAT, false, ImDrawData.SIZEOF_IM_DRAW_VERT, vtxOffsetBytes);
+        GLES30.glVertexAttribPointer(gAttribLocationVtxUV, 2, GLES30.GL_FLOAT, false, ImDrawData.SIZEOF_IM_DRAW_VERT, vtxOffsetBytes + 8);
+        GLES30.glVertexAttribPointer(gAttribLocationVtxColor, 4, GLES30.GL_UNSIGNED_BYTE, true, ImDrawData.SIZEOF_IM_DRAW_VERT, vtxOffsetBytes + 16);
     }
 
     //--------------------------------------------------------------------------------------------------------
@@ -428,6 +712,51 @@ public final class ImGuiGLES30
                 renderDrawData(vp.getDrawData());
             }
         });
+        ImGui.getPlatformIO().setRendererDestroyWindow(new ImPlatformFuncViewport() {
+            @Override
+            public void accept(final ImGuiViewport vp) {
+                // The VAO is destroyed together with the context of the viewport window, so only forget about it
+                final ImGuiContext ctx = ImGui.getCurrentContext();
+                getContextMap(vertexArrayObjects, ctx).remove(vp.getID());
+                final CmdListBuffers buffers = getContextMap(cmdListBuffers, ctx).remove(vp.getID());
+                if (buffers != null) {
+                    buffers.delete();
+                }
+            }
+        });
+    }
+
+    // Vertex and index buffers of every command list of a viewport, with hashes of the data they contain
+    private static final class CmdListBuffers {
+        final ImDrawDataChangeTracker changeTracker = new ImDrawDataChangeTracker();
+        int[] vboHandles = new int[0];
+        int[] elementsHandles = new int[0];
+
+        void ensureCapacity(final int cmdListsCount) {
+            final int capacity = vboHandles.length;
+            if (capacity >= cmdListsCount) {
+                return;
+            }
+
+            final int newCapacity = Math.max(cmdListsCount, capacity * 2);
+            final int[] newVboHandles = new int[newCapacity];
+            final int[] newElementsHandles = new int[newCapacity];
+            System.arraycopy(vboHandles, 0, newVboHandles, 0, capacity);
+            System.arraycopy(elementsHandles, 0, newElementsHandles, 0, capacity);
+            for (int i = capacity; i < newCapacity; i++) {
+                newVboHandles[i] = GLES30.glGenBuffers();
+                newElementsHandles[i] = GLES30.glGenBuffers();
+            }
+            vboHandles = newVboHandles;
+            elementsHandles = newElementsHandles;
+        }
+
+        void delete() {
+            GLES30.glDeleteBuffers(vboHandles);
+            GLES30.glDeleteBuffers(elementsHandles);
+            vboHandles = new int[0];
+            elementsHandles = new int[0];
+        }
     }
 
     private void shutdownPlatformInterface() {
@@ -2,6 +2,8 @@ package imgui.glfw;
 
 import imgui.ImGui;
 import imgui.ImGuiIO;
+import imgui.ImGuiIOInput;
+import imgui.ImGuiInputQueue;
 import imgui.ImGuiPlatformIO;
 import imgui.ImGuiViewport;
 import imgui.ImVec2;
@@ -35,6 +37,25 @@ import static org.lwjgl.system.MemoryUtil.NULL;
  * <p>
  * It supports clipboard, gamepad, mouse and keyboard in the same way the original Dear ImGui code does. You can copy-paste this class in your codebase and
  * modify the rendering routine in the way you'd like.
+ * <p>
+ * Input callbacks don't touch the {@link ImGuiIO}: events are added into the {@link ImGuiInputQueue} and applied all at once in the {@link #newFrame()}.
+ * Events from other sources could be added into the same queue, see {@link #getInputQueue()}.
+ * <p>
+ * By default the application is expected to poll events and render frames continuously. For UIs which are idle most of the time
+ * the idle mode could be enabled with the {@link #setIdleWaitEnabled(boolean)}. Then the {@link #waitEvents()} method should be used
+ * instead of the glfwPollEvents(): it sleeps until the input arrives, while nothing could change on the screen.
+ * <pre>
+ * imGuiGlfw.setIdleWaitEnabled(true);
+ * while (!glfwWindowShouldClose(window)) {
+ *     imGuiGlfw.newFrame();
+ *     ImGui.newFrame();
+ *     ...
+ *     ImGui.render();
+ *     imGuiGl3.renderDrawData(ImGui.getDrawData());
+ *     glfwSwapBuffers(window);
+ *     imGuiGlfw.waitEvents();
+ * }
+ * </pre>
  */
 public class ImGuiGLFW
 {
@@ -52,11 +73,16 @@ public class ImGuiGLFW
     // Mouse cursors provided by GLFW
     private final long[] mouseCursors = new long[ImGuiMouseCursor.COUNT];
 
-    // Empty array to fill ImGuiIO.NavInputs with zeroes
-    private final float[] emptyNavInputs = new float[ImGuiNavInput.COUNT];
+    // Per-frame values of the ImGuiIO, uploaded with one native call
+    private final ImGuiIOInput ioInput = new ImGuiIOInput();
+
+    // Input events waiting for the next frame
+    private final ImGuiInputQueue inputQueue = new ImGuiInputQueue();
+
+    // State of keys as reported by callbacks, used to get modifiers without reading the ImGuiIO
+    private final boolean[] keysDown = new boolean[GLFW_KEY_LAST + 1];
 
     // For mouse tracking
-    private final boolean[] mouseJustPressed = new boolean[ImGuiMouseButton.COUNT];
     private final ImVec2 mousePosBackup = new ImVec2();
     private final double[] mouseX = new double[1];
     private final double[] mouseY = new double[1];
@@ -86,6 +112,19 @@ public class ImGuiGLFW
     private boolean wantUpdateMonitors = true;
     private double time = 0.0;
 
+    // Idle mode: a few frames are rendered after every input, since ImGui needs them to settle hovered/active states and window sizes
+    private static final int FRAMES_AFTER_INPUT = 3;
+    // While the text input is active or the gamepad is used, events are waited with a short timeout to blink the cursor and poll the gamepad
+    private static final double ACTIVE_WAIT_TIMEOUT = 0.05;
+
+    private boolean idleWaitEnabled = false;
+    private double idleWaitTimeout = 1.0;
+    private volatile int framesToRender = FRAMES_AFTER_INPUT;
+    private volatile boolean renderRequested = false;
+    // Thread which runs the GLFW event loop, events added by other threads wake it up
+    private Thread eventLoopThread = null;
+    private final int[] prevDisplaySize = new int[2];
+
     /**
      * Method to set the {@link GLFWMouseButtonCallback}.
      */
@@ -94,9 +133,10 @@ public class ImGuiGLFW
             prevUserCallbackMouseButton.invoke(windowId, button, action, mods);
         }
 
-        if (action == GLFW_PRESS && button >= 0 && button < mouseJustPressed.length) {
-            mouseJustPressed[button] = true;
+        if (action == GLFW_PRESS || action == GLFW_RELEASE) {
+            inputQueue.addMouseButtonEvent(button, action == GLFW_PRESS);
         }
+        onInput();
     }
 
     /**
@@ -107,9 +147,8 @@ public class ImGuiGLFW
             prevUserCallbackScroll.invoke(windowId, xOffset, yOffset);
         }
 
-        final ImGuiIO io = ImGui.getIO();
-        io.setMouseWheelH(io.getMouseWheelH() + (float) xOffset);
-        io.setMouseWheel(io.getMouseWheel() + (float) yOffset);
+        inputQueue.addMouseWheelEvent((float) xOffset, (float) yOffset);
+        onInput();
     }
 
     /**
@@ -120,18 +159,28 @@ public class ImGuiGLFW
             prevUserCallbackKey.invoke(windowId, key, scancode, action, mods);
         }
 
-        final ImGuiIO io = ImGui.getIO();
+        if (key < 0 || key >= keysDown.length || action == GLFW_REPEAT) {
+            return;
+        }
+
+        keysDown[key] = action == GLFW_PRESS;
 
-        if (action == GLFW_PRESS) {
-            io.setKeysDown(key, true);
-        } else if (action == GLFW_RELEASE) {
-            io.setKeysDown(key, false);
+        int modifiers = 0;
+        if (keysDown[GLFW_KEY_LEFT_CONTROL] || keysDown[GLFW_KEY_RIGHT_CONTROL]) {
+            modifiers |= ImGuiInputQueue.MOD_CTRL;
+        }
+        if (keysDown[GLFW_KEY_LEFT_SHIFT] || keysDown[GLFW_KEY_RIGHT_SHIFT]) {
+            modifiers |= ImGuiInputQueue.MOD_SHIFT;
+        }
+        if (keysDown[GLFW_KEY_LEFT_ALT] || keysDown[GLFW_KEY_RIGHT_ALT]) {
+            modifiers |= ImGuiInputQueue.MOD_ALT;
+        }
+        if (keysDown[GLFW_KEY_LEFT_SUPER] || keysDown[GLFW_KEY_RIGHT_SUPER]) {
+            modifiers |= ImGuiInputQueue.MOD_SUPER;
         }
 
-        io.setKeyCtrl(io.getKeysDown(GLFW_KEY_LEFT_CONTROL) || io.getKeysDown(GLFW_KEY_RIGHT_CONTROL));
-        io.setKeyShift(io.getKeysDown(GLFW_KEY_LEFT_SHIFT) || io.getKeysDown(GLFW_KEY_RIGHT_SHIFT));
-        io.setKeyAlt(io.getKeysDown(GLFW_KEY_LEFT_ALT) || io.getKeysDown(GLFW_KEY_RIGHT_ALT));
-        io.setKeySuper(io.getKeysDown(GLFW_KEY_LEFT_SUPER) || io.getKeysDown(GLFW_KEY_RIGHT_SUPER));
+        inputQueue.addKeyEvent(key, keysDown[key], modifiers);
+        onInput();
     }
 
     /**
@@ -142,8 +191,8 @@ public class ImGuiGLFW
             prevUserCallbackChar.invoke(windowId, c);
         }
 
-        final ImGuiIO io = ImGui.getIO();
-        io.addInputCharacter(c);
+        inputQueue.addCharEvent(c);
+        onInput();
     }
 
     /**
@@ -151,6 +200,7 @@ public class ImGuiGLFW
      */
     public void monitorCallback(final long windowId, final int event) {
         wantUpdateMonitors = true;
+        onInput();
     }
 
     int xPos, yPos;
@@ -159,15 +209,16 @@ public class ImGuiGLFW
     {
         this.xPos = xPos;
         this.yPos = yPos;
+        onInput();
     }
 
     private void cursorPosCallback(long window, double xPos, double yPos)
     {
-        ImGuiIO io = ImGui.getIO();
-        io.setMousePos(
+        inputQueue.addMousePosEvent(
             (float)xPos,// + this.xPos,
             (float)yPos// + this.yPos
         );
+        onInput();
     }
 
     /**
@@ -177,6 +228,8 @@ public class ImGuiGLFW
      */
     public boolean init(final long windowId, final boolean installCallbacks) {
         this.windowPtr = windowId;
+        this.eventLoopThread = Thread.currentThread();
+        inputQueue.setEventListener(this::onQueuedEvent);
 
         final ImGuiIO io = ImGui.getIO();
 
@@ -285,23 +338,136 @@ public class ImGuiGLFW
         glfwGetWindowSize(windowPtr, winWidth, winHeight);
         glfwGetFramebufferSize(windowPtr, fbWidth, fbHeight);
 
-        io.setDisplaySize((float) winWidth[0], (float) winHeight[0]);
+        ioInput.setDisplaySize((float) winWidth[0], (float) winHeight[0]);
         if (winWidth[0] > 0 && winHeight[0] > 0) {
             final float scaleX = (float) fbWidth[0] / winWidth[0];
             final float scaleY = (float) fbHeight[0] / winHeight[0];
-            io.setDisplayFramebufferScale(scaleX, scaleY);
+            ioInput.setDisplayFramebufferScale(scaleX, scaleY);
         }
         if (wantUpdateMonitors) {
             updateMonitors();
         }
 
+        // Resize of the window is an input too, even when callbacks are not installed
+        if (winWidth[0] != prevDisplaySize[0] || winHeight[0] != prevDisplaySize[1]) {
+            prevDisplaySize[0] = winWidth[0];
+            prevDisplaySize[1] = winHeight[0];
+            onInput();
+        }
+        renderRequested = false;
+        if (framesToRender > 0) {
+            framesToRender--;
+        }
+
+        // Events from other threads don't go through GLFW callbacks, so applied events count as the input too.
+        // Events which were left by the trickling are applied in the next frames, so the next frame is needed right away.
+        if (inputQueue.apply() > 0 || inputQueue.hasEvents()) {
+            onInput();
+        }
+
         final double currentTime = glfwGetTime();
-        io.setDeltaTime(time > 0.0 ? (float) (currentTime - time) : 1.0f / 60.0f);
+        ioInput.setDeltaTime(time > 0.0 ? (float) (currentTime - time) : 1.0f / 60.0f);
         time = currentTime;
 
         updateMousePosAndButtons();
-        updateMouseCursor();
         updateGamepads();
+        ioInput.commit();
+
+        updateMouseCursor();
+    }
+
+    /**
+     * Defines whether the idle mode is enabled. Disabled by default.
+     * In the idle mode the {@link #waitEvents()} method sleeps while the UI can't change, instead of polling events.
+     */
+    public void setIdleWaitEnabled(final boolean idleWaitEnabled) {
+        this.idleWaitEnabled = idleWaitEnabled;
+    }
+
+    /**
+     * @return true if the idle mode is enabled
+     */
+    public boolean isIdleWaitEnabled() {
+        return idleWaitEnabled;
+    }
+
+    /**
+     * Defines the longest time to sleep in the {@link #waitEvents()} method without any input, in seconds. Default is 1 second.
+     * Use it to refresh the UI periodically, e.g. when it shows values changed by the application.
+     */
+    public void setIdleWaitTimeout(final double idleWaitTimeout) {
+        if (idleWaitTimeout <= 0) {
+            throw new IllegalArgumentException("Idle wait timeout should be positive: " + idleWaitTimeout);
+        }
+        this.idleWaitTimeout = idleWaitTimeout;
+    }
+
+    public double getIdleWaitTimeout() {
+        return idleWaitTimeout;
+    }
+
+    /**
+     * Decides whether the next frame should be rendered right away. Should be called after ImGui.render().
+     * It's true when the input has arrived recently, a mouse button is held, an item is active or a render was requested.
+     * Otherwise the UI is idle and the application could wait for events, see {@link #getWaitTimeout()}.
+     */
+    public boolean shouldRenderNextFrame() {
+        return framesToRender > 0 || renderRequested || ImGui.isAnyMouseDown() || ImGui.isAnyItemActive();
+    }
+
+    /**
+     * @return time to wait for events in seconds, when the UI is idle: shorter while the text input blinks its cursor or the gamepad is polled
+     */
+    public double getWaitTimeout() {
+        final ImGuiIO io = ImGui.getIO();
+        final boolean isGamepadPolled = io.hasConfigFlags(ImGuiConfigFlags.NavEnableGamepad) && io.hasBackendFlags(ImGuiBackendFlags.HasGamepad);
+        if (io.getWantTextInput() || isGamepadPolled) {
+            return Math.min(ACTIVE_WAIT_TIMEOUT, idleWaitTimeout);
+        }
+        return idleWaitTimeout;
+    }
+
+    /**
+     * Processes pending events. If the idle mode is enabled and the UI is idle (see {@link #shouldRenderNextFrame()}),
+     * waits for new events up to the {@link #getWaitTimeout()} seconds. Should be called instead of the glfwPollEvents().
+     */
+    public void waitEvents() {
+        if (!idleWaitEnabled || shouldRenderNextFrame()) {
+            glfwPollEvents();
+        } else {
+            glfwWaitEventsTimeout(getWaitTimeout());
+        }
+    }
+
+    /**
+     * Requests the next frame to be rendered right away, e.g. when the data shown by the UI was changed.
+     * Could be called from any thread: the main thread is woken up if it waits for events in the {@link #waitEvents()} method.
+     */
+    public void requestRender() {
+        renderRequested = true;
+        glfwPostEmptyEvent();
+    }
+
+    /**
+     * Queue of input events applied in the {@link #newFrame()}. Events from other sources, e.g. from another thread, could be added into it as well.
+     * Events added by other threads wake up the main thread if it waits for events in the {@link #waitEvents()} method.
+     * <p>
+     * BINDING NOTICE: The event listener of the queue is used for that, so it SHOULD NOT be replaced.
+     */
+    public ImGuiInputQueue getInputQueue() {
+        return inputQueue;
+    }
+
+    private void onInput() {
+        framesToRender = FRAMES_AFTER_INPUT;
+    }
+
+    // Called by the input queue on the thread which added the event
+    private void onQueuedEvent() {
+        // Callbacks run inside of the glfwPollEvents()/glfwWaitEventsTimeout(), so the main thread is already awake
+        if (Thread.currentThread() != eventLoopThread) {
+            glfwPostEmptyEvent();
+        }
     }
 
     /**
@@ -317,6 +483,7 @@ public class ImGuiGLFW
             glfwSetCharCallback(windowPtr, prevUserCallbackChar);
             callbacksInstalled = false;
         }
+        inputQueue.setEventListener(null);
 
         for (int i = 0; i < ImGuiMouseCursor.COUNT; i++) {
             glfwDestroyCursor(mouseCursors[i]);
@@ -324,12 +491,12 @@ public class ImGuiGLFW
     }
 
     private void updateMousePosAndButtons() {
-        final ImGuiIO io = ImGui.getIO();
-
-        for (int i = 0; i < ImGuiMouseButton.COUNT; i++) {
-            // If a mouse press event came, always pass it as "mouse held this frame", so we don't miss click-release events that are shorter than 1 frame.
-            io.setMouseDown(i, mouseJustPressed[i] || glfwGetMouseButton(windowPtr, i) != 0);
-            mouseJustPressed[i] = false;
+        // With installed callbacks buttons state comes from the input queue, which keeps click-release events shorter than 1 frame by itself.
+        // Without them buttons are polled, so clicks shorter than 1 frame could be missed.
+        if (!callbacksInstalled) {
+            for (int i = 0; i < ImGuiMouseButton.COUNT; i++) {
+                ioInput.setMouseDown(i, glfwGetMouseButton(windowPtr, i) != 0);
+            }
         }
 
 //        io.getMousePos(mousePosBackup);
@@ -402,7 +569,7 @@ public class ImGuiGLFW
             return;
         }
 
-        io.setNavInputs(emptyNavInputs);
+        ioInput.clearNavInputs();
 
         final ByteBuffer buttons = glfwGetJoystickButtons(GLFW_JOYSTICK_1);
         final int buttonsCount = buttons.limit();
@@ -410,22 +577,22 @@ public class ImGuiGLFW
         final FloatBuffer axis = glfwGetJoystickAxes(GLFW_JOYSTICK_1);
         final int axisCount = axis.limit();
 
-        mapButton(ImGuiNavInput.Activate, 0, buttons, buttonsCount, io);   // Cross / A
-        mapButton(ImGuiNavInput.Cancel, 1, buttons, buttonsCount, io);     // Circle / B
-        mapButton(ImGuiNavInput.Menu, 2, buttons, buttonsCount, io);       // Square / X
-        mapButton(ImGuiNavInput.Input, 3, buttons, buttonsCount, io);      // Triangle / Y
-        mapButton(ImGuiNavInput.DpadLeft, 13, buttons, buttonsCount, io);  // D-Pad Left
-        mapButton(ImGuiNavInput.DpadRight, 11, buttons, buttonsCount, io); // D-Pad Right
-        mapButton(ImGuiNavInput.DpadUp, 10, buttons, buttonsCount, io);    // D-Pad Up
-        mapButton(ImGuiNavInput.DpadDown, 12, buttons, buttonsCount, io);  // D-Pad Down
-        mapButton(ImGuiNavInput.FocusPrev, 4, buttons, buttonsCount, io);  // L1 / LB
-        mapButton(ImGuiNavInput.FocusNext, 5, buttons, buttonsCount, io);  // R1 / RB
-        mapButton(ImGuiNavInput.TweakSlow, 4, buttons, buttonsCount, io);  // L1 / LB
-        mapButton(ImGuiNavInput.TweakFast, 5, buttons, buttonsCount, io);  // R1 / RB
-        mapAnalog(ImGuiNavInput.LStickLeft, 0, -0.3f, -0.9f, axis, axisCount, io);
-        mapAnalog(ImGuiNavInput.LStickRight, 0, +0.3f, +0.9f, axis, axisCount, io);
-        mapAnalog(ImGuiNavInput.LStickUp, 1, +0.3f, +0.9f, axis, axisCount, io);
-        mapAnalog(ImGuiNavInput.LStickDown, 1, -0.3f, -0.9f, axis, axisCount, io);
+        mapButton(ImGuiNavInput.Activate, 0, buttons, buttonsCount);   // Cross / A
+        mapButton(ImGuiNavInput.Cancel, 1, buttons, buttonsCount);     // Circle / B
+        mapButton(ImGuiNavInput.Menu, 2, buttons, buttonsCount);       // Square / X
+        mapButton(ImGuiNavInput.Input, 3, buttons, buttonsCount);      // Triangle / Y
+        mapButton(ImGuiNavInput.DpadLeft, 13, buttons, buttonsCount);  // D-Pad Left
+        mapButton(ImGuiNavInput.DpadRight, 11, buttons, buttonsCount); // D-Pad Right
+        mapButton(ImGuiNavInput.DpadUp, 10, buttons, buttonsCount);    // D-Pad Up
+        mapButton(ImGuiNavInput.DpadDown, 12, buttons, buttonsCount);  // D-Pad Down
+        mapButton(ImGuiNavInput.FocusPrev, 4, buttons, buttonsCount);  // L1 / LB
+        mapButton(ImGuiNavInput.FocusNext, 5, buttons, buttonsCount);  // R1 / RB
+        mapButton(ImGuiNavInput.TweakSlow, 4, buttons, buttonsCount);  // L1 / LB
+        mapButton(ImGuiNavInput.TweakFast, 5, buttons, buttonsCount);  // R1 / RB
+        mapAnalog(ImGuiNavInput.LStickLeft, 0, -0.3f, -0.9f, axis, axisCount);
+        mapAnalog(ImGuiNavInput.LStickRight, 0, +0.3f, +0.9f, axis, axisCount);
+        mapAnalog(ImGuiNavInput.LStickUp, 1, +0.3f, +0.9f, axis, axisCount);
+        mapAnalog(ImGuiNavInput.LStickDown, 1, -0.3f, -0.9f, axis, axisCount);
 
         if (axisCount > 0 && buttonsCount > 0) {
             io.addBackendFlags(ImGuiBackendFlags.HasGamepad);
@@ -434,9 +601,9 @@ public class ImGuiGLFW
         }
     }
 
-    private void mapButton(final int navNo, final int buttonNo, final ByteBuffer buttons, final int buttonsCount, final ImGuiIO io) {
+    private void mapButton(final int navNo, final int buttonNo, final ByteBuffer buttons, final int buttonsCount) {
         if (buttonsCount > buttonNo && buttons.get(buttonNo) == GLFW_PRESS) {
-            io.setNavInputs(navNo, 1.0f);
+            ioInput.setNavInput(navNo, 1.0f);
         }
     }
 
@@ -446,16 +613,15 @@ public class ImGuiGLFW
         final float v0,
         final float v1,
         final FloatBuffer axis,
-        final int axisCount,
-        final ImGuiIO io
+        final int axisCount
     ) {
         float v = axisCount > axisNo ? axis.get(axisNo) : v0;
         v = (v - v0) / (v1 - v0);
         if (v > 1.0f) {
             v = 1.0f;
         }
-        if (io.getNavInputs(navNo) < v) {
-            io.setNavInputs(navNo, v);
+        if (ioInput.getNavInput(navNo) < v) {
+            ioInput.setNavInput(navNo, v);
         }
     }
 
@@ -508,6 +674,7 @@ public class ImGuiGLFW
     //--------------------------------------------------------------------------------------------------------
 
     private void windowCloseCallback(final long windowId) {
+        onInput();
         final ImGuiViewport vp = ImGui.findViewportByPlatformHandle(windowId);
         vp.setPlatformRequestClose(true);
     }
@@ -519,6 +686,7 @@ public class ImGuiGLFW
     // Because the event doesn't always fire on glfwSetWindowXXX() we use a frame counter tag to only
     // ignore recent glfwSetWindowXXX() calls.
     private void windowPosCallback(final long windowId, final int xPos, final int yPos) {
+        onInput();
         final ImGuiViewport vp = ImGui.findViewportByPlatformHandle(windowId);
         final ImGuiViewportDataGlfw data = (ImGuiViewportDataGlfw) vp.getPlatformUserData();
         final boolean ignoreEvent = (ImGui.getFrameCount() <= data.ignoreWindowPosEventFrame + 1);
@@ -531,6 +699,7 @@ public class ImGuiGLFW
     }
 
     private void windowSizeCallback(final long windowId, final int width, final int height) {
+        onInput();
         final ImGuiViewport vp = ImGui.findViewportByPlatformHandle(windowId);
         final ImGuiViewportDataGlfw data = (ImGuiViewportDataGlfw) vp.getPlatformUserData();
         final boolean ignoreEvent = (ImGui.getFrameCount() <= data.ignoreWindowSizeEventFrame + 1);
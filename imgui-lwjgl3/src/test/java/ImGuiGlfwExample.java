@@ -1,6 +1,7 @@
 import static org.lwjgl.system.MemoryStack.stackPush;
 import static org.lwjgl.system.MemoryUtil.NULL;
 
+import imgui.ImDrawDataChangeTracker;
 import imgui.ImFontAtlas;
 import imgui.ImFontConfig;
 import imgui.ImGui;
@@ -37,6 +38,9 @@ public final class ImGuiGlfwExample {
     // LWJGL3 renderer (SHOULD be initialized)
     private final ImGuiGLES30 imGuiGl3 = new ImGuiGLES30();
 
+    // Used to skip the rendering when the UI is the same as in the previous frame
+    private final ImDrawDataChangeTracker drawDataChangeTracker = new ImDrawDataChangeTracker();
+
     // User UI to render
     private final ExampleUi exampleUi = new ExampleUi();
 
@@ -48,6 +52,8 @@ public final class ImGuiGlfwExample {
         // This method SHOULD be called after you've setup GLFW.
         // ImGui context should be created as well.
         imGuiGlfw.init(windowPtr, true);
+        // Sleep while the UI is idle instead of rendering the same frame again and again
+        imGuiGlfw.setIdleWaitEnabled(true);
         // Method initializes LWJGL3 renderer.
         // This method SHOULD be called after you've initialized your ImGui configuration (fonts and so on).
         // ImGui context should be created as well.
@@ -190,8 +196,6 @@ public final class ImGuiGlfwExample {
     private void loop() throws Exception {
         // Run the rendering loop until the user has attempted to close the window
         while (!GLFW.glfwWindowShouldClose(windowPtr)) {
-            startFrame();
-
             // Any Dear ImGui code SHOULD go between ImGui.newFrame()/ImGui.render() methods
             imGuiGlfw.newFrame();
             ImGui.newFrame();
@@ -203,16 +207,19 @@ public final class ImGuiGlfwExample {
         }
     }
 
-    private void startFrame() {
-        // Set the clear color and clear the window
-        GLES30.glClearColor(exampleUi.backgroundColor[0], exampleUi.backgroundColor[1], exampleUi.backgroundColor[2], 0.0f);
-        GLES30.glClear(GLES30.GL_COLOR_BUFFER_BIT);
-    }
-
     private void endFrame() {
-        // After Dear ImGui prepared a draw data, we use it in the LWJGL3 renderer.
-        // At that moment ImGui will be rendered to the current OpenGL context.
-        imGuiGl3.renderDrawData(ImGui.getDrawData());
+        // The window shows the same frame as before, if the draw data hasn't changed, so the rendering and the swap could be skipped
+        final boolean isFrameChanged = drawDataChangeTracker.update(ImGui.getDrawData());
+
+        if (isFrameChanged) {
+            // Set the clear color and clear the window
+            GLES30.glClearColor(exampleUi.backgroundColor[0], exampleUi.backgroundColor[1], exampleUi.backgroundColor[2], 0.0f);
+            GLES30.glClear(GLES30.GL_COLOR_BUFFER_BIT);
+
+            // After Dear ImGui prepared a draw data, we use it in the LWJGL3 renderer.
+            // At that moment ImGui will be rendered to the current OpenGL context.
+            imGuiGl3.renderDrawData(ImGui.getDrawData());
+        }
 
         if (ImGui.getIO().hasConfigFlags(ImGuiConfigFlags.ViewportsEnable)) {
             final long backupWindowPtr = GLFW.glfwGetCurrentContext();
@@ -221,8 +228,15 @@ public final class ImGuiGlfwExample {
             GLFW.glfwMakeContextCurrent(backupWindowPtr);
         }
 
-        GLFW.glfwSwapBuffers(windowPtr);
-        GLFW.glfwPollEvents();
+        if (isFrameChanged) {
+            GLFW.glfwSwapBuffers(windowPtr);
+            imGuiGlfw.waitEvents();
+        } else if (imGuiGlfw.shouldRenderNextFrame()) {
+            // Skipped swap doesn't wait for v-sync, so limit the frame rate by waiting for events instead of spinning the CPU
+            GLFW.glfwWaitEventsTimeout(1.0 / 60);
+        } else {
+            imGuiGlfw.waitEvents();
+        }
     }
 
     private void disposeWindow() {
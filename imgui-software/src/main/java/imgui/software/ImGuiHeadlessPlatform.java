@@ -0,0 +1,224 @@
+package imgui.software;
+
+import imgui.ImGui;
+import imgui.ImGuiIO;
+import imgui.ImGuiIOInput;
+import imgui.callback.ImStrConsumer;
+import imgui.callback.ImStrSupplier;
+import imgui.flag.ImGuiKey;
+import imgui.flag.ImGuiMouseButton;
+
+/**
+ * Platform backend which feeds {@link ImGuiIO} without any window. It does the same job as the ImGuiGLFW class,
+ * but the display size, the time and the input are provided programmatically.
+ * <p>
+ * Time is virtual: every {@link #newFrame()} advances it by the fixed delta time, so frames could be stepped as fast as possible
+ * and the result doesn't depend on the performance of the machine. Input could be sent directly with methods like {@link #mouseMove(float, float)}
+ * or {@link #keyDown(int)}, or provided frame by frame with the {@link InputSource}.
+ * <p>
+ * Keys are mapped as is: to press the {@link ImGuiKey#Enter} pass the {@code ImGuiKey.Enter} value into the {@link #keyDown(int)} method.
+ * <p>
+ * Together with the {@link ImGuiSoftwareRenderer} it allows to run Dear ImGui on a machine with no display, e.g. for benchmarks, load tests or UI fuzzing.
+ */
+public final class ImGuiHeadlessPlatform {
+    private static final float DEFAULT_DELTA_TIME = 1.0f / 60.0f;
+
+    /**
+     * Called at the beginning of every {@link #newFrame()} to send the input of the frame.
+     */
+    public interface InputSource {
+        void update(ImGuiHeadlessPlatform platform, long frame);
+    }
+
+    // Display properties
+    private float displayWidth = 1280;
+    private float displayHeight = 720;
+    private float framebufferScaleX = 1;
+    private float framebufferScaleY = 1;
+
+    // Virtual clock
+    private float deltaTime = DEFAULT_DELTA_TIME;
+    private double time = 0.0;
+    private long frame = 0;
+
+    // For mouse tracking
+    private final boolean[] mouseDown = new boolean[ImGuiMouseButton.COUNT];
+    private final boolean[] mouseJustPressed = new boolean[ImGuiMouseButton.COUNT];
+
+    // Per-frame values of the ImGuiIO, uploaded with one native call
+    private final ImGuiIOInput ioInput = new ImGuiIOInput();
+
+    // Internal data
+    private InputSource inputSource = null;
+    private String clipboardText = "";
+
+    /**
+     * Method to do an initialization of the {@link ImGuiHeadlessPlatform} state. It SHOULD be called before calling the {@link #newFrame()} method.
+     */
+    public void init() {
+        final ImGuiIO io = ImGui.getIO();
+
+        io.setBackendPlatformName("imgui_java_impl_headless");
+
+        // Keyboard mapping. Keys are passed as ImGuiKey values, so they are mapped to themselves.
+        final int[] keyMap = new int[ImGuiKey.COUNT];
+        for (int i = 0; i < ImGuiKey.COUNT; i++) {
+            keyMap[i] = i;
+        }
+        io.setKeyMap(keyMap);
+
+        io.setGetClipboardTextFn(new ImStrSupplier() {
+            @Override
+            public String get() {
+                return clipboardText;
+            }
+        });
+
+        io.setSetClipboardTextFn(new ImStrConsumer() {
+            @Override
+            public void accept(final String str) {
+                clipboardText = str;
+            }
+        });
+    }
+
+    /**
+     * Updates {@link ImGuiIO} state: display size, delta time and input. Time is advanced by the delta time.
+     */
+    public void newFrame() {
+        final ImGuiIO io = ImGui.getIO();
+        if (!io.getFonts().isBuilt()) {
+            throw new IllegalStateException(
+                "Font atlas not built! It is generally built by the renderer back-end. Missing call to renderer init() method? e.g. ImGuiSoftwareRenderer.init()"
+            );
+        }
+
+        ioInput.setDisplaySize(displayWidth, displayHeight);
+        ioInput.setDisplayFramebufferScale(framebufferScaleX, framebufferScaleY);
+        ioInput.setDeltaTime(deltaTime);
+
+        if (inputSource != null) {
+            inputSource.update(this, frame);
+        }
+
+        for (int i = 0; i < ImGuiMouseButton.COUNT; i++) {
+            // If a mouse press event came, always pass it as "mouse held this frame", so we don't miss click-release events that are shorter than 1 frame.
+            ioInput.setMouseDown(i, mouseJustPressed[i] || mouseDown[i]);
+            mouseJustPressed[i] = false;
+        }
+        ioInput.commit();
+
+        time += deltaTime;
+        frame++;
+    }
+
+    /**
+     * Method to restore {@link ImGuiHeadlessPlatform} to it's state prior to calling method {@link #init()}.
+     */
+    public void dispose() {
+        final ImGuiIO io = ImGui.getIO();
+        io.setGetClipboardTextFn(null);
+        io.setSetClipboardTextFn(null);
+        inputSource = null;
+        clipboardText = "";
+    }
+
+    public void setInputSource(final InputSource inputSource) {
+        this.inputSource = inputSource;
+    }
+
+    public void setDisplaySize(final float width, final float height) {
+        this.displayWidth = width;
+        this.displayHeight = height;
+    }
+
+    public void setFramebufferScale(final float scaleX, final float scaleY) {
+        this.framebufferScaleX = scaleX;
+        this.framebufferScaleY = scaleY;
+    }
+
+    /**
+     * Sets the time which is passed between frames. By default it's 1/60 of the second.
+     */
+    public void setDeltaTime(final float deltaTime) {
+        if (deltaTime <= 0) {
+            throw new IllegalArgumentException("Delta time should be positive: " + deltaTime);
+        }
+        this.deltaTime = deltaTime;
+    }
+
+    public float getDeltaTime() {
+        return deltaTime;
+    }
+
+    /**
+     * @return virtual time in seconds passed since the first frame
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * @return amount of frames started with the {@link #newFrame()}
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    public String getClipboardText() {
+        return clipboardText;
+    }
+
+    public void setClipboardText(final String clipboardText) {
+        this.clipboardText = clipboardText != null ? clipboardText : "";
+    }
+
+    public void mouseMove(final float x, final float y) {
+        ImGui.getIO().setMousePos(x, y);
+    }
+
+    public void mouseDown(final int button) {
+        mouseDown[button] = true;
+        mouseJustPressed[button] = true;
+    }
+
+    public void mouseUp(final int button) {
+        mouseDown[button] = false;
+    }
+
+    public void mouseWheel(final float horizontal, final float vertical) {
+        final ImGuiIO io = ImGui.getIO();
+        io.setMouseWheelH(io.getMouseWheelH() + horizontal);
+        io.setMouseWheel(io.getMouseWheel() + vertical);
+    }
+
+    /**
+     * @param key one of the {@link ImGuiKey} values
+     */
+    public void keyDown(final int key) {
+        ImGui.getIO().setKeysDown(key, true);
+    }
+
+    /**
+     * @param key one of the {@link ImGuiKey} values
+     */
+    public void keyUp(final int key) {
+        ImGui.getIO().setKeysDown(key, false);
+    }
+
+    public void setModifiers(final boolean ctrl, final boolean shift, final boolean alt, final boolean superKey) {
+        final ImGuiIO io = ImGui.getIO();
+        io.setKeyCtrl(ctrl);
+        io.setKeyShift(shift);
+        io.setKeyAlt(alt);
+        io.setKeySuper(superKey);
+    }
+
+    public void inputCharacter(final int c) {
+        ImGui.getIO().addInputCharacter(c);
+    }
+
+    public void inputText(final String text) {
+        ImGui.getIO().addInputCharactersUTF8(text);
+    }
+}
@@ -0,0 +1,679 @@
+package imgui.software;
+
+import imgui.ImDrawData;
+import imgui.ImFontAtlas;
+import imgui.ImGui;
+import imgui.ImGuiIO;
+import imgui.ImVec2;
+import imgui.flag.ImGuiBackendFlags;
+import imgui.type.ImInt;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renderer which rasterizes {@link ImDrawData} on the CPU into an off-heap RGBA framebuffer. No GPU or GL context is required,
+ * so it could be used for golden-image tests of the UI or to render UI snapshots on hosts without a display.
+ * <p>
+ * It reproduces the pipeline of the ImGuiGLES30 renderer: triangles are textured, multiplied by the vertex color,
+ * clipped by the command clip rect and alpha blended with (SRC_ALPHA, ONE_MINUS_SRC_ALPHA) function.
+ * Textures are sampled with the nearest filtering, which is enough for the font atlas rendered 1:1.
+ * <p>
+ * Framebuffer is split into square tiles, which are rasterized in parallel by the provided amount of threads.
+ * Every pixel of the framebuffer is stored as 4 bytes in RGBA order.
+ * <p>
+ * Textures to be used by {@link ImGui#image(int, float, float)} and similar methods should be created with {@link #createTexture(int, int, ByteBuffer)}.
+ * Commands with an unknown texture id are drawn with vertex colors only.
+ */
+@SuppressWarnings("MagicNumber")
+public final class ImGuiSoftwareRenderer {
+    private static final int TILE_SIZE = 64;
+    private static final int TILE_TRIS_MIN_CAPACITY = 256;
+    private static final int BUFFER_MIN_CAPACITY = 64 * 1024;
+
+    private final int threadsCount;
+    private ExecutorService executor;
+    private final List<Callable<Void>> workers = new ArrayList<>();
+    private final AtomicInteger nextTileIdx = new AtomicInteger();
+
+    // Textures data
+    private final Map<Integer, Texture> textures = new HashMap<>();
+    private int nextTextureId = 1;
+    private int fontTextureId = 0;
+
+    // Framebuffer data
+    private ByteBuffer framebuffer = ByteBuffer.allocateDirect(0).order(ByteOrder.LITTLE_ENDIAN);
+    private IntBuffer framebufferPixels = framebuffer.asIntBuffer();
+    private int fbWidth = 0;
+    private int fbHeight = 0;
+
+    // Used to store tmp renderer data
+    private final ImVec2 displaySize = new ImVec2();
+    private final ImVec2 framebufferScale = new ImVec2();
+    private final ImVec2 displayPos = new ImVec2();
+
+    private ByteBuffer vtxData = null;
+    private ByteBuffer idxData = null;
+    private ByteBuffer cmdData = null;
+    private int idxSize;
+    private int vtxCount;
+    private int idxCount;
+    private int cmdCount;
+
+    // Offsets of command lists in the whole vertex and index buffers
+    private int[] listVtxOffset = new int[1];
+    private int[] listIdxOffset = new int[1];
+
+    // Vertices in framebuffer space
+    private float[] vtxX = new float[0];
+    private float[] vtxY = new float[0];
+    private float[] vtxU = new float[0];
+    private float[] vtxV = new float[0];
+    private int[] vtxCol = new int[0];
+
+    // Clip rect (minX, minY, maxX, maxY) and texture of every command
+    private int[] cmdClipRect = new int[0];
+    private Texture[] cmdTexture = new Texture[0];
+
+    // Vertex indices and command index of every triangle
+    private int[] triVtx = new int[0];
+    private int[] triCmd = new int[0];
+    private int triCount = 0;
+
+    // Triangles which intersect every tile, in the order of submission
+    private int tilesCountX = 0;
+    private int tilesCount = 0;
+    private int[][] tileTris = new int[0][];
+    private int[] tileTrisCount = new int[0];
+
+    /**
+     * Creates a renderer which uses all available processors to rasterize the framebuffer.
+     */
+    public ImGuiSoftwareRenderer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a renderer which uses provided amount of threads to rasterize the framebuffer.
+     * With one thread rasterization is done in the thread calling the {@link #renderDrawData(ImDrawData)}.
+     */
+    public ImGuiSoftwareRenderer(final int threadsCount) {
+        if (threadsCount < 1) {
+            throw new IllegalArgumentException("Threads count should be positive: " + threadsCount);
+        }
+        this.threadsCount = threadsCount;
+
+        for (int i = 0; i < threadsCount; i++) {
+            workers.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    int tileIdx;
+                    while ((tileIdx = nextTileIdx.getAndIncrement()) < tilesCount) {
+                        renderTile(tileIdx);
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Method to do an initialization of the {@link ImGuiSoftwareRenderer} state.
+     * It SHOULD be called before calling of the {@link ImGuiSoftwareRenderer#renderDrawData(ImDrawData)} method.
+     */
+    public void init() {
+        setupBackendCapabilitiesFlags();
+        updateFontsTexture();
+
+        if (threadsCount > 1) {
+            executor = Executors.newFixedThreadPool(threadsCount, new RendererThreadFactory());
+        }
+    }
+
+    /**
+     * Call this method in the end of your application cycle to dispose resources used by {@link ImGuiSoftwareRenderer}.
+     */
+    public void dispose() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        textures.clear();
+    }
+
+    /**
+     * Method rebuilds the font atlas for Dear ImGui. Could be used to update application fonts in runtime.
+     */
+    public void updateFontsTexture() {
+        deleteTexture(fontTextureId);
+
+        final ImFontAtlas fontAtlas = ImGui.getIO().getFonts();
+        final ImInt width = new ImInt();
+        final ImInt height = new ImInt();
+        final ByteBuffer buffer = fontAtlas.getTexDataAsRGBA32(width, height);
+
+        fontTextureId = createTexture(width.get(), height.get(), buffer);
+        fontAtlas.setTexID(fontTextureId);
+    }
+
+    /**
+     * Creates a texture from the RGBA data, 4 bytes per pixel. Data is copied, so the buffer could be reused after the call.
+     *
+     * @return id of the texture to pass into Dear ImGui
+     */
+    public int createTexture(final int width, final int height, final ByteBuffer rgba) {
+        final int id = nextTextureId++;
+        textures.put(id, new Texture(width, height, rgba));
+        return id;
+    }
+
+    /**
+     * Deletes a texture created by the {@link #createTexture(int, int, ByteBuffer)}.
+     */
+    public void deleteTexture(final int textureId) {
+        textures.remove(textureId);
+    }
+
+    /**
+     * Framebuffer with the result of the rendering. Every pixel is stored as 4 bytes in RGBA order, rows go from the top to the bottom.
+     * Buffer is reallocated when the size of the display changes, so it shouldn't be kept between frames.
+     */
+    public ByteBuffer getFramebuffer() {
+        return framebuffer;
+    }
+
+    public int getFramebufferWidth() {
+        return fbWidth;
+    }
+
+    public int getFramebufferHeight() {
+        return fbHeight;
+    }
+
+    /**
+     * Fills the whole framebuffer with the color. Color is packed in the same way as Dear ImGui does: 0xAABBGGRR.
+     */
+    public void clear(final int color) {
+        final int pixelsCount = fbWidth * fbHeight;
+        for (int i = 0; i < pixelsCount; i++) {
+            framebufferPixels.put(i, color);
+        }
+    }
+
+    /**
+     * Method to render {@link ImDrawData} into the framebuffer.
+     * Framebuffer is not cleared before the rendering, use {@link #clear(int)} for that.
+     */
+    public void renderDrawData(final ImDrawData drawData) {
+        if (drawData.getCmdListsCount() <= 0) {
+            return;
+        }
+
+        drawData.getDisplaySize(displaySize);
+        drawData.getFramebufferScale(framebufferScale);
+
+        final int width = (int) (displaySize.x * framebufferScale.x);
+        final int height = (int) (displaySize.y * framebufferScale.y);
+
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        drawData.getDisplayPos(displayPos);
+
+        readDrawData(drawData);
+        render(width, height);
+    }
+
+    /**
+     * Renders data in the format of the {@link ImDrawData} bulk getters: {@link ImDrawData#getVtxBufferData(ByteBuffer)},
+     * {@link ImDrawData#getIdxBufferData(ByteBuffer)} and {@link ImDrawData#getCmdBufferData(ByteBuffer)}.
+     * Used in tests, where is no native draw data.
+     */
+    void renderData(final float displayPosX, final float displayPosY, final float displaySizeX, final float displaySizeY,
+                    final ByteBuffer vtx, final ByteBuffer idx, final int idxSizeOfData, final ByteBuffer cmd, final int cmdCountOfData,
+                    final int[] listVtxCounts, final int[] listIdxCounts) {
+        displayPos.x = displayPosX;
+        displayPos.y = displayPosY;
+        framebufferScale.x = 1;
+        framebufferScale.y = 1;
+
+        ensureListsCapacity(listVtxCounts.length);
+        for (int n = 0; n < listVtxCounts.length; n++) {
+            listVtxOffset[n + 1] = listVtxOffset[n] + listVtxCounts[n];
+            listIdxOffset[n + 1] = listIdxOffset[n] + listIdxCounts[n];
+        }
+
+        vtxData = vtx.duplicate().order(ByteOrder.nativeOrder());
+        idxData = idx.duplicate().order(ByteOrder.nativeOrder());
+        cmdData = cmd.duplicate().order(ByteOrder.nativeOrder());
+        idxSize = idxSizeOfData;
+        vtxCount = listVtxOffset[listVtxCounts.length];
+        idxCount = listIdxOffset[listIdxCounts.length];
+        cmdCount = cmdCountOfData;
+
+        render((int) displaySizeX, (int) displaySizeY);
+    }
+
+    private void render(final int width, final int height) {
+        resizeFramebuffer(width, height);
+        readVertices();
+        readTriangles();
+        binTriangles();
+        renderTiles();
+    }
+
+    private void setupBackendCapabilitiesFlags() {
+        final ImGuiIO io = ImGui.getIO();
+        io.setBackendRendererName("imgui_java_impl_software");
+
+        // We can honor the ImDrawCmd::VtxOffset field, allowing for large meshes.
+        io.addBackendFlags(ImGuiBackendFlags.RendererHasVtxOffset);
+    }
+
+    private void resizeFramebuffer(final int width, final int height) {
+        if (width == fbWidth && height == fbHeight) {
+            return;
+        }
+
+        fbWidth = width;
+        fbHeight = height;
+        framebuffer = ByteBuffer.allocateDirect(width * height * 4).order(ByteOrder.LITTLE_ENDIAN);
+        framebufferPixels = framebuffer.asIntBuffer();
+
+        tilesCountX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        tilesCount = tilesCountX * ((height + TILE_SIZE - 1) / TILE_SIZE);
+        tileTris = new int[tilesCount][TILE_TRIS_MIN_CAPACITY];
+        tileTrisCount = new int[tilesCount];
+    }
+
+    private void readDrawData(final ImDrawData drawData) {
+        vtxCount = drawData.getTotalVtxCount();
+        vtxData = ensureCapacity(vtxData, vtxCount * ImDrawData.SIZEOF_IM_DRAW_VERT);
+        drawData.getVtxBufferData(vtxData);
+
+        idxSize = ImDrawData.getSizeOfImDrawIdx();
+        idxCount = drawData.getTotalIdxCount();
+        idxData = ensureCapacity(idxData, idxCount * idxSize);
+        drawData.getIdxBufferData(idxData);
+
+        cmdData = ensureCapacity(cmdData, drawData.getTotalCmdCount() * ImDrawData.SIZEOF_CMD_DATA);
+        cmdCount = drawData.getCmdBufferData(cmdData);
+
+        final int cmdListsCount = drawData.getCmdListsCount();
+        ensureListsCapacity(cmdListsCount);
+        for (int n = 0; n < cmdListsCount; n++) {
+            listVtxOffset[n + 1] = listVtxOffset[n] + drawData.getCmdListVtxBufferSize(n);
+            listIdxOffset[n + 1] = listIdxOffset[n] + drawData.getCmdListIdxBufferSize(n);
+        }
+    }
+
+    private void ensureListsCapacity(final int cmdListsCount) {
+        if (listVtxOffset.length < cmdListsCount + 1) {
+            listVtxOffset = new int[cmdListsCount + 1];
+            listIdxOffset = new int[cmdListsCount + 1];
+        }
+    }
+
+    private void readVertices() {
+        if (vtxX.length < vtxCount) {
+            vtxX = new float[vtxCount];
+            vtxY = new float[vtxCount];
+            vtxU = new float[vtxCount];
+            vtxV = new float[vtxCount];
+            vtxCol = new int[vtxCount];
+        }
+
+        // Project vertices into framebuffer space
+        for (int i = 0; i < vtxCount; i++) {
+            final int vtx = i * ImDrawData.SIZEOF_IM_DRAW_VERT;
+            vtxX[i] = (vtxData.getFloat(vtx) - displayPos.x) * framebufferScale.x;
+            vtxY[i] = (vtxData.getFloat(vtx + 4) - displayPos.y) * framebufferScale.y;
+            vtxU[i] = vtxData.getFloat(vtx + 8);
+            vtxV[i] = vtxData.getFloat(vtx + 12);
+            vtxCol[i] = vtxData.getInt(vtx + 16);
+        }
+    }
+
+    private void readTriangles() {
+        if (cmdTexture.length < cmdCount) {
+            cmdClipRect = new int[cmdCount * 4];
+            cmdTexture = new Texture[cmdCount];
+        }
+        if (triCmd.length < idxCount / 3) {
+            triVtx = new int[idxCount];
+            triCmd = new int[idxCount / 3];
+        }
+
+        triCount = 0;
+
+        for (int cmdIdx = 0; cmdIdx < cmdCount; cmdIdx++) {
+            final int record = cmdIdx * ImDrawData.SIZEOF_CMD_DATA;
+            final int cmdListIdx = cmdData.getInt(record + ImDrawData.CMD_DATA_CMD_LIST_IDX_OFFSET);
+            final int globalVtxOffset = listVtxOffset[cmdListIdx];
+            final int globalIdxOffset = listIdxOffset[cmdListIdx];
+
+            // Project scissor/clipping rectangle into framebuffer space
+            final int clipRectOffset = record + ImDrawData.CMD_DATA_CLIP_RECT_OFFSET;
+            final int clipMinX = Math.max(0, (int) ((cmdData.getFloat(clipRectOffset) - displayPos.x) * framebufferScale.x));
+            final int clipMinY = Math.max(0, (int) ((cmdData.getFloat(clipRectOffset + 4) - displayPos.y) * framebufferScale.y));
+            final int clipMaxX = Math.min(fbWidth, (int) ((cmdData.getFloat(clipRectOffset + 8) - displayPos.x) * framebufferScale.x));
+            final int clipMaxY = Math.min(fbHeight, (int) ((cmdData.getFloat(clipRectOffset + 12) - displayPos.y) * framebufferScale.y));
+
+            if (clipMinX >= clipMaxX || clipMinY >= clipMaxY) {
+                continue;
+            }
+
+            cmdClipRect[cmdIdx * 4] = clipMinX;
+            cmdClipRect[cmdIdx * 4 + 1] = clipMinY;
+            cmdClipRect[cmdIdx * 4 + 2] = clipMaxX;
+            cmdClipRect[cmdIdx * 4 + 3] = clipMaxY;
+            cmdTexture[cmdIdx] = textures.get(cmdData.getInt(record + ImDrawData.CMD_DATA_TEXTURE_ID_OFFSET));
+
+            final int elemCount = cmdData.getInt(record + ImDrawData.CMD_DATA_ELEM_COUNT_OFFSET);
+            final int idxOffset = globalIdxOffset + cmdData.getInt(record + ImDrawData.CMD_DATA_IDX_OFFSET_OFFSET);
+            final int vtxOffset = globalVtxOffset + cmdData.getInt(record + ImDrawData.CMD_DATA_VTX_OFFSET_OFFSET);
+
+            for (int elem = 0; elem < elemCount; elem++) {
+                triVtx[triCount * 3 + elem % 3] = vtxOffset + readIdx(idxOffset + elem);
+                if (elem % 3 == 2) {
+                    triCmd[triCount++] = cmdIdx;
+                }
+            }
+        }
+    }
+
+    private int readIdx(final int idx) {
+        if (idxSize == 2) {
+            return idxData.getShort(idx * 2) & 0xFFFF;
+        } else {
+            return idxData.getInt(idx * 4);
+        }
+    }
+
+    private void binTriangles() {
+        for (int tileIdx = 0; tileIdx < tilesCount; tileIdx++) {
+            tileTrisCount[tileIdx] = 0;
+        }
+
+        for (int tri = 0; tri < triCount; tri++) {
+            final int i0 = triVtx[tri * 3];
+            final int i1 = triVtx[tri * 3 + 1];
+            final int i2 = triVtx[tri * 3 + 2];
+            final int clip = triCmd[tri] * 4;
+
+            final int minX = Math.max(cmdClipRect[clip], (int) Math.floor(Math.min(vtxX[i0], Math.min(vtxX[i1], vtxX[i2]))));
+            final int minY = Math.max(cmdClipRect[clip + 1], (int) Math.floor(Math.min(vtxY[i0], Math.min(vtxY[i1], vtxY[i2]))));
+            final int maxX = Math.min(cmdClipRect[clip + 2], (int) Math.ceil(Math.max(vtxX[i0], Math.max(vtxX[i1], vtxX[i2]))));
+            final int maxY = Math.min(cmdClipRect[clip + 3], (int) Math.ceil(Math.max(vtxY[i0], Math.max(vtxY[i1], vtxY[i2]))));
+
+            if (minX >= maxX || minY >= maxY) {
+                continue;
+            }
+
+            for (int tileY = minY / TILE_SIZE; tileY <= (maxY - 1) / TILE_SIZE; tileY++) {
+                for (int tileX = minX / TILE_SIZE; tileX <= (maxX - 1) / TILE_SIZE; tileX++) {
+                    final int tileIdx = tileY * tilesCountX + tileX;
+                    final int count = tileTrisCount[tileIdx];
+                    if (count == tileTris[tileIdx].length) {
+                        final int[] newTris = new int[count * 2];
+                        System.arraycopy(tileTris[tileIdx], 0, newTris, 0, count);
+                        tileTris[tileIdx] = newTris;
+                    }
+                    tileTris[tileIdx][count] = tri;
+                    tileTrisCount[tileIdx] = count + 1;
+                }
+            }
+        }
+    }
+
+    private void renderTiles() {
+        nextTileIdx.set(0);
+
+        if (executor == null) {
+            for (Callable<Void> worker : workers) {
+                try {
+                    worker.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to render draw data", e);
+                }
+            }
+            return;
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rendering of draw data was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to render draw data", e.getCause());
+        }
+    }
+
+    private void renderTile(final int tileIdx) {
+        final int tileMinX = (tileIdx % tilesCountX) * TILE_SIZE;
+        final int tileMinY = (tileIdx / tilesCountX) * TILE_SIZE;
+        final int tileMaxX = Math.min(fbWidth, tileMinX + TILE_SIZE);
+        final int tileMaxY = Math.min(fbHeight, tileMinY + TILE_SIZE);
+
+        final int[] tris = tileTris[tileIdx];
+        final int count = tileTrisCount[tileIdx];
+        for (int i = 0; i < count; i++) {
+            renderTriangle(tris[i], tileMinX, tileMinY, tileMaxX, tileMaxY);
+        }
+    }
+
+    private void renderTriangle(final int tri, final int tileMinX, final int tileMinY, final int tileMaxX, final int tileMaxY) {
+        final int cmdIdx = triCmd[tri];
+        final int i0 = triVtx[tri * 3];
+        int i1 = triVtx[tri * 3 + 1];
+        int i2 = triVtx[tri * 3 + 2];
+
+        float area = (vtxX[i1] - vtxX[i0]) * (vtxY[i2] - vtxY[i0]) - (vtxY[i1] - vtxY[i0]) * (vtxX[i2] - vtxX[i0]);
+        if (area == 0) {
+            return;
+        }
+
+        // Culling is disabled, so triangles are reordered to have the same winding
+        if (area < 0) {
+            final int tmp = i1;
+            i1 = i2;
+            i2 = tmp;
+            area = -area;
+        }
+
+        final float x0 = vtxX[i0];
+        final float y0 = vtxY[i0];
+        final float x1 = vtxX[i1];
+        final float y1 = vtxY[i1];
+        final float x2 = vtxX[i2];
+        final float y2 = vtxY[i2];
+
+        final int clip = cmdIdx * 4;
+        final int minX = Math.max(Math.max(tileMinX, cmdClipRect[clip]), (int) Math.floor(Math.min(x0, Math.min(x1, x2))));
+        final int minY = Math.max(Math.max(tileMinY, cmdClipRect[clip + 1]), (int) Math.floor(Math.min(y0, Math.min(y1, y2))));
+        final int maxX = Math.min(Math.min(tileMaxX, cmdClipRect[clip + 2]), (int) Math.ceil(Math.max(x0, Math.max(x1, x2))));
+        final int maxY = Math.min(Math.min(tileMaxY, cmdClipRect[clip + 3]), (int) Math.ceil(Math.max(y0, Math.max(y1, y2))));
+
+        if (minX >= maxX || minY >= maxY) {
+            return;
+        }
+
+        // Edge functions: w0 is opposite to the v0 and so on. Pixel is inside when all of them are positive.
+        // Pixels on the top or left edges are considered as inside, so shared edges are not drawn twice.
+        final float stepX0 = y1 - y2;
+        final float stepX1 = y2 - y0;
+        final float stepX2 = y0 - y1;
+        final float stepY0 = x2 - x1;
+        final float stepY1 = x0 - x2;
+        final float stepY2 = x1 - x0;
+        final boolean topLeft0 = isTopLeftEdge(stepY0, -stepX0);
+        final boolean topLeft1 = isTopLeftEdge(stepY1, -stepX1);
+        final boolean topLeft2 = isTopLeftEdge(stepY2, -stepX2);
+
+        final float startX = minX + 0.5f;
+        final float startY = minY + 0.5f;
+        float rowW0 = stepY0 * (startY - y1) + stepX0 * (startX - x1);
+        float rowW1 = stepY1 * (startY - y2) + stepX1 * (startX - x2);
+        float rowW2 = stepY2 * (startY - y0) + stepX2 * (startX - x0);
+
+        final Texture texture = cmdTexture[cmdIdx];
+        final float invArea = 1.0f / area;
+        final int col0 = vtxCol[i0];
+        final int col1 = vtxCol[i1];
+        final int col2 = vtxCol[i2];
+        final boolean isSolidCol = col0 == col1 && col1 == col2;
+        final boolean isSolidUv = texture == null || vtxU[i0] == vtxU[i1] && vtxU[i1] == vtxU[i2] && vtxV[i0] == vtxV[i1] && vtxV[i1] == vtxV[i2];
+        final int texel = texture == null ? 0xFFFFFFFF : texture.sample(vtxU[i0], vtxV[i0]);
+
+        // Most of the Dear ImGui triangles are filled with one color and use the white pixel of the font atlas
+        final boolean isSolid = isSolidCol && isSolidUv;
+        final int solidColor = modulate(texel, col0);
+        if (isSolid && (solidColor >>> 24) == 0) {
+            return;
+        }
+
+        for (int y = minY; y < maxY; y++) {
+            float w0 = rowW0;
+            float w1 = rowW1;
+            float w2 = rowW2;
+            final int row = y * fbWidth;
+
+            for (int x = minX; x < maxX; x++) {
+                if ((w0 > 0 || w0 == 0 && topLeft0) && (w1 > 0 || w1 == 0 && topLeft1) && (w2 > 0 || w2 == 0 && topLeft2)) {
+                    final int src;
+                    if (isSolid) {
+                        src = solidColor;
+                    } else {
+                        final float b1 = w1 * invArea;
+                        final float b2 = w2 * invArea;
+                        final float b0 = 1.0f - b1 - b2;
+                        final int col = isSolidCol ? col0 : interpolateColor(col0, col1, col2, b0, b1, b2);
+                        final int tex = isSolidUv ? texel : texture.sample(
+                            b0 * vtxU[i0] + b1 * vtxU[i1] + b2 * vtxU[i2],
+                            b0 * vtxV[i0] + b1 * vtxV[i1] + b2 * vtxV[i2]
+                        );
+                        src = modulate(tex, col);
+                    }
+                    framebufferPixels.put(row + x, blend(src, framebufferPixels.get(row + x)));
+                }
+
+                w0 += stepX0;
+                w1 += stepX1;
+                w2 += stepX2;
+            }
+
+            rowW0 += stepY0;
+            rowW1 += stepY1;
+            rowW2 += stepY2;
+        }
+    }
+
+    private static boolean isTopLeftEdge(final float dx, final float dy) {
+        return dy < 0 || dy == 0 && dx > 0;
+    }
+
+    private static int interpolateColor(final int col0, final int col1, final int col2, final float b0, final float b1, final float b2) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            final float value = b0 * ((col0 >>> shift) & 0xFF) + b1 * ((col1 >>> shift) & 0xFF) + b2 * ((col2 >>> shift) & 0xFF);
+            result |= Math.min(255, Math.max(0, (int) (value + 0.5f))) << shift;
+        }
+        return result;
+    }
+
+    private static int modulate(final int col0, final int col1) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            result |= mul255((col0 >>> shift) & 0xFF, (col1 >>> shift) & 0xFF) << shift;
+        }
+        return result;
+    }
+
+    // Blend function: (SRC_ALPHA, ONE_MINUS_SRC_ALPHA) for all channels
+    private static int blend(final int src, final int dst) {
+        final int srcAlpha = src >>> 24;
+        if (srcAlpha == 255) {
+            return src;
+        }
+        if (srcAlpha == 0) {
+            return dst;
+        }
+
+        final int dstAlpha = 255 - srcAlpha;
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            result |= (mul255((src >>> shift) & 0xFF, srcAlpha) + mul255((dst >>> shift) & 0xFF, dstAlpha)) << shift;
+        }
+        return result;
+    }
+
+    // Rounded a * b / 255
+    private static int mul255(final int a, final int b) {
+        final int value = a * b + 128;
+        return (value + (value >>> 8)) >>> 8;
+    }
+
+    private static ByteBuffer ensureCapacity(final ByteBuffer buffer, final int requiredCapacity) {
+        if (buffer != null && buffer.capacity() >= requiredCapacity) {
+            return buffer;
+        }
+
+        int newCapacity = buffer == null ? BUFFER_MIN_CAPACITY : Math.max(buffer.capacity(), BUFFER_MIN_CAPACITY);
+        while (newCapacity < requiredCapacity) {
+            newCapacity *= 2;
+        }
+
+        return ByteBuffer.allocateDirect(newCapacity).order(ByteOrder.nativeOrder());
+    }
+
+    private static final class Texture {
+        private final int width;
+        private final int height;
+        private final int[] pixels;
+
+        private Texture(final int width, final int height, final ByteBuffer rgba) {
+            this.width = width;
+            this.height = height;
+            this.pixels = new int[width * height];
+
+            final ByteBuffer data = rgba.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            final int position = data.position();
+            for (int i = 0; i < pixels.length; i++) {
+                pixels[i] = data.getInt(position + i * 4);
+            }
+        }
+
+        private int sample(final float u, final float v) {
+            final int x = Math.min(width - 1, Math.max(0, (int) (u * width)));
+            final int y = Math.min(height - 1, Math.max(0, (int) (v * height)));
+            return pixels[y * width + x];
+        }
+    }
+
+    private static final class RendererThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadsCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "imgui-software-renderer-" + threadsCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package imgui.software;
+
+import imgui.ImDrawData;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ImGuiSoftwareRendererTest {
+    private static final int SIZE = 16;
+    private static final int BLACK = 0xFF000000;
+    private static final int RED = 0xFF0000FF;
+    private static final int BLUE = 0xFFFF0000;
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int HALF_GREEN = 0x8000FF00;
+
+    // Checksum of the whole framebuffer, update it only after a visual check of the result
+    private static final long GOLDEN_CRC32 = 1114639587L;
+
+    @Test
+    public void testGoldenImage() {
+        final ImGuiSoftwareRenderer renderer = new ImGuiSoftwareRenderer();
+        final ByteBuffer checker = ByteBuffer.allocateDirect(2 * 2 * 4).order(ByteOrder.LITTLE_ENDIAN);
+        checker.putInt(WHITE).putInt(BLUE).putInt(BLUE).putInt(WHITE).flip();
+        final int checkerId = renderer.createTexture(2, 2, checker);
+
+        final ByteBuffer vtx = buffer(12 * ImDrawData.SIZEOF_IM_DRAW_VERT);
+        final ByteBuffer idx = buffer(18 * 2);
+        final ByteBuffer cmd = buffer(3 * ImDrawData.SIZEOF_CMD_DATA);
+
+        // List 0: opaque red quad and half-transparent green quad, which is clipped
+        quad(vtx, idx, 0, 0, 0, 8, 8, RED);
+        quad(vtx, idx, 4, 4, 4, 12, 12, HALF_GREEN);
+        cmd(cmd, 0, 0, 0, SIZE, SIZE, 0, 6, 0, 0);
+        cmd(cmd, 1, 0, 0, 10, 10, 0, 6, 6, 0);
+        // List 1: textured quad, indices are relative to the list
+        quad(vtx, idx, 0, 12, 12, 16, 16, WHITE);
+        cmd(cmd, 2, 0, 0, SIZE, SIZE, checkerId, 6, 0, 1);
+        vtx.flip();
+        idx.flip();
+        cmd.flip();
+
+        // The first frame allocates the framebuffer, the second one is drawn over the cleared background
+        renderer.renderData(0, 0, SIZE, SIZE, vtx, idx, 2, cmd, 3, new int[]{8, 4}, new int[]{12, 6});
+        assertEquals(0x40008000, pixel(renderer, 9, 9), "Green should be blended over the transparent framebuffer");
+        renderer.clear(BLACK);
+        renderer.renderData(0, 0, SIZE, SIZE, vtx, idx, 2, cmd, 3, new int[]{8, 4}, new int[]{12, 6});
+
+        assertEquals(SIZE, renderer.getFramebufferWidth());
+        assertEquals(RED, pixel(renderer, 0, 0));
+        assertEquals(RED, pixel(renderer, 3, 7));
+        assertEquals(0xBF00807F, pixel(renderer, 7, 7), "Green should be blended over red");
+        assertEquals(0xBF008000, pixel(renderer, 9, 9), "Green should be blended over black");
+        assertEquals(BLACK, pixel(renderer, 10, 9), "Pixel should be clipped");
+        assertEquals(BLACK, pixel(renderer, 8, 0), "Right edge of the quad should not be filled");
+        assertEquals(WHITE, pixel(renderer, 12, 12));
+        assertEquals(BLUE, pixel(renderer, 14, 13));
+        assertEquals(BLUE, pixel(renderer, 13, 15));
+        assertEquals(WHITE, pixel(renderer, 15, 15));
+
+        final byte[] framebuffer = new byte[SIZE * SIZE * 4];
+        renderer.getFramebuffer().duplicate().get(framebuffer);
+        final CRC32 crc = new CRC32();
+        crc.update(framebuffer);
+        assertEquals(GOLDEN_CRC32, crc.getValue(), "Framebuffer should match the reference image");
+    }
+
+    private static ByteBuffer buffer(final int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    private static void quad(final ByteBuffer vtx, final ByteBuffer idx, final int firstVtx,
+                             final float minX, final float minY, final float maxX, final float maxY, final int col) {
+        vertex(vtx, minX, minY, 0, 0, col);
+        vertex(vtx, maxX, minY, 1, 0, col);
+        vertex(vtx, maxX, maxY, 1, 1, col);
+        vertex(vtx, minX, maxY, 0, 1, col);
+        for (int i : new int[]{0, 1, 2, 0, 2, 3}) {
+            idx.putShort((short) (firstVtx + i));
+        }
+    }
+
+    private static void vertex(final ByteBuffer vtx, final float x, final float y, final float u, final float v, final int col) {
+        vtx.putFloat(x).putFloat(y).putFloat(u).putFloat(v).putInt(col);
+    }
+
+    private static void cmd(final ByteBuffer cmd, final int cmdIdx, final float minX, final float minY, final float maxX, final float maxY,
+                            final int textureId, final int elemCount, final int idxOffset, final int cmdListIdx) {
+        final int record = cmdIdx * ImDrawData.SIZEOF_CMD_DATA;
+        cmd.putFloat(record + ImDrawData.CMD_DATA_CLIP_RECT_OFFSET, minX);
+        cmd.putFloat(record + ImDrawData.CMD_DATA_CLIP_RECT_OFFSET + 4, minY);
+        cmd.putFloat(record + ImDrawData.CMD_DATA_CLIP_RECT_OFFSET + 8, maxX);
+        cmd.putFloat(record + ImDrawData.CMD_DATA_CLIP_RECT_OFFSET + 12, maxY);
+        cmd.putInt(record + ImDrawData.CMD_DATA_TEXTURE_ID_OFFSET, textureId);
+        cmd.putInt(record + ImDrawData.CMD_DATA_ELEM_COUNT_OFFSET, elemCount);
+        cmd.putInt(record + ImDrawData.CMD_DATA_IDX_OFFSET_OFFSET, idxOffset);
+        cmd.putInt(record + ImDrawData.CMD_DATA_VTX_OFFSET_OFFSET, 0);
+        cmd.putInt(record + ImDrawData.CMD_DATA_CMD_LIST_IDX_OFFSET, cmdListIdx);
+        cmd.position(record + ImDrawData.SIZEOF_CMD_DATA);
+    }
+
+    private static int pixel(final ImGuiSoftwareRenderer renderer, final int x, final int y) {
+        return renderer.getFramebuffer().getInt((y * renderer.getFramebufferWidth() + x) * 4);
+    }
+}